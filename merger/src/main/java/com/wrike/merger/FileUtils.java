@@ -1,11 +1,21 @@
 package com.wrike.merger;
 
+import com.wrike.merger.copy.DirectoriesCopier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+
+import static com.wrike.merger.input.LinkStrategy.COPY;
+import static java.nio.file.StandardOpenOption.READ;
 
 /**
  * Provides methods for working with files
@@ -14,11 +24,17 @@ import java.util.stream.Stream;
  */
 public class FileUtils {
 
+    private static final Logger LOG = LogManager.getLogger(FileUtils.class);
+    private static final int COMPARISON_CHUNK_SIZE = 256 * 1024;
+
+    private FileUtils() {
+    }
+
     /**
      * Copies directory with checking for conflicts in files content
      * <p>
-     * For file coping and resolving possible conflicts in files content it uses
-     * {@link #copyFileWithCheckingConflict(Path, Path)} method
+     * It uses single-threaded {@link DirectoriesCopier}. Use {@link DirectoriesCopier} directly
+     * to copy several directories in parallel.
      * </p>
      *
      * @param source source directory
@@ -27,31 +43,88 @@ public class FileUtils {
      * @throws FilesContentConflictException if files have content conflict
      */
     public static void copyDirectoryWithCheckingConflicts(Path source, Path target) throws IOException, FilesContentConflictException {
-        Files.createDirectories(target);
-        try (Stream<Path> files = Files.walk(source)) {
-            List<Path> filesList = files.collect(Collectors.toList());
-            for (Path path : filesList) {
-                Path newFileLocation = target.resolve(source.relativize(path));
-                copyFileWithCheckingConflict(path, newFileLocation);
+        new DirectoriesCopier(1, COPY).copy(Map.of(source, target));
+    }
+
+    /**
+     * Checks that files have the same content.
+     * <ol>
+     *     <li>Files with different sizes are different, it does not need reading</li>
+     *     <li>The same file, for example, hard links to it, is equal to itself, it does not need reading</li>
+     *     <li>Otherwise, files are compared by large chunks until the first mismatch</li>
+     * </ol>
+     * <p>
+     * The modification time is not checked, because files with the same size and modification time
+     * can still have different content.
+     * </p>
+     *
+     * @param file      first file
+     * @param otherFile second file
+     * @return true, if files have the same content
+     * @throws IOException if reading of files failed
+     */
+    public static boolean contentEquals(Path file, Path otherFile) throws IOException {
+        BasicFileAttributes fileAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+        BasicFileAttributes otherFileAttributes = Files.readAttributes(otherFile, BasicFileAttributes.class);
+        if (fileAttributes.size() != otherFileAttributes.size()) {
+            return false;
+        }
+        if (fileAttributes.fileKey() != null && fileAttributes.fileKey().equals(otherFileAttributes.fileKey())) {
+            return true;
+        }
+        try (FileChannel fileChannel = FileChannel.open(file, READ);
+             FileChannel otherFileChannel = FileChannel.open(otherFile, READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(COMPARISON_CHUNK_SIZE);
+            ByteBuffer otherBuffer = ByteBuffer.allocate(COMPARISON_CHUNK_SIZE);
+            while (true) {
+                int read = readChunk(fileChannel, buffer);
+                int otherRead = readChunk(otherFileChannel, otherBuffer);
+                if (read != otherRead || buffer.mismatch(otherBuffer) != -1) {
+                    return false;
+                }
+                if (read < COMPARISON_CHUNK_SIZE) {
+                    return true;
+                }
             }
         }
     }
 
     /**
-     * It copies file to new location and checks for possible conflicts.
+     * Reads the next chunk of channel into the buffer, trying to fill it fully
+     *
+     * @param channel channel to read
+     * @param buffer  buffer, which is ready to be read after this method
+     * @return number of read bytes
+     * @throws IOException if reading failed
+     */
+    private static int readChunk(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+            // reading until the buffer is full or the end of file
+        }
+        buffer.flip();
+        return buffer.remaining();
+    }
+
+    /**
+     * Puts file to the new location without copying its content, if it is possible.
+     * <ol>
+     *     <li>Creates a hard link to the file</li>
+     *     <li>If the hard link can't be created, for example, across devices, copies the file</li>
+     * </ol>
      *
      * @param file            source file
-     * @param newFileLocation place, where copy of file will be stored
-     * @throws IOException                   if copying failed
-     * @throws FilesContentConflictException if files have content conflict
+     * @param newFileLocation place, where link to file will be stored
+     * @throws FileAlreadyExistsException if new file location already exists
+     * @throws IOException                if both ways to put file to the new location failed
      */
-    private static void copyFileWithCheckingConflict(Path file, Path newFileLocation) throws IOException, FilesContentConflictException {
-        if (Files.exists(newFileLocation)) {
-            if (Files.isRegularFile(newFileLocation)
-                    && !org.apache.commons.io.FileUtils.contentEquals(file.toFile(), newFileLocation.toFile())) {
-                throw new FilesContentConflictException(file, newFileLocation);
-            }
-        } else {
+    public static void linkOrCopy(Path file, Path newFileLocation) throws IOException {
+        try {
+            Files.createLink(newFileLocation, file);
+        } catch (FileAlreadyExistsException e) {
+            throw e;
+        } catch (FileSystemException | UnsupportedOperationException e) {
+            LOG.debug("Unable to create hard link `{}` to `{}`, copying it", newFileLocation, file, e);
             Files.copy(file, newFileLocation);
         }
     }
@@ -1,11 +1,38 @@
 package com.wrike.merger;
 
+import com.wrike.merger.bucket.BucketPartitioner;
+import com.wrike.merger.bucket.ModulesDurations;
+import com.wrike.merger.bucket.ModulesSharder;
+import com.wrike.merger.bucket.ModulesWeigher;
+import com.wrike.merger.bucket.TestInventory;
+import com.wrike.merger.copy.DirectoriesCopier;
+import com.wrike.merger.copy.MergeManifest;
+import com.wrike.merger.copy.SourceFingerprint;
 import com.wrike.merger.filter.ModulesFilter;
+import com.wrike.merger.graph.ModulesGraph;
+import com.wrike.merger.input.BucketWeight;
 import com.wrike.merger.input.InputParser;
 import com.wrike.merger.input.MergeMode;
+import com.wrike.merger.input.MergeOptions;
+import com.wrike.merger.input.ShardStrategy;
+import com.wrike.merger.plan.ConflictsReport;
+import com.wrike.merger.plan.DependencyConflict;
+import com.wrike.merger.plan.MergePlan;
+import com.wrike.merger.plan.MergePlanExecutor;
+import com.wrike.merger.plan.MergePlanner;
+import com.wrike.merger.plan.MergedDependencies;
+import com.wrike.merger.plan.PlannedFile;
 import com.wrike.merger.pom.FilePomParser;
 import com.wrike.merger.pom.InputStreamPomParser;
+import com.wrike.merger.pom.ParallelPomReader;
+import com.wrike.merger.pom.PomCache;
+import com.wrike.merger.pom.PomModel;
+import com.wrike.merger.pom.PomModulesEditor;
 import com.wrike.merger.pom.PomParser;
+import com.wrike.merger.pom.PomParserException;
+import com.wrike.merger.pom.PomReader;
+import com.wrike.merger.pom.PomSection;
+import com.wrike.merger.pom.StreamingPomParser;
 import com.wrike.merger.pom.bean.Dependency;
 import com.wrike.merger.pom.bean.Parent;
 import org.apache.logging.log4j.LogManager;
@@ -13,19 +40,23 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryNotEmptyException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.wrike.merger.ExitCode.MERGING_FAILED;
-import static com.wrike.merger.FileUtils.copyDirectoryWithCheckingConflicts;
-import static com.wrike.merger.pom.bean.DependencyScope.COMPILE;
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 
@@ -40,6 +71,15 @@ public class MavenModulesMerger {
     private static final String POM_FILENAME = "pom.xml";
     private static final String MERGED_MODULES_TEMPLATE_POM = "merged_modules_template_pom.xml";
     private static final String MERGED_MODULES = "merged_modules";
+    private static final String MERGE_MANIFEST = ".merge_manifest";
+    private static final String MERGE_FINGERPRINT = ".merge_fingerprint";
+    private static final String MERGED_TEST_INVENTORY = ".test_inventory";
+    private static final String POM_CACHE = "target/modules_merger_pom.cache";
+    private static final String PROJECT_GROUP_ID = "${project.groupId}";
+    private static final String PROJECT_VERSION = "${project.version}";
+    private static final String MODULES_DURATIONS = "target/modules_merger_durations.cache";
+    private static final Set<PomSection> ROOT_POM_SECTIONS = Set.of(PomSection.COORDINATES, PomSection.PARENT);
+    private static final double CRITICAL_PATH_WEIGHT_THRESHOLD = 1.5;
 
     private final ExceptionHandler exceptionHandler;
     private final List<ModulesFilter> modulesFilters;
@@ -49,6 +89,7 @@ public class MavenModulesMerger {
     private Path pathToProjectRoot;
     private Path pathToOutputFile;
     private MergeMode mergeMode;
+    private MergeOptions mergeOptions;
 
     /**
      * Default constructor without filters
@@ -88,6 +129,9 @@ public class MavenModulesMerger {
      *     <li>pathToOutputFile</li>
      *     <li>mergeMode</li>
      * </ol>
+     * <p>
+     * Mandatory arguments can be followed by optional {@link MergeOptions}.
+     * </p>
      *
      * @param args arguments list, which will be parsed by {@link InputParser}
      * @see InputParser
@@ -98,27 +142,364 @@ public class MavenModulesMerger {
             Map<Boolean, Set<Path>> modulesPathsByMergingAbility = separateModulesByMergingAbility();
             Set<Path> modulesToMerge = modulesPathsByMergingAbility.get(TRUE);
             LOG.info("Starting merging. Modules to merge = `{}`", modulesToMerge);
+            if (mergeOptions.getPlanFile() != null) {
+                planMerge(modulesToMerge);
+                return;
+            }
             if (modulesToMerge.size() < 2) {
                 if (modulesToMerge.isEmpty()) {
                     LOG.info("Finishing merging. Modules won't be merged because there are no modules for merging");
                 } else {
                     LOG.info("Finishing merging. Modules won't be merged because there is only 1 module for merging");
                 }
-                outputModules(modulesNames);
+                outputModules(modulesNames, Map.of());
                 return;
             }
-            mergeModules(modulesToMerge);
+            ModulesGraph modulesGraph = readModulesGraph();
+            List<Set<Path>> buckets = partitionModules(modulesToMerge, modulesGraph);
+            List<String> mergedModulesNames = IntStream.range(0, buckets.size())
+                    .mapToObj(i -> getMergedModuleName(i, buckets.size()))
+                    .collect(Collectors.toList());
+            reportModulesBetweenMergedModules(modulesGraph, buckets, mergedModulesNames);
+            Map<Dependency, Dependency> dependenciesOnMergedModules = getDependenciesOnMergedModules(modulesGraph, buckets, mergedModulesNames);
+            List<TestInventory> testInventories = new ArrayList<>();
+            List<ConflictsReport> conflictsReports = new ArrayList<>();
+            for (int i = 0; i < buckets.size(); i++) {
+                testInventories.add(mergeBucket(buckets.get(i), mergedModulesNames.get(i), dependenciesOnMergedModules, conflictsReports));
+            }
+            if (mergeOptions.getConflictsReportFile() != null) {
+                reportConflicts(ConflictsReport.combine(conflictsReports));
+            }
+            if (mergeOptions.getTestInventoryFile() != null) {
+                writeTestInventory(TestInventory.combine(testInventories));
+            }
             Stream<String> nonMergedModules = modulesPathsByMergingAbility.get(FALSE).stream()
                     .map(pathToProjectRoot::relativize)
                     .map(Path::toString);
-            Set<String> modulesAfterMerging = Stream.concat(Stream.of(MERGED_MODULES), nonMergedModules)
+            Set<String> modulesAfterMerging = Stream.concat(mergedModulesNames.stream(), nonMergedModules)
                     .collect(Collectors.toSet());
-            outputModules(modulesAfterMerging);
+            Map<String, Set<Path>> mergedModules = IntStream.range(0, buckets.size())
+                    .boxed()
+                    .collect(Collectors.toMap(mergedModulesNames::get, buckets::get));
+            outputModules(modulesAfterMerging, mergedModules);
         } catch (Exception e) {
             exceptionHandler.onException(e, MERGING_FAILED);
         }
     }
 
+    /**
+     * Reads {@link ModulesGraph} of all modules of the reactor and modules from the modules list, which have pom files,
+     * and reports cycles in it. Modules of the reactor, which are not merged, are in the graph too,
+     * so chains and cycles of merged modules through them are found. Poms of the reactor are collected
+     * by {@link FilePomParser#collectAllPomFiles(Path, int)} and are not parsed again.
+     * The graph is used only to balance and to check merged modules, so the merge is continued without dependencies
+     * between modules, if the graph can't be read.
+     *
+     * @return graph of modules of the reactor and modules from the modules list
+     */
+    private ModulesGraph readModulesGraph() {
+        Set<Path> graphModules = modulesPaths.stream()
+                .filter(modulePath -> Files.isRegularFile(modulePath.resolve(POM_FILENAME)))
+                .collect(Collectors.toSet());
+        ModulesGraph modulesGraph;
+        try (ParallelPomReader pomReader = new ParallelPomReader(mergeOptions.getPomParallelism())) {
+            Path normalizedProjectRoot = pathToProjectRoot.toAbsolutePath().normalize();
+            Map<Path, PomModel> reactorPomModels = new HashMap<>();
+            for (FilePomParser pomParser : FilePomParser.collectAllPomFiles(pathToProjectRoot, mergeOptions.getPomParallelism())) {
+                Path pomFile = pomParser.getOriginPath().toAbsolutePath().normalize();
+                reactorPomModels.put(pomFile, PomModel.of(pomParser));
+                graphModules.add(getProjectRootRelatedPath(normalizedProjectRoot.relativize(pomFile.getParent()).toString()));
+            }
+            modulesGraph = ModulesGraph.read(graphModules, pomReader, pomFile -> {
+                PomModel pomModel = reactorPomModels.get(pomFile.toAbsolutePath().normalize());
+                return pomModel != null ? pomModel : PomModel.of(new StreamingPomParser(pomFile));
+            });
+        } catch (PomParserException e) {
+            LOG.warn("Dependencies between modules can't be read and won't be taken into account", e);
+            return ModulesGraph.of(Map.of());
+        }
+        for (Set<Path> cycle : modulesGraph.getCycles()) {
+            LOG.warn("Modules `{}` depend on each other, so Maven can't build them", cycle);
+        }
+        return modulesGraph;
+    }
+
+    /**
+     * Partitions modules into buckets, which are merged into separate merged modules.
+     * Modules are balanced between buckets by {@link BucketPartitioner} according to their {@link BucketWeight}
+     * and dependencies between them, so merged modules don't depend on each other in a cycle.
+     * The longest chain of merged modules, which are built one after another, is reported,
+     * with a warning, if its weight is more than {@link #CRITICAL_PATH_WEIGHT_THRESHOLD} times of the ideal weight
+     * of a merged module, so the chain makes the build much longer than balanced merged modules.
+     *
+     * @param modulesToMerge modules paths to merge
+     * @param modulesGraph   graph of modules of the reactor
+     * @return buckets of modules, only one bucket with all modules, if they are merged into {@link #MERGED_MODULES}
+     */
+    private List<Set<Path>> partitionModules(Set<Path> modulesToMerge, ModulesGraph modulesGraph) {
+        int bucketsCount = Math.min(mergeOptions.getBuckets(), modulesToMerge.size() / 2);
+        if (bucketsCount < mergeOptions.getBuckets()) {
+            LOG.info("Modules will be merged into {} merged modules instead of {}, because there are only {} modules to merge",
+                    Math.max(bucketsCount, 1), mergeOptions.getBuckets(), modulesToMerge.size());
+        }
+        if (bucketsCount <= 1) {
+            return List.of(modulesToMerge);
+        }
+        Map<Path, Long> modulesWeights = weighModules(modulesToMerge);
+        Map<Path, Set<Path>> reachableModules = modulesGraph.getReachableModules(modulesToMerge);
+        List<Set<Path>> buckets = BucketPartitioner.partition(modulesWeights, bucketsCount, reachableModules);
+        for (int i = 0; i < buckets.size(); i++) {
+            Set<Path> bucket = buckets.get(i);
+            LOG.info("`{}` will contain {} modules with `{}` weight {}", getMergedModuleName(i, buckets.size()), bucket.size(),
+                    mergeOptions.getBucketWeight().getBucketWeightName(), bucket.stream().mapToLong(modulesWeights::get).sum());
+        }
+        List<Integer> criticalPath = BucketPartitioner.getCriticalPath(buckets, modulesWeights, reachableModules);
+        if (criticalPath.size() > 1) {
+            List<String> criticalPathNames = criticalPath.stream()
+                    .map(i -> getMergedModuleName(i, buckets.size()))
+                    .collect(Collectors.toList());
+            long criticalPathWeight = criticalPath.stream().flatMap(i -> buckets.get(i).stream()).mapToLong(modulesWeights::get).sum();
+            long totalWeight = modulesWeights.values().stream().mapToLong(Long::longValue).sum();
+            if (criticalPathWeight > CRITICAL_PATH_WEIGHT_THRESHOLD * totalWeight / buckets.size()) {
+                LOG.warn("`{}` depend on each other and will be built one after another, their weight {} is more than {} times " +
+                                "of the ideal weight {} of a merged module", criticalPathNames, criticalPathWeight,
+                        CRITICAL_PATH_WEIGHT_THRESHOLD, totalWeight / buckets.size());
+            } else {
+                LOG.info("`{}` depend on each other and will be built one after another, their weight is {} of total weight {}",
+                        criticalPathNames, criticalPathWeight, totalWeight);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Reports modules, which are not merged, but depend on merged modules, while other merged modules depend on them.
+     * Such modules form a cycle with the merged module, so Maven can't build them together.
+     *
+     * @param modulesGraph       graph of modules of the reactor
+     * @param buckets            buckets of modules to merge
+     * @param mergedModulesNames names of merged modules of buckets
+     */
+    private static void reportModulesBetweenMergedModules(ModulesGraph modulesGraph, List<Set<Path>> buckets, List<String> mergedModulesNames) {
+        for (int i = 0; i < buckets.size(); i++) {
+            Set<Path> modulesBetween = modulesGraph.getModulesBetween(buckets.get(i));
+            if (!modulesBetween.isEmpty()) {
+                LOG.warn("Modules `{}` depend on modules merged into `{}` and other modules merged into `{}` depend on them, " +
+                        "so they form a cycle with `{}`", modulesBetween, mergedModulesNames.get(i), mergedModulesNames.get(i), mergedModulesNames.get(i));
+            }
+        }
+    }
+
+    /**
+     * Maps coordinates of merged modules to dependencies on merged modules, which contain them.
+     * Merged modules, which depend on modules from other buckets, must depend on these merged modules,
+     * because merged modules are built instead of the original ones.
+     *
+     * @param modulesGraph       graph of modules of the reactor
+     * @param buckets            buckets of modules to merge
+     * @param mergedModulesNames names of merged modules of buckets
+     * @return map from coordinates of merged modules to dependencies on merged modules, empty for the only bucket
+     */
+    private static Map<Dependency, Dependency> getDependenciesOnMergedModules(ModulesGraph modulesGraph, List<Set<Path>> buckets,
+                                                                              List<String> mergedModulesNames) {
+        if (buckets.size() == 1) {
+            return Map.of();
+        }
+        Map<Dependency, Dependency> dependenciesOnMergedModules = new HashMap<>();
+        for (int i = 0; i < buckets.size(); i++) {
+            Dependency dependencyOnMergedModule = Dependency.builder()
+                    .groupId(PROJECT_GROUP_ID)
+                    .artifactId(mergedModulesNames.get(i))
+                    .version(PROJECT_VERSION)
+                    .build();
+            for (Path modulePath : buckets.get(i)) {
+                Dependency coordinates = modulesGraph.getCoordinates(modulePath);
+                if (coordinates != null) {
+                    dependenciesOnMergedModules.put(coordinates, dependencyOnMergedModule);
+                }
+            }
+        }
+        return dependenciesOnMergedModules;
+    }
+
+    /**
+     * Weighs modules by {@link BucketWeight} from merge options.
+     * Durations of modules are read from {@link #MODULES_DURATIONS} and written back with durations from the new reports.
+     *
+     * @param modulesToMerge modules paths to merge
+     * @return map from modules paths to their weights
+     */
+    private Map<Path, Long> weighModules(Set<Path> modulesToMerge) {
+        if (mergeOptions.getBucketWeight() == BucketWeight.DURATION) {
+            ModulesDurations modulesDurations = ModulesDurations.read(getProjectRootRelatedPath(MODULES_DURATIONS), pathToProjectRoot);
+            Map<Path, Long> modulesWeights = ModulesWeigher.weighByDuration(modulesToMerge, modulesDurations);
+            modulesDurations.write(getProjectRootRelatedPath(MODULES_DURATIONS));
+            return modulesWeights;
+        }
+        try {
+            return ModulesWeigher.weigh(modulesToMerge, mergeMode.getDirectoriesToMerge(), mergeOptions.getBucketWeight());
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't weigh modules to merge", e);
+        }
+    }
+
+    /**
+     * @param bucketIndex  index of bucket
+     * @param bucketsCount number of buckets
+     * @return {@link #MERGED_MODULES} for the only bucket, otherwise {@link #MERGED_MODULES} with the number of bucket
+     */
+    private static String getMergedModuleName(int bucketIndex, int bucketsCount) {
+        if (bucketsCount == 1) {
+            return MERGED_MODULES;
+        }
+        return MERGED_MODULES + "_" + (bucketIndex + 1);
+    }
+
+    /**
+     * Merges modules of one bucket, unless they were already merged with the same inputs.
+     * The merged module is added to the root pom in both cases, because the root pom can be restored after the previous merge.
+     *
+     * @param modulesToMerge              modules paths to merge
+     * @param mergedModuleName            name of merged module
+     * @param dependenciesOnMergedModules map from coordinates of merged modules to dependencies on merged modules,
+     *                                    which replace dependencies on modules of other buckets
+     * @param conflictsReports            reports of conflicts of all buckets, which are written after all buckets are merged
+     * @return test inventory of merged module or null, if it is not requested or modules have conflicts
+     */
+    private TestInventory mergeBucket(Set<Path> modulesToMerge, String mergedModuleName, Map<Dependency, Dependency> dependenciesOnMergedModules,
+                                      List<ConflictsReport> conflictsReports) {
+        Path mergedModulesDirectory = getProjectRootRelatedPath(mergedModuleName);
+        if (mergeOptions.isMemoize() && isMergeMemoized(modulesToMerge, mergedModulesDirectory, dependenciesOnMergedModules)) {
+            LOG.info("Modules of `{}` were already merged with the same inputs", mergedModuleName);
+            addMergedModulesToRootPom(mergedModuleName);
+            return readMemoizedTestInventory(mergedModulesDirectory);
+        }
+        Collection<PlannedFile> mergedFiles;
+        if (mergeOptions.getAppliedPlanFile() != null) {
+            mergedFiles = applyMergePlan(modulesToMerge, mergedModulesDirectory);
+        } else {
+            mergedFiles = mergeModules(modulesToMerge, mergedModulesDirectory, dependenciesOnMergedModules, conflictsReports);
+        }
+        if (mergedFiles == null) {
+            return null;
+        }
+        addMergedModulesToRootPom(mergedModuleName);
+        TestInventory testInventory = null;
+        if (mergeOptions.getTestInventoryFile() != null) {
+            testInventory = TestInventory.collect(pathToProjectRoot, mergedModulesDirectory, modulesToMerge, mergedFiles);
+        }
+        if (mergeOptions.isMemoize()) {
+            writeMemoizedTestInventory(testInventory, mergedModulesDirectory);
+            writeMergeFingerprint(modulesToMerge, mergedModulesDirectory, dependenciesOnMergedModules);
+        }
+        return testInventory;
+    }
+
+    /**
+     * Checks that merged modules were created from the same inputs and were not changed after that
+     * by comparing {@link MergeFingerprint}s.
+     * <p>
+     * The outdated fingerprint is deleted, so the interrupted merge can't be memoized. Outdated merged modules
+     * are deleted too, unless they will be updated by the incremental merge.
+     * </p>
+     *
+     * @param modulesToMerge              modules paths to merge
+     * @param mergedModulesDirectory      path to merged modules directory, for example, {@link #MERGED_MODULES}
+     * @param dependenciesOnMergedModules map from coordinates of merged modules to dependencies on merged modules
+     * @return true, if merged modules are up-to-date
+     */
+    private boolean isMergeMemoized(Set<Path> modulesToMerge, Path mergedModulesDirectory, Map<Dependency, Dependency> dependenciesOnMergedModules) {
+        Path fingerprintFile = mergedModulesDirectory.resolve(MERGE_FINGERPRINT);
+        if (!Files.isRegularFile(fingerprintFile)) {
+            return false;
+        }
+        try {
+            List<String> storedFingerprints = Files.readAllLines(fingerprintFile);
+            if (storedFingerprints.size() == 2
+                    && storedFingerprints.get(0).equals(MergeFingerprint.compute(pathToProjectRoot, modulesToMerge, mergeMode, mergeOptions, dependenciesOnMergedModules))
+                    && storedFingerprints.get(1).equals(MergeFingerprint.computeOutput(mergedModulesDirectory, mergeMode))
+                    && (mergeOptions.getTestInventoryFile() == null || Files.isRegularFile(mergedModulesDirectory.resolve(MERGED_TEST_INVENTORY)))) {
+                return true;
+            }
+            LOG.info("Merged modules were created from other inputs or changed after merging and will be merged again");
+            if (mergeOptions.isIncremental()) {
+                Files.delete(fingerprintFile);
+            } else {
+                org.apache.commons.io.FileUtils.deleteDirectory(mergedModulesDirectory.toFile());
+            }
+            return false;
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't check fingerprint of merged modules", e);
+        }
+    }
+
+    /**
+     * Writes {@link MergeFingerprint}s of inputs and of the result of the finished merge to merged modules directory
+     *
+     * @param modulesToMerge              merged modules paths
+     * @param mergedModulesDirectory      path to merged modules directory, for example, {@link #MERGED_MODULES}
+     * @param dependenciesOnMergedModules map from coordinates of merged modules to dependencies on merged modules
+     */
+    private void writeMergeFingerprint(Set<Path> modulesToMerge, Path mergedModulesDirectory, Map<Dependency, Dependency> dependenciesOnMergedModules) {
+        try {
+            Files.write(mergedModulesDirectory.resolve(MERGE_FINGERPRINT), List.of(
+                    MergeFingerprint.compute(pathToProjectRoot, modulesToMerge, mergeMode, mergeOptions, dependenciesOnMergedModules),
+                    MergeFingerprint.computeOutput(mergedModulesDirectory, mergeMode)));
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't write fingerprint of merged modules", e);
+        }
+    }
+
+    /**
+     * Keeps test inventory in merged modules directory, so it is available, when the merge is memoized
+     *
+     * @param testInventory          test inventory of merged module or null, if it is not requested
+     * @param mergedModulesDirectory path to merged modules directory, for example, {@link #MERGED_MODULES}
+     */
+    private void writeMemoizedTestInventory(TestInventory testInventory, Path mergedModulesDirectory) {
+        try {
+            Path testInventoryFile = mergedModulesDirectory.resolve(MERGED_TEST_INVENTORY);
+            if (testInventory == null) {
+                Files.deleteIfExists(testInventoryFile);
+            } else {
+                testInventory.write(testInventoryFile);
+            }
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't write test inventory of merged modules", e);
+        }
+    }
+
+    /**
+     * @param mergedModulesDirectory path to merged modules directory, for example, {@link #MERGED_MODULES}
+     * @return test inventory of memoized merged module or null, if it is not requested
+     */
+    private TestInventory readMemoizedTestInventory(Path mergedModulesDirectory) {
+        if (mergeOptions.getTestInventoryFile() == null) {
+            return null;
+        }
+        try {
+            return TestInventory.read(mergedModulesDirectory.resolve(MERGED_TEST_INVENTORY));
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't read test inventory of merged modules", e);
+        }
+    }
+
+    /**
+     * Writes test inventory of all merged modules to the file from {@link MergeOptions}
+     *
+     * @param testInventory test inventory of all merged modules
+     */
+    private void writeTestInventory(TestInventory testInventory) {
+        Path testInventoryFile = mergeOptions.getTestInventoryFile();
+        try {
+            Files.createDirectories(testInventoryFile.toAbsolutePath().getParent());
+            testInventory.write(testInventoryFile);
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't write test inventory to file " + testInventoryFile, e);
+        }
+        LOG.info("Test inventory with {} test classes was written to file `{}`", testInventory.getEntries().size(), testInventoryFile);
+    }
+
     /**
      * Parsing of arguments with {@link InputParser}
      *
@@ -130,6 +511,7 @@ public class MavenModulesMerger {
         this.pathToProjectRoot = inputParser.getPathToProjectRoot();
         this.pathToOutputFile = inputParser.getPathToOutputFile();
         this.mergeMode = inputParser.getMergeMode();
+        this.mergeOptions = inputParser.getMergeOptions();
         this.modulesPaths = getModulesPaths(modulesNames);
     }
 
@@ -146,115 +528,231 @@ public class MavenModulesMerger {
     }
 
     /**
-     * Merges all modules and sets up both {@link #MERGED_MODULES} pom.xml and root pom.xml files
+     * Merges all modules and creates merged modules pom.xml file.
+     * Poms of modules are parsed with {@link ParallelPomReader} at the same time, when files are copied.
      *
-     * @param modulesPaths modules paths to merge
+     * @param modulesPaths                modules paths to merge
+     * @param mergedModulesDirectory      path to merged modules directory, for example, {@link #MERGED_MODULES}
+     * @param dependenciesOnMergedModules map from coordinates of merged modules to dependencies on merged modules,
+     *                                    which replace dependencies on modules of other buckets
+     * @param conflictsReports            reports of conflicts, which the report of these modules is added to,
+     *                                    if the conflicts report is requested
+     * @return files, which were put into merged modules directory, or null, if modules have conflicts
      */
-    private void mergeModules(Set<Path> modulesPaths) {
-        Path mergedModulesDirectory = createMergedModulesDirectory();
+    private Collection<PlannedFile> mergeModules(Set<Path> modulesPaths, Path mergedModulesDirectory, Map<Dependency, Dependency> dependenciesOnMergedModules,
+                                                 List<ConflictsReport> conflictsReports) {
+        MergeManifest previousManifest = null;
+        if (mergeOptions.isIncremental()) {
+            previousManifest = prepareIncrementalMerge(mergedModulesDirectory);
+        } else {
+            createMergedModulesDirectory(mergedModulesDirectory);
+        }
+        Map<Path, Path> directoriesToCopy = getDirectoriesToCopy(modulesPaths, mergedModulesDirectory);
+        DirectoriesCopier directoriesCopier;
+        MergedDependencies mergedDependencies;
+        PomCache pomCache = mergeOptions.isPomCache() ? PomCache.read(getProjectRootRelatedPath(POM_CACHE), pathToProjectRoot) : null;
+        try (ParallelPomReader pomReader = new ParallelPomReader(mergeOptions.getPomParallelism())) {
+            CompletableFuture<MergedDependencies> mergedDependenciesFuture = pomCache != null
+                    ? MergedDependencies.collectAsync(modulesPaths, pomReader, pomCache::getPomModel)
+                    : MergedDependencies.collectAsync(modulesPaths, pomReader);
+            directoriesCopier = copyDirectories(directoriesToCopy, previousManifest);
+            mergedDependencies = ParallelPomReader.await(mergedDependenciesFuture);
+        }
+        if (pomCache != null) {
+            pomCache.write(getProjectRootRelatedPath(POM_CACHE));
+        }
+        if (mergeOptions.getConflictsReportFile() != null) {
+            ConflictsReport conflictsReport = new ConflictsReport(directoriesCopier.getConflicts(), mergedDependencies.getConflicts());
+            conflictsReports.add(conflictsReport);
+            if (!conflictsReport.isEmpty()) {
+                return null;
+            }
+        } else {
+            checkAllDependenciesHaveTheSameVersion(mergedDependencies.getConflicts());
+        }
+        if (previousManifest != null) {
+            MergeManifest manifest = directoriesCopier.getManifest();
+            deleteRemovedFiles(previousManifest.getTargetsAbsentIn(manifest), manifest, mergedModulesDirectory);
+            writeManifest(manifest, mergedModulesDirectory);
+        }
+        PomReader rootPomReader = new StreamingPomParser(getProjectRootRelatedPath(POM_FILENAME), ROOT_POM_SECTIONS);
+        Set<Dependency> dependencies = mergedDependencies.getDependencies().stream()
+                .map(dependency -> dependenciesOnMergedModules.getOrDefault(dependency, dependency))
+                .collect(Collectors.toSet());
+        createMergedModulesPomFile(rootPomReader, dependencies, mergedModulesDirectory);
+        MergeManifest manifest = directoriesCopier.getManifest();
+        return manifest.getTargets().stream()
+                .map(target -> {
+                    SourceFingerprint sourceFingerprint = manifest.get(target);
+                    return new PlannedFile(sourceFingerprint.getSource(), target, sourceFingerprint.getSize());
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Maps existing directories of modules to directories of merged modules.
+     * Modules are logged as planned, if only the merge plan is created.
+     *
+     * @param modulesPaths           modules paths to merge
+     * @param mergedModulesDirectory path to merged modules directory, for example, {@link #MERGED_MODULES}
+     * @return map from modules directories to merged modules directories
+     */
+    private Map<Path, Path> getDirectoriesToCopy(Set<Path> modulesPaths, Path mergedModulesDirectory) {
+        Map<Path, Path> directoriesToCopy = new HashMap<>();
+        String action = mergeOptions.getPlanFile() == null ? "Merging" : "Planning";
         modulesPaths.forEach(moduleToMerge -> {
-            LOG.info("Merging `{}` module", pathToProjectRoot.relativize(moduleToMerge));
+            LOG.info("{} `{}` module", action, pathToProjectRoot.relativize(moduleToMerge));
             Set<Path> directoriesToMerge = filterExistingModuleDirectories(moduleToMerge, mergeMode.getDirectoriesToMerge());
             LOG.info("`{}` directories content will be merged", directoriesToMerge);
-            directoriesToMerge.forEach(subdirectoryPath -> {
-                try {
-                    copyDirectoryWithCheckingConflicts(moduleToMerge.resolve(subdirectoryPath), mergedModulesDirectory.resolve(subdirectoryPath));
-                } catch (IOException e) {
-                    throw new MavenModulesMergerException(String.format("Can't copy files of `%s` module", pathToProjectRoot.relativize(moduleToMerge)), e);
-                } catch (FilesContentConflictException e) {
-                    throw new MavenModulesMergerException("Unable to merge files due to conflict in files content.", e);
-                }
-            });
+            directoriesToMerge.forEach(subdirectoryPath ->
+                    directoriesToCopy.put(moduleToMerge.resolve(subdirectoryPath), mergedModulesDirectory.resolve(subdirectoryPath)));
         });
-        Set<Dependency> mergedModulesDependencies = collectMergedModulesDependencies(modulesPaths);
-        FilePomParser rootPomParser = new FilePomParser(getProjectRootRelatedPath(POM_FILENAME));
-        createMergedModulesPomFile(rootPomParser, mergedModulesDependencies, mergedModulesDirectory);
-        addMergedModulesToRootPom(rootPomParser);
+        return directoriesToCopy;
+    }
+
+    /**
+     * Creates {@link MergePlan} and writes it to the plan file from {@link MergeOptions}.
+     * Nothing else is written, except of the conflicts report, if it is requested.
+     * All conflicts are reported with {@link #reportConflicts}.
+     *
+     * @param modulesPaths modules paths to merge
+     */
+    private void planMerge(Set<Path> modulesPaths) {
+        Path planFile = mergeOptions.getPlanFile();
+        MergePlan mergePlan;
+        try {
+            mergePlan = MergePlanner.createPlan(modulesPaths, getDirectoriesToCopy(modulesPaths, getProjectRootRelatedPath(MERGED_MODULES)));
+            Files.createDirectories(planFile.toAbsolutePath().getParent());
+            mergePlan.write(planFile, pathToProjectRoot);
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't create merge plan", e);
+        }
+        LOG.info("Merge plan was written to file `{}`", planFile);
+        reportConflicts(new ConflictsReport(mergePlan.getFilesConflicts(), mergePlan.getDependencyConflicts()));
+    }
+
+    /**
+     * Logs all conflicts and writes them to the conflicts report file, if it is set in {@link MergeOptions}.
+     * The merge fails, if there is at least one conflict.
+     *
+     * @param conflictsReport report with all conflicts
+     */
+    private void reportConflicts(ConflictsReport conflictsReport) {
+        Path conflictsReportFile = mergeOptions.getConflictsReportFile();
+        if (conflictsReportFile != null) {
+            try {
+                Files.createDirectories(conflictsReportFile.toAbsolutePath().getParent());
+                conflictsReport.writeJson(conflictsReportFile, pathToProjectRoot);
+            } catch (IOException e) {
+                throw new MavenModulesMergerException("Can't write conflicts report to file " + conflictsReportFile, e);
+            }
+            LOG.info("Conflicts report was written to file `{}`", conflictsReportFile);
+        }
+        conflictsReport.logSummary(pathToProjectRoot);
+        if (!conflictsReport.isEmpty()) {
+            throw new MavenModulesMergerException(String.format("Modules can't be merged. Conflicts in files content: %d, conflicts in dependencies versions: %d",
+                    conflictsReport.getFilesConflicts().size(), conflictsReport.getDependencyConflicts().size()));
+        }
     }
 
     /**
-     * Collects all dependencies for {@link #MERGED_MODULES} modules.
+     * Merges modules by {@link MergePlan} from the file, which was created by {@link #planMerge} for the same modules
+     *
+     * @param modulesPaths           modules paths to merge
+     * @param mergedModulesDirectory path to merged modules directory, for example, {@link #MERGED_MODULES}
+     * @return files, which were put into merged modules directory
+     */
+    private Collection<PlannedFile> applyMergePlan(Set<Path> modulesPaths, Path mergedModulesDirectory) {
+        createMergedModulesDirectory(mergedModulesDirectory);
+        try {
+            MergePlan mergePlan = MergePlan.read(mergeOptions.getAppliedPlanFile(), pathToProjectRoot);
+            if (!mergePlan.getModules().equals(modulesPaths)) {
+                throw new MavenModulesMergerException(String.format("Merge plan was created for other modules: %s", mergePlan.getModules()));
+            }
+            if (mergePlan.hasConflicts()) {
+                throw new MavenModulesMergerException("Merge plan has conflicts and can't be applied");
+            }
+            new MergePlanExecutor(mergeOptions.getParallelism(), mergeOptions.getLinkStrategy()).execute(mergePlan);
+            PomReader rootPomReader = new StreamingPomParser(getProjectRootRelatedPath(POM_FILENAME), ROOT_POM_SECTIONS);
+            createMergedModulesPomFile(rootPomReader, mergePlan.getDependencies(), mergedModulesDirectory);
+            return mergePlan.getFiles();
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't apply merge plan", e);
+        }
+    }
+
+    /**
+     * Copies content of modules directories to merged modules directory in parallel.
      * <p>
-     * The set of dependencies is collected by this algorithm:
+     * The conflict in files content stops the merge, unless the conflicts report is requested.
+     * In this case, conflicts are available with {@link DirectoriesCopier#getConflicts()}.
      * </p>
-     * <ol>
-     *     <li>Collecting all dependencies of all modules, which were merged</li>
-     *     <li>Set scope COMPILE for all dependencies to avoid conflicts
-     *     between the same dependencies, but with the different scope</li>
-     *     <li>All modules were merged together and they don't need to have dependency to each other,
-     *     so we can remove dependencies to themselves</li>
-     * </ol>
      *
-     * @param modulesPaths paths to all modules for collecting dependencies
-     * @return set of dependency for {@link #MERGED_MODULES} module
+     * @param directoriesToCopy map from modules directories to merged modules directories
+     * @param previousManifest  manifest of the previous merge for the incremental merge, otherwise null
+     * @return copier, which copied files
      */
-    private Set<Dependency> collectMergedModulesDependencies(Set<Path> modulesPaths) {
-        List<PomParser> modulePomParsers = modulesPaths.stream()
-                .map(modulePath -> modulePath.resolve(POM_FILENAME))
-                .map(FilePomParser::new)
-                .collect(Collectors.toList());
-        Map<Dependency, List<Dependency>> modulesDependenciesMap = modulePomParsers.stream()
-                .map(PomParser::getAllDependencies)
-                .flatMap(Collection::stream)
-                .collect(Collectors.groupingBy(Function.identity()));
-        checkAllDependenciesHaveTheSameVersion(modulesDependenciesMap);
-        Set<Dependency> modulesDependencies = modulesDependenciesMap.keySet();
-        modulesDependencies.forEach(dependency -> dependency.setScope(COMPILE));
-        Set<Dependency> dependenciesToExclude = modulePomParsers.stream()
-                .map(pomParser -> Dependency.builder()
-                        .groupId(pomParser.getEffectiveGroupId())
-                        .artifactId(pomParser.getArtifactId())
-                        .build()
-                )
-                .collect(Collectors.toSet());
-        modulesDependencies.removeAll(dependenciesToExclude);
-        return modulesDependencies;
+    private DirectoriesCopier copyDirectories(Map<Path, Path> directoriesToCopy, MergeManifest previousManifest) {
+        DirectoriesCopier directoriesCopier = new DirectoriesCopier(
+                mergeOptions.getParallelism(), mergeOptions.getLinkStrategy(), previousManifest);
+        try {
+            directoriesCopier.copy(directoriesToCopy);
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't copy files of modules", e);
+        } catch (FilesContentConflictException e) {
+            if (mergeOptions.getConflictsReportFile() == null) {
+                throw new MavenModulesMergerException("Unable to merge files due to conflict in files content.", e);
+            }
+        }
+        return directoriesCopier;
     }
 
     /**
      * Checks that all dependencies with the same groupId and artifactId have the same version
      *
-     * @param modulesDependenciesMap dependencies grouped by artifactId and groupId
+     * @param dependencyConflicts dependencies, which have different versions
      */
-    private static void checkAllDependenciesHaveTheSameVersion(Map<Dependency, List<Dependency>> modulesDependenciesMap) {
-        modulesDependenciesMap.values().forEach(dependencies -> {
-            if (dependencies.stream().map(Dependency::getVersion).distinct().count() != 1L) {
-                throw new MavenModulesMergerException(String.format("Dependencies have different versions: %s", dependencies));
-            }
-        });
+    private static void checkAllDependenciesHaveTheSameVersion(List<DependencyConflict> dependencyConflicts) {
+        if (!dependencyConflicts.isEmpty()) {
+            throw new MavenModulesMergerException(String.format("Dependencies have different versions: %s", dependencyConflicts.get(0).getDependencies()));
+        }
     }
 
     /**
      * Copies {@link #MERGED_MODULES_TEMPLATE_POM} to {@code mergedModulesDirectory}
-     * and sets its dependencies to {@code dependencies}
+     * and sets its dependencies to {@code dependencies}. The artifactId is the name of {@code mergedModulesDirectory}.
      *
-     * @param rootPomParser          parser for root pom-file
-     * @param dependencies           list of dependencies of {@link #MERGED_MODULES} modules
-     * @param mergedModulesDirectory path to {@link #MERGED_MODULES} directory
+     * @param rootPomReader          reader of root pom-file
+     * @param dependencies           list of dependencies of merged modules
+     * @param mergedModulesDirectory path to merged modules directory, for example, {@link #MERGED_MODULES}
      */
-    private void createMergedModulesPomFile(FilePomParser rootPomParser, Set<Dependency> dependencies, Path mergedModulesDirectory) {
+    private void createMergedModulesPomFile(PomReader rootPomReader, Set<Dependency> dependencies, Path mergedModulesDirectory) {
         PomParser mergedModulesTemplatePomParser = new InputStreamPomParser(
                 getClass().getResourceAsStream(File.separator + MERGED_MODULES_TEMPLATE_POM));
-        mergedModulesTemplatePomParser.setDependencies(dependencies);
-        mergedModulesTemplatePomParser.setParent(Parent.builder()
-                .groupId(rootPomParser.getEffectiveGroupId())
-                .artifactId(rootPomParser.getArtifactId())
-                .version(rootPomParser.getVersion())
-                .build());
-        Path mergedModulesPomPath = mergedModulesDirectory.resolve(POM_FILENAME);
-        mergedModulesTemplatePomParser.writeToFile(mergedModulesPomPath);
+        mergedModulesTemplatePomParser.beginTransaction()
+                .setArtifactId(mergedModulesDirectory.getFileName().toString())
+                .setDependencies(dependencies)
+                .setParent(Parent.builder()
+                        .groupId(rootPomReader.getEffectiveGroupId())
+                        .artifactId(rootPomReader.getArtifactId())
+                        .version(rootPomReader.getVersion())
+                        .build())
+                .commit(mergedModulesDirectory.resolve(POM_FILENAME));
         LOG.info("Merged modules pom was created");
     }
 
     /**
-     * Adds the {@link #MERGED_MODULES} modules as a child modules in a root pom file
+     * Adds the merged modules as a child module in a root pom file.
+     * Only the new module line is inserted with {@link PomModulesEditor}, the rest of the root pom is not changed.
      *
-     * @param rootPomParser parser for root pom-file
+     * @param mergedModuleName name of merged module, for example, {@link #MERGED_MODULES}
      */
-    private void addMergedModulesToRootPom(FilePomParser rootPomParser) {
-        rootPomParser.addChildModuleIfDoesNotExist(MERGED_MODULES);
-        rootPomParser.writeToOriginFile();
-        LOG.info("Merged module was added to root pom as a child module");
+    private void addMergedModulesToRootPom(String mergedModuleName) {
+        if (PomModulesEditor.addChildModuleIfDoesNotExist(getProjectRootRelatedPath(POM_FILENAME), mergedModuleName)) {
+            LOG.info("Merged module `{}` was added to root pom as a child module", mergedModuleName);
+        } else {
+            LOG.info("Merged module `{}` is already a child module of root pom", mergedModuleName);
+        }
     }
 
     /**
@@ -278,18 +776,87 @@ public class MavenModulesMerger {
     }
 
     /**
-     * Creates {@link #MERGED_MODULES} directory
+     * Creates merged modules directory
      *
-     * @return path to created {@link #MERGED_MODULES} directory
+     * @param mergedModulesDirectory path to merged modules directory, for example, {@link #MERGED_MODULES}
      */
-    private Path createMergedModulesDirectory() {
-        Path mergedModulesPath = getProjectRootRelatedPath(MERGED_MODULES);
+    private void createMergedModulesDirectory(Path mergedModulesDirectory) {
         try {
-            Files.createDirectory(mergedModulesPath);
+            Files.createDirectory(mergedModulesDirectory);
         } catch (IOException e) {
             throw new MavenModulesMergerException("Can't create directory for merged modules", e);
         }
-        return mergedModulesPath;
+    }
+
+    /**
+     * Prepares merged modules directory for the incremental merge.
+     * <p>
+     * If the directory has a valid {@link #MERGE_MANIFEST}, it is reused. The manifest is deleted before merging,
+     * so the interrupted merge can't be reused. Otherwise, the directory is created from scratch.
+     * </p>
+     *
+     * @param mergedModulesDirectory path to merged modules directory, for example, {@link #MERGED_MODULES}
+     * @return manifest of the previous merge or the empty manifest for the new directory
+     */
+    private MergeManifest prepareIncrementalMerge(Path mergedModulesDirectory) {
+        Path manifestFile = mergedModulesDirectory.resolve(MERGE_MANIFEST);
+        Optional<MergeManifest> previousManifest = MergeManifest.read(manifestFile, pathToProjectRoot);
+        try {
+            if (previousManifest.isPresent()) {
+                Files.delete(manifestFile);
+                LOG.info("Existing merged modules will be updated incrementally, {} files were merged before", previousManifest.get().size());
+                return previousManifest.get();
+            }
+            if (Files.exists(mergedModulesDirectory)) {
+                LOG.info("Existing merged modules don't have a valid manifest and will be merged from scratch");
+                org.apache.commons.io.FileUtils.deleteDirectory(mergedModulesDirectory.toFile());
+            }
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't prepare directory for incremental merge of modules", e);
+        }
+        createMergedModulesDirectory(mergedModulesDirectory);
+        return new MergeManifest();
+    }
+
+    /**
+     * Deletes files, whose sources were removed since the previous merge,
+     * and directories, which became empty and were not merged this time
+     *
+     * @param removedFiles           files to delete
+     * @param manifest               manifest of the current merge
+     * @param mergedModulesDirectory path to merged modules directory, for example, {@link #MERGED_MODULES}
+     */
+    private void deleteRemovedFiles(Set<Path> removedFiles, MergeManifest manifest, Path mergedModulesDirectory) {
+        try {
+            for (Path removedFile : removedFiles) {
+                Files.deleteIfExists(removedFile);
+                Path parentDirectory = removedFile.getParent();
+                while (!parentDirectory.equals(mergedModulesDirectory)
+                        && !manifest.containsDirectory(parentDirectory)
+                        && isEmptyDirectoryDeleted(parentDirectory)) {
+                    parentDirectory = parentDirectory.getParent();
+                }
+            }
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't delete files removed from modules", e);
+        }
+        LOG.info("{} files removed from modules were deleted from merged modules", removedFiles.size());
+    }
+
+    private static boolean isEmptyDirectoryDeleted(Path directory) throws IOException {
+        try {
+            return Files.deleteIfExists(directory);
+        } catch (DirectoryNotEmptyException e) {
+            return false;
+        }
+    }
+
+    private void writeManifest(MergeManifest manifest, Path mergedModulesDirectory) {
+        try {
+            manifest.write(mergedModulesDirectory.resolve(MERGE_MANIFEST), pathToProjectRoot);
+        } catch (IOException e) {
+            throw new MavenModulesMergerException("Can't write manifest of merged modules", e);
+        }
     }
 
     /**
@@ -321,18 +888,75 @@ public class MavenModulesMerger {
     }
 
     /**
-     * Writes to {@link #pathToOutputFile} set of modules, which should be run after merging. Values are separated by comma.
+     * Writes to {@link #pathToOutputFile} sorted set of modules, which should be run after merging. Values are separated by comma.
+     * If there are several shards, the modules are also split between shard files by {@link ModulesSharder}.
      *
      * @param outputModulesList set of modules
+     * @param mergedModules     map from names of merged modules to paths of modules, which were merged into them
      */
-    private void outputModules(Set<String> outputModulesList) {
+    private void outputModules(Set<String> outputModulesList, Map<String, Set<Path>> mergedModules) {
         createParentDirectoriesForOutputFile();
+        writeModulesList(pathToOutputFile, new TreeSet<>(outputModulesList));
+        if (mergeOptions.getShards() == 1) {
+            return;
+        }
+        List<Set<String>> shards;
+        if (mergeOptions.getShardStrategy() == ShardStrategy.WEIGHT) {
+            shards = ModulesSharder.shardByWeight(weighOutputModules(outputModulesList, mergedModules), mergeOptions.getShards());
+        } else {
+            shards = ModulesSharder.shardByHash(outputModulesList, mergeOptions.getShards());
+        }
+        for (int i = 0; i < shards.size(); i++) {
+            writeModulesList(getShardOutputFile(i), shards.get(i));
+        }
+    }
+
+    /**
+     * Weighs modules of the output modules list by {@link BucketWeight} from merge options.
+     * The weight of merged module is the sum of weights of modules, which were merged into it.
+     *
+     * @param outputModulesList set of modules
+     * @param mergedModules     map from names of merged modules to paths of modules, which were merged into them
+     * @return map from names of modules to their weights
+     */
+    private Map<String, Long> weighOutputModules(Set<String> outputModulesList, Map<String, Set<Path>> mergedModules) {
+        Map<String, Set<Path>> outputModulesPaths = outputModulesList.stream()
+                .collect(Collectors.toMap(module -> module,
+                        module -> mergedModules.getOrDefault(module, Set.of(getProjectRootRelatedPath(module)))));
+        Map<Path, Long> modulesWeights = weighModules(outputModulesPaths.values().stream()
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet()));
+        return outputModulesPaths.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, moduleToPaths -> moduleToPaths.getValue().stream()
+                        .mapToLong(modulesWeights::get)
+                        .sum()));
+    }
+
+    /**
+     * @param shardIndex index of shard
+     * @return path to file of shard, which has the number of shard before the extension of {@link #pathToOutputFile}
+     */
+    private Path getShardOutputFile(int shardIndex) {
+        String outputFileName = pathToOutputFile.getFileName().toString();
+        int extensionIndex = outputFileName.lastIndexOf('.');
+        String shardNumber = "_" + (shardIndex + 1);
+        if (extensionIndex <= 0) {
+            return pathToOutputFile.resolveSibling(outputFileName + shardNumber);
+        }
+        return pathToOutputFile.resolveSibling(outputFileName.substring(0, extensionIndex) + shardNumber + outputFileName.substring(extensionIndex));
+    }
+
+    /**
+     * @param outputFile  file to write
+     * @param modulesList sorted set of modules
+     */
+    private static void writeModulesList(Path outputFile, Set<String> modulesList) {
         try {
-            String outputModulesListString = String.join(",", outputModulesList);
-            Files.writeString(pathToOutputFile, outputModulesListString);
-            LOG.info("Modules list `{}` was written to file `{}`", outputModulesListString, pathToOutputFile);
+            String outputModulesListString = String.join(",", modulesList);
+            Files.writeString(outputFile, outputModulesListString);
+            LOG.info("Modules list `{}` was written to file `{}`", outputModulesListString, outputFile);
         } catch (IOException e) {
-            throw new MavenModulesMergerException("Can't write modules list to file " + pathToOutputFile, e);
+            throw new MavenModulesMergerException("Can't write modules list to file " + outputFile, e);
         }
     }
 
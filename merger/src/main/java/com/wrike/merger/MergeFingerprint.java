@@ -0,0 +1,207 @@
+package com.wrike.merger;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.wrike.merger.input.MergeMode;
+import com.wrike.merger.input.MergeOptions;
+import com.wrike.merger.pom.EffectivePomModelResolver;
+import com.wrike.merger.pom.PomModel;
+import com.wrike.merger.pom.StreamingPomParser;
+import com.wrike.merger.pom.bean.Dependency;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Computes fingerprint of all inputs of the merge.
+ * <p>
+ * The fingerprint covers the list of merged modules, {@link MergeMode}, the link strategy,
+ * content of the root pom.xml, modules pom.xml files and all their local parent poms, merged modules,
+ * which contain other modules, and a tree hash of merged directories.
+ * The tree hash is computed from paths, sizes and modification times of files, so files are not read.
+ * Every string and byte array is prefixed with its length, so different inputs can't be hashed as the same sequence.
+ * </p>
+ * <p>
+ * Merged modules are added to the root pom.xml by the merge itself, so they are removed from its content before hashing.
+ * Otherwise, the fingerprint would depend on whether the root pom was restored after the previous merge.
+ * </p>
+ * <p>
+ * The output fingerprint covers content of the merged pom.xml and a tree hash of merged directories,
+ * so merged modules, which were changed or deleted after merging, are not considered up-to-date.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ * @see MavenModulesMerger
+ */
+class MergeFingerprint {
+
+    private static final String POM_FILENAME = "pom.xml";
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+    private static final Pattern MERGED_MODULE_ELEMENT = Pattern.compile("<module>\\s*merged_modules(_\\d+)?\\s*</module>");
+    private static final Pattern EMPTY_MODULES_ELEMENT = Pattern.compile("<modules>\\s*</modules>|<modules\\s*/>");
+    private static final Pattern WHITESPACE_BETWEEN_ELEMENTS = Pattern.compile(">\\s+<");
+
+    private MergeFingerprint() {
+    }
+
+    /**
+     * @param pathToProjectRoot           path to project root
+     * @param modulesToMerge              absolute paths of merged modules
+     * @param mergeMode                   merge mode
+     * @param mergeOptions                merge options
+     * @param dependenciesOnMergedModules map from coordinates of merged modules to dependencies on merged modules, which contain them
+     * @return fingerprint as a hex string
+     * @throws IOException if files can't be read
+     */
+    static String compute(Path pathToProjectRoot, Set<Path> modulesToMerge, MergeMode mergeMode, MergeOptions mergeOptions,
+                          Map<Dependency, Dependency> dependenciesOnMergedModules) throws IOException {
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        putString(hasher, mergeMode.getMergeModeName());
+        putString(hasher, mergeOptions.getLinkStrategy().getLinkStrategyName());
+        putString(hasher, getRootPomWithoutMergedModules(pathToProjectRoot.resolve(POM_FILENAME)));
+        List<String> sortedDependenciesOnMergedModules = dependenciesOnMergedModules.entrySet().stream()
+                .map(dependencyOnMergedModule -> dependencyOnMergedModule.getKey().getGroupId() + ":"
+                        + dependencyOnMergedModule.getKey().getArtifactId() + "=" + dependencyOnMergedModule.getValue().getArtifactId())
+                .sorted()
+                .collect(Collectors.toList());
+        hasher.putInt(sortedDependenciesOnMergedModules.size());
+        sortedDependenciesOnMergedModules.forEach(dependencyOnMergedModule -> putString(hasher, dependencyOnMergedModule));
+        List<Path> sortedModules = modulesToMerge.stream()
+                .sorted()
+                .collect(Collectors.toList());
+        List<Path> sortedDirectories = mergeMode.getDirectoriesToMerge().stream()
+                .sorted(Comparator.comparing(Path::toString))
+                .collect(Collectors.toList());
+        hasher.putInt(sortedModules.size());
+        for (Path module : sortedModules) {
+            putString(hasher, pathToProjectRoot.relativize(module).toString());
+            putBytes(hasher, Files.readAllBytes(module.resolve(POM_FILENAME)));
+            for (Path directory : sortedDirectories) {
+                putString(hasher, directory.toString());
+                putBytes(hasher, computeTreeHash(module.resolve(directory)).asBytes());
+            }
+        }
+        Set<Path> parentsPomFiles = getParentsPomFiles(pathToProjectRoot, sortedModules);
+        hasher.putInt(parentsPomFiles.size());
+        for (Path parentPomFile : parentsPomFiles) {
+            putString(hasher, pathToProjectRoot.toAbsolutePath().normalize().relativize(parentPomFile).toString());
+            putBytes(hasher, Files.readAllBytes(parentPomFile));
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * @param mergedModulesDirectory path to merged modules directory
+     * @param mergeMode              merge mode
+     * @return fingerprint of merged modules as a hex string
+     * @throws IOException if files can't be read
+     */
+    static String computeOutput(Path mergedModulesDirectory, MergeMode mergeMode) throws IOException {
+        Path mergedPom = mergedModulesDirectory.resolve(POM_FILENAME);
+        Hasher hasher = HASH_FUNCTION.newHasher()
+                .putBoolean(Files.isRegularFile(mergedPom));
+        if (Files.isRegularFile(mergedPom)) {
+            putBytes(hasher, Files.readAllBytes(mergedPom));
+        }
+        List<Path> sortedDirectories = mergeMode.getDirectoriesToMerge().stream()
+                .sorted(Comparator.comparing(Path::toString))
+                .collect(Collectors.toList());
+        for (Path directory : sortedDirectories) {
+            putString(hasher, directory.toString());
+            putBytes(hasher, computeTreeHash(mergedModulesDirectory.resolve(directory)).asBytes());
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Collects local parent poms of modules, which are not merged modules and not the root pom, because they are hashed separately
+     *
+     * @param pathToProjectRoot path to project root
+     * @param modules           absolute paths of merged modules
+     * @return sorted absolute paths of parent poms
+     */
+    private static Set<Path> getParentsPomFiles(Path pathToProjectRoot, List<Path> modules) {
+        EffectivePomModelResolver effectivePomModelResolver = new EffectivePomModelResolver(pomFile -> PomModel.of(new StreamingPomParser(pomFile)));
+        Set<Path> modulesPomFiles = modules.stream()
+                .map(module -> module.resolve(POM_FILENAME).toAbsolutePath().normalize())
+                .collect(Collectors.toSet());
+        Path rootPomFile = pathToProjectRoot.resolve(POM_FILENAME).toAbsolutePath().normalize();
+        Set<Path> parentsPomFiles = new TreeSet<>();
+        for (Path module : modules) {
+            effectivePomModelResolver.getParentsPomFiles(module.resolve(POM_FILENAME)).stream()
+                    .filter(parentPomFile -> !parentPomFile.equals(rootPomFile) && !modulesPomFiles.contains(parentPomFile))
+                    .forEach(parentsPomFiles::add);
+        }
+        return parentsPomFiles;
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length())
+                .putString(value, StandardCharsets.UTF_8);
+    }
+
+    private static void putBytes(Hasher hasher, byte[] value) {
+        hasher.putInt(value.length)
+                .putBytes(value);
+    }
+
+    /**
+     * Removes merged modules and whitespace between elements from the root pom content,
+     * so the root pom before and after adding of merged modules has the same fingerprint
+     *
+     * @param rootPom root pom file
+     * @return normalized content of the root pom
+     * @throws IOException if file can't be read
+     */
+    private static String getRootPomWithoutMergedModules(Path rootPom) throws IOException {
+        String content = new String(Files.readAllBytes(rootPom), StandardCharsets.UTF_8);
+        content = MERGED_MODULE_ELEMENT.matcher(content).replaceAll("");
+        content = WHITESPACE_BETWEEN_ELEMENTS.matcher(content).replaceAll("><");
+        return EMPTY_MODULES_ELEMENT.matcher(content).replaceAll("");
+    }
+
+    /**
+     * Computes hash of directory tree, which does not depend on the walking order
+     *
+     * @param directory directory to hash
+     * @return hash of tree or hash of nothing, if directory does not exist
+     * @throws IOException if walking failed
+     */
+    private static HashCode computeTreeHash(Path directory) throws IOException {
+        List<HashCode> filesHashes = new ArrayList<>();
+        filesHashes.add(HASH_FUNCTION.newHasher().putBoolean(Files.isDirectory(directory)).hash());
+        if (Files.isDirectory(directory)) {
+            Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    String relativePath = directory.relativize(file).toString();
+                    filesHashes.add(HASH_FUNCTION.newHasher()
+                            .putInt(relativePath.length())
+                            .putString(relativePath, StandardCharsets.UTF_8)
+                            .putLong(attributes.size())
+                            .putLong(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS))
+                            .hash());
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        return Hashing.combineUnordered(filesHashes);
+    }
+
+}
@@ -0,0 +1,264 @@
+package com.wrike.merger.bucket;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Partitions modules into buckets with balanced total weights, which respect dependencies between modules.
+ * <p>
+ * Modules are assigned with the longest processing time first rule: the heaviest module, which is not assigned yet,
+ * is put into the bucket, which keeps the critical path of buckets the shortest. Without dependencies between modules
+ * it is the lightest bucket, so the total weight of the heaviest bucket is at most 4/3 of the optimal one.
+ * Buckets with the same weight are ordered by the number of modules, so modules without weight are spread too.
+ * Other ties are broken by paths of modules and indexes of buckets, so the result does not depend on the order of modules.
+ * </p>
+ * <p>
+ * Modules, which depend on each other, are put into the same bucket. Buckets may depend only on buckets
+ * with lower indexes, so merged modules never form a cycle, even if they depend on each other through other modules.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class BucketPartitioner {
+
+    private static final Comparator<Cluster> HEAVIEST_FIRST = Comparator.comparingLong(Cluster::getWeight).reversed()
+            .thenComparing(cluster -> cluster.getModulesPaths().iterator().next());
+
+    private BucketPartitioner() {
+    }
+
+    /**
+     * Partitions independent modules
+     *
+     * @param modulesWeights map from modules paths to their weights
+     * @param bucketsCount   number of buckets
+     * @return buckets with sorted modules paths, no bucket is empty, if there are enough modules
+     */
+    public static List<Set<Path>> partition(Map<Path, Long> modulesWeights, int bucketsCount) {
+        return partition(modulesWeights, bucketsCount, Map.of());
+    }
+
+    /**
+     * @param modulesWeights   map from modules paths to their weights
+     * @param bucketsCount     number of buckets
+     * @param reachableModules map from modules paths to modules, which they depend on directly or transitively
+     * @return buckets with sorted modules paths, every bucket depends only on buckets with lower indexes
+     */
+    public static List<Set<Path>> partition(Map<Path, Long> modulesWeights, int bucketsCount, Map<Path, Set<Path>> reachableModules) {
+        List<Bucket> buckets = IntStream.range(0, bucketsCount)
+                .mapToObj(Bucket::new)
+                .collect(Collectors.toList());
+        boolean[][] bucketsDependencies = new boolean[bucketsCount][bucketsCount];
+        for (Cluster cluster : createClusters(modulesWeights, reachableModules)) {
+            boolean[] clusterDependsOnBuckets = new boolean[bucketsCount];
+            boolean[] bucketsDependOnCluster = new boolean[bucketsCount];
+            int lowestIndex = 0;
+            int highestIndex = bucketsCount - 1;
+            for (Bucket bucket : buckets) {
+                clusterDependsOnBuckets[bucket.getIndex()] = !Collections.disjoint(cluster.getReachableModules(), bucket.getModulesPaths());
+                bucketsDependOnCluster[bucket.getIndex()] = !Collections.disjoint(bucket.getReachableModules(), cluster.getModulesPaths());
+                if (clusterDependsOnBuckets[bucket.getIndex()]) {
+                    lowestIndex = Math.max(lowestIndex, bucket.getIndex());
+                }
+                if (bucketsDependOnCluster[bucket.getIndex()]) {
+                    highestIndex = Math.min(highestIndex, bucket.getIndex());
+                }
+            }
+            Bucket bestBucket = null;
+            long bestCriticalPathWeight = Long.MAX_VALUE;
+            for (Bucket bucket : buckets.subList(lowestIndex, highestIndex + 1)) {
+                long criticalPathWeight = computeCriticalPath(buckets, bucketsDependencies, bucket.getIndex(), cluster.getWeight(),
+                        clusterDependsOnBuckets, bucketsDependOnCluster).getWeight();
+                if (bestBucket == null || criticalPathWeight < bestCriticalPathWeight
+                        || criticalPathWeight == bestCriticalPathWeight && isLighter(bucket, bestBucket)) {
+                    bestBucket = bucket;
+                    bestCriticalPathWeight = criticalPathWeight;
+                }
+            }
+            bestBucket.add(cluster);
+            for (int i = 0; i < bucketsCount; i++) {
+                if (i != bestBucket.getIndex()) {
+                    bucketsDependencies[bestBucket.getIndex()][i] |= clusterDependsOnBuckets[i];
+                    bucketsDependencies[i][bestBucket.getIndex()] |= bucketsDependOnCluster[i];
+                }
+            }
+        }
+        return buckets.stream()
+                .map(Bucket::getModulesPaths)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the chain of buckets with the largest total weight, which are built one after another
+     *
+     * @param buckets          buckets, which were created by {@link #partition(Map, int, Map)}
+     * @param modulesWeights   map from modules paths to their weights
+     * @param reachableModules map from modules paths to modules, which they depend on directly or transitively
+     * @return indexes of buckets of the critical path, dependencies go first
+     */
+    public static List<Integer> getCriticalPath(List<Set<Path>> buckets, Map<Path, Long> modulesWeights, Map<Path, Set<Path>> reachableModules) {
+        List<Bucket> createdBuckets = new ArrayList<>();
+        for (int i = 0; i < buckets.size(); i++) {
+            Bucket bucket = new Bucket(i);
+            for (Path modulePath : buckets.get(i)) {
+                bucket.add(new Cluster(Set.of(modulePath), modulesWeights.getOrDefault(modulePath, 0L),
+                        reachableModules.getOrDefault(modulePath, Set.of())));
+            }
+            createdBuckets.add(bucket);
+        }
+        boolean[][] bucketsDependencies = new boolean[buckets.size()][buckets.size()];
+        for (Bucket bucket : createdBuckets) {
+            for (Bucket dependency : createdBuckets) {
+                bucketsDependencies[bucket.getIndex()][dependency.getIndex()] = bucket != dependency
+                        && !Collections.disjoint(bucket.getReachableModules(), dependency.getModulesPaths());
+            }
+        }
+        return computeCriticalPath(createdBuckets, bucketsDependencies, -1, 0, null, null).getBucketsIndexes();
+    }
+
+    /**
+     * Computes the critical path of buckets, as if the cluster was added to the bucket with the given index.
+     * Buckets depend only on buckets with lower indexes, so they are processed in the order of indexes.
+     */
+    private static CriticalPath computeCriticalPath(List<Bucket> buckets, boolean[][] bucketsDependencies, int clusterBucketIndex,
+                                                    long clusterWeight, boolean[] clusterDependsOnBuckets, boolean[] bucketsDependOnCluster) {
+        long[] pathsWeights = new long[buckets.size()];
+        int[] previousBuckets = new int[buckets.size()];
+        int lastBucket = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            long weight = buckets.get(i).getWeight() + (i == clusterBucketIndex ? clusterWeight : 0);
+            previousBuckets[i] = -1;
+            for (int j = 0; j < i; j++) {
+                boolean dependsOn = bucketsDependencies[i][j]
+                        || i == clusterBucketIndex && clusterDependsOnBuckets[j]
+                        || j == clusterBucketIndex && bucketsDependOnCluster[i];
+                if (dependsOn && (previousBuckets[i] == -1 || pathsWeights[j] > pathsWeights[previousBuckets[i]])) {
+                    previousBuckets[i] = j;
+                }
+            }
+            pathsWeights[i] = weight + (previousBuckets[i] == -1 ? 0 : pathsWeights[previousBuckets[i]]);
+            if (pathsWeights[i] > pathsWeights[lastBucket]) {
+                lastBucket = i;
+            }
+        }
+        List<Integer> bucketsIndexes = new ArrayList<>();
+        for (int i = lastBucket; i != -1; i = previousBuckets[i]) {
+            bucketsIndexes.add(0, i);
+        }
+        return new CriticalPath(bucketsIndexes, pathsWeights.length == 0 ? 0 : pathsWeights[lastBucket]);
+    }
+
+    private static boolean isLighter(Bucket bucket, Bucket otherBucket) {
+        if (bucket.getWeight() != otherBucket.getWeight()) {
+            return bucket.getWeight() < otherBucket.getWeight();
+        }
+        return bucket.getModulesCount() < otherBucket.getModulesCount();
+    }
+
+    /**
+     * Groups modules, which depend on each other, into clusters
+     *
+     * @return clusters, heaviest first
+     */
+    private static List<Cluster> createClusters(Map<Path, Long> modulesWeights, Map<Path, Set<Path>> reachableModules) {
+        Map<Path, Path> clustersRoots = new HashMap<>();
+        modulesWeights.keySet().forEach(modulePath -> clustersRoots.put(modulePath, modulePath));
+        for (Path modulePath : modulesWeights.keySet()) {
+            for (Path reachableModule : reachableModules.getOrDefault(modulePath, Set.of())) {
+                if (clustersRoots.containsKey(reachableModule)
+                        && reachableModules.getOrDefault(reachableModule, Set.of()).contains(modulePath)) {
+                    clustersRoots.put(findRoot(clustersRoots, modulePath), findRoot(clustersRoots, reachableModule));
+                }
+            }
+        }
+        Map<Path, Set<Path>> clustersModules = new HashMap<>();
+        for (Path modulePath : modulesWeights.keySet()) {
+            clustersModules.computeIfAbsent(findRoot(clustersRoots, modulePath), root -> new TreeSet<>()).add(modulePath);
+        }
+        return clustersModules.values().stream()
+                .map(modulesPaths -> {
+                    Set<Path> clusterReachableModules = new HashSet<>();
+                    long weight = 0;
+                    for (Path modulePath : modulesPaths) {
+                        clusterReachableModules.addAll(reachableModules.getOrDefault(modulePath, Set.of()));
+                        weight += modulesWeights.get(modulePath);
+                    }
+                    clusterReachableModules.removeAll(modulesPaths);
+                    return new Cluster(modulesPaths, weight, clusterReachableModules);
+                })
+                .sorted(HEAVIEST_FIRST)
+                .collect(Collectors.toList());
+    }
+
+    private static Path findRoot(Map<Path, Path> clustersRoots, Path modulePath) {
+        Path root = modulePath;
+        while (!clustersRoots.get(root).equals(root)) {
+            root = clustersRoots.get(root);
+        }
+        clustersRoots.put(modulePath, root);
+        return root;
+    }
+
+    @Getter
+    private static class Cluster {
+
+        private final Set<Path> modulesPaths;
+        private final long weight;
+        private final Set<Path> reachableModules;
+
+        private Cluster(Set<Path> modulesPaths, long weight, Set<Path> reachableModules) {
+            this.modulesPaths = modulesPaths;
+            this.weight = weight;
+            this.reachableModules = reachableModules;
+        }
+
+    }
+
+    @Getter
+    private static class Bucket {
+
+        private final int index;
+        private final Set<Path> modulesPaths = new TreeSet<>();
+        private final Set<Path> reachableModules = new HashSet<>();
+        private long weight;
+        private int modulesCount;
+
+        private Bucket(int index) {
+            this.index = index;
+        }
+
+        private void add(Cluster cluster) {
+            modulesPaths.addAll(cluster.getModulesPaths());
+            reachableModules.addAll(cluster.getReachableModules());
+            weight += cluster.getWeight();
+            modulesCount += cluster.getModulesPaths().size();
+        }
+
+    }
+
+    @Getter
+    private static class CriticalPath {
+
+        private final List<Integer> bucketsIndexes;
+        private final long weight;
+
+        private CriticalPath(List<Integer> bucketsIndexes, long weight) {
+            this.bucketsIndexes = bucketsIndexes;
+            this.weight = weight;
+        }
+
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.wrike.merger.bucket;
+
+import lombok.Data;
+
+/**
+ * Bean for storing a test class of {@link TestInventory}
+ *
+ * @author agent on 18.10.2026
+ */
+@Data
+public class InventoryEntry {
+
+    private final String mergedModule;
+    private final String className;
+    private final String module;
+    private final long size;
+
+}
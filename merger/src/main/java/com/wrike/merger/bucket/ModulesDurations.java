@@ -0,0 +1,177 @@
+package com.wrike.merger.bucket;
+
+import lombok.Data;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Persistent table of durations of modules tests, which are read from surefire reports by {@link SurefireReportsReader}.
+ * <p>
+ * Every duration is keyed by the number of reports and their last modified time, so reports are parsed only
+ * when they are changed. Durations of modules, which have no reports now, for example, after {@code mvn clean},
+ * are taken from the table, so the previous builds are still used for balancing.
+ * Paths are stored relative to the project root, so the table does not depend on the checkout location.
+ * </p>
+ * <p>
+ * The table file is protected by a checksum and replaced atomically, like {@link com.wrike.merger.pom.PomCache}.
+ * If it is absent, corrupted or has another format, the table is started from scratch.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class ModulesDurations {
+
+    private static final Logger LOG = LogManager.getLogger(ModulesDurations.class);
+    private static final int FORMAT_VERSION = 1;
+
+    private final Path pathToProjectRoot;
+    private final Map<Path, ModuleDuration> modulesDurations = new HashMap<>();
+    private boolean changed;
+
+    private ModulesDurations(Path pathToProjectRoot) {
+        this.pathToProjectRoot = pathToProjectRoot;
+    }
+
+    /**
+     * Returns duration of module tests from its surefire reports or from the table, if module has no reports
+     *
+     * @param modulePath path to module
+     * @return duration in milliseconds or empty, if the duration is unknown
+     */
+    public OptionalLong getDurationMillis(Path modulePath) {
+        Path relativeModulePath = pathToProjectRoot.relativize(modulePath);
+        ModuleDuration moduleDuration = modulesDurations.get(relativeModulePath);
+        try {
+            List<Path> reports = SurefireReportsReader.findReports(modulePath);
+            if (!reports.isEmpty()) {
+                long reportsLastModifiedNanos = 0;
+                for (Path report : reports) {
+                    reportsLastModifiedNanos = Math.max(reportsLastModifiedNanos, Files.getLastModifiedTime(report).to(TimeUnit.NANOSECONDS));
+                }
+                if (moduleDuration == null || moduleDuration.getReportsCount() != reports.size()
+                        || moduleDuration.getReportsLastModifiedNanos() != reportsLastModifiedNanos) {
+                    long durationMillis = 0;
+                    for (Path report : reports) {
+                        durationMillis += SurefireReportsReader.readDurationMillis(report);
+                    }
+                    moduleDuration = new ModuleDuration(reports.size(), reportsLastModifiedNanos, durationMillis);
+                    modulesDurations.put(relativeModulePath, moduleDuration);
+                    changed = true;
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to read surefire reports of `{}` module", relativeModulePath, e);
+        }
+        return moduleDuration == null ? OptionalLong.empty() : OptionalLong.of(moduleDuration.getDurationMillis());
+    }
+
+    /**
+     * Writes table to file, if something was read from reports.
+     * Errors are only logged, because the table is not required for merging.
+     *
+     * @param durationsFile file to write
+     */
+    public void write(Path durationsFile) {
+        if (!changed) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(content)) {
+                output.writeInt(modulesDurations.size());
+                for (Map.Entry<Path, ModuleDuration> modulePathToDuration : modulesDurations.entrySet()) {
+                    ModuleDuration moduleDuration = modulePathToDuration.getValue();
+                    output.writeUTF(modulePathToDuration.getKey().toString());
+                    output.writeInt(moduleDuration.getReportsCount());
+                    output.writeLong(moduleDuration.getReportsLastModifiedNanos());
+                    output.writeLong(moduleDuration.getDurationMillis());
+                }
+            }
+            CRC32C checksum = new CRC32C();
+            checksum.update(content.toByteArray());
+            Files.createDirectories(durationsFile.toAbsolutePath().getParent());
+            Path temporaryDurationsFile = Files.createTempFile(durationsFile.toAbsolutePath().getParent(), durationsFile.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(temporaryDurationsFile))) {
+                    output.writeInt(FORMAT_VERSION);
+                    output.writeLong(checksum.getValue());
+                    output.writeInt(content.size());
+                    content.writeTo(output);
+                }
+                Files.move(temporaryDurationsFile, durationsFile, REPLACE_EXISTING, ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryDurationsFile);
+            }
+            LOG.info("Durations of {} modules were written to `{}`", modulesDurations.size(), durationsFile);
+        } catch (IOException e) {
+            LOG.warn("Unable to write durations of modules to `{}`", durationsFile, e);
+        }
+    }
+
+    /**
+     * Reads table from file.
+     *
+     * @param durationsFile     file to read
+     * @param pathToProjectRoot root, which paths are relative to
+     * @return table from file or empty table, if file does not exist or can't be read
+     */
+    public static ModulesDurations read(Path durationsFile, Path pathToProjectRoot) {
+        ModulesDurations modulesDurations = new ModulesDurations(pathToProjectRoot);
+        if (!Files.isRegularFile(durationsFile)) {
+            return modulesDurations;
+        }
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(durationsFile))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                LOG.info("Durations of modules `{}` have unsupported format", durationsFile);
+                return modulesDurations;
+            }
+            long expectedChecksum = input.readLong();
+            byte[] content = input.readNBytes(input.readInt());
+            CRC32C checksum = new CRC32C();
+            checksum.update(content);
+            if (checksum.getValue() != expectedChecksum) {
+                LOG.info("Durations of modules `{}` are corrupted", durationsFile);
+                return modulesDurations;
+            }
+            DataInputStream contentInput = new DataInputStream(new ByteArrayInputStream(content));
+            int size = contentInput.readInt();
+            for (int i = 0; i < size; i++) {
+                Path relativeModulePath = Path.of(contentInput.readUTF());
+                modulesDurations.modulesDurations.put(relativeModulePath,
+                        new ModuleDuration(contentInput.readInt(), contentInput.readLong(), contentInput.readLong()));
+            }
+            LOG.info("Durations of {} modules were read from `{}`", size, durationsFile);
+            return modulesDurations;
+        } catch (IOException | RuntimeException e) {
+            LOG.info("Durations of modules `{}` can't be read", durationsFile, e);
+            return new ModulesDurations(pathToProjectRoot);
+        }
+    }
+
+    @Data
+    private static class ModuleDuration {
+
+        private final int reportsCount;
+        private final long reportsLastModifiedNanos;
+        private final long durationMillis;
+
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.wrike.merger.bucket;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.wrike.merger.input.ShardStrategy;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Splits the list of modules into shards, which are run on different CI nodes, by {@link ShardStrategy}.
+ * The result depends only on the given modules and their weights, so the same input always gives the same shards.
+ *
+ * @author agent on 18.10.2026
+ */
+public class ModulesSharder {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private ModulesSharder() {
+    }
+
+    /**
+     * Assigns every module by the consistent hash of its name, so the shard of module does not depend on other modules
+     *
+     * @param modules     names of modules
+     * @param shardsCount number of shards
+     * @return shards with sorted names of modules, some shards can be empty
+     */
+    public static List<Set<String>> shardByHash(Collection<String> modules, int shardsCount) {
+        List<Set<String>> shards = IntStream.range(0, shardsCount)
+                .<Set<String>>mapToObj(i -> new TreeSet<>())
+                .collect(Collectors.toList());
+        for (String module : modules) {
+            shards.get(Hashing.consistentHash(HASH_FUNCTION.hashString(module, StandardCharsets.UTF_8), shardsCount)).add(module);
+        }
+        return shards;
+    }
+
+    /**
+     * Balances modules between shards by their weights with {@link BucketPartitioner}
+     *
+     * @param modulesWeights map from names of modules to their weights
+     * @param shardsCount    number of shards
+     * @return shards with sorted names of modules
+     */
+    public static List<Set<String>> shardByWeight(Map<String, Long> modulesWeights, int shardsCount) {
+        Map<Path, Long> modulesPathsWeights = modulesWeights.entrySet().stream()
+                .collect(Collectors.toMap(moduleWeight -> Path.of(moduleWeight.getKey()), Map.Entry::getValue));
+        Map<Path, String> modulesNames = modulesWeights.keySet().stream()
+                .collect(Collectors.toMap(Path::of, module -> module));
+        return BucketPartitioner.partition(modulesPathsWeights, shardsCount).stream()
+                .map(shard -> shard.stream()
+                        .map(modulesNames::get)
+                        .collect(Collectors.toCollection(TreeSet::new)))
+                .collect(Collectors.toList());
+    }
+
+}
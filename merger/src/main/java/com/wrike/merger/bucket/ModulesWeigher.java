@@ -0,0 +1,109 @@
+package com.wrike.merger.bucket;
+
+import com.wrike.merger.input.BucketWeight;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Computes weights of modules by {@link BucketWeight}, walking merged directories of modules
+ * or reading durations of their tests.
+ *
+ * @author agent on 18.10.2026
+ */
+public class ModulesWeigher {
+
+    private static final Logger LOG = LogManager.getLogger(ModulesWeigher.class);
+    static final Pattern TEST_CLASS_FILE = Pattern.compile("(Test[^$]*|[^$]*(Test|Tests|TestCase))\\.(java|kt|groovy|class)");
+
+    private ModulesWeigher() {
+    }
+
+    /**
+     * @param modulesPaths       paths to modules
+     * @param directoriesToMerge directories of modules, which are merged, relative to modules
+     * @param bucketWeight       weight of module
+     * @return map from modules paths to their weights
+     * @throws IOException if walking failed
+     */
+    public static Map<Path, Long> weigh(Set<Path> modulesPaths, Set<Path> directoriesToMerge, BucketWeight bucketWeight) throws IOException {
+        Map<Path, Long> modulesWeights = new HashMap<>();
+        for (Path modulePath : modulesPaths) {
+            long weight = 0;
+            for (Path directory : directoriesToMerge) {
+                weight += weighDirectory(modulePath.resolve(directory), bucketWeight);
+            }
+            modulesWeights.put(modulePath, weight);
+        }
+        return modulesWeights;
+    }
+
+    /**
+     * Weighs modules by {@link BucketWeight#DURATION}. Modules with unknown duration get the average duration
+     * of other modules, so new modules are spread between buckets instead of being treated as free.
+     *
+     * @param modulesPaths     paths to modules
+     * @param modulesDurations durations of modules tests
+     * @return map from modules paths to their durations in milliseconds
+     */
+    public static Map<Path, Long> weighByDuration(Set<Path> modulesPaths, ModulesDurations modulesDurations) {
+        Map<Path, Long> modulesWeights = new HashMap<>();
+        Set<Path> modulesWithoutDuration = new HashSet<>();
+        long totalDurationMillis = 0;
+        for (Path modulePath : modulesPaths) {
+            OptionalLong durationMillis = modulesDurations.getDurationMillis(modulePath);
+            if (durationMillis.isPresent()) {
+                modulesWeights.put(modulePath, durationMillis.getAsLong());
+                totalDurationMillis += durationMillis.getAsLong();
+            } else {
+                modulesWithoutDuration.add(modulePath);
+            }
+        }
+        if (!modulesWithoutDuration.isEmpty()) {
+            long averageDurationMillis = modulesWeights.isEmpty() ? 1 : Math.max(totalDurationMillis / modulesWeights.size(), 1);
+            LOG.info("Durations of {} modules are unknown, the average duration {} ms is used for them",
+                    modulesWithoutDuration.size(), averageDurationMillis);
+            modulesWithoutDuration.forEach(modulePath -> modulesWeights.put(modulePath, averageDurationMillis));
+        }
+        return modulesWeights;
+    }
+
+    private static long weighDirectory(Path directory, BucketWeight bucketWeight) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long[] weight = new long[1];
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                weight[0] += weighFile(file, attributes, bucketWeight);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return weight[0];
+    }
+
+    private static long weighFile(Path file, BasicFileAttributes attributes, BucketWeight bucketWeight) {
+        switch (bucketWeight) {
+            case TEST_CLASSES:
+                return TEST_CLASS_FILE.matcher(file.getFileName().toString()).matches() ? 1 : 0;
+            case SOURCE_SIZE:
+                return attributes.size();
+            default:
+                throw new IllegalStateException("Unsupported bucket weight: " + bucketWeight);
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.wrike.merger.bucket;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.wrike.merger.pom.utils.XmlUtils.createXmlStreamReader;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Reads durations of tests from {@code TEST-*.xml} reports, which surefire plugin writes to {@code target/surefire-reports}.
+ * <p>
+ * Only the root {@code testsuite} element is read with a streaming parser, so the rest of the report,
+ * which can be large because of test output, is not parsed.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class SurefireReportsReader {
+
+    private static final Path SUREFIRE_REPORTS = Path.of("target", "surefire-reports");
+    private static final String REPORT_PREFIX = "TEST-";
+    private static final String REPORT_SUFFIX = ".xml";
+
+    private SurefireReportsReader() {
+    }
+
+    /**
+     * @param modulePath path to module
+     * @return sorted reports of module, or empty list, if module has no reports
+     * @throws IOException if reports directory can't be listed
+     */
+    public static List<Path> findReports(Path modulePath) throws IOException {
+        Path reportsDirectory = modulePath.resolve(SUREFIRE_REPORTS);
+        if (!Files.isDirectory(reportsDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(reportsDirectory)) {
+            return files.filter(file -> {
+                        String fileName = file.getFileName().toString();
+                        return fileName.startsWith(REPORT_PREFIX) && fileName.endsWith(REPORT_SUFFIX);
+                    })
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @param reportFile surefire report
+     * @return duration of test suite in milliseconds, or 0, if the report has no duration
+     * @throws IOException if report can't be read
+     */
+    public static long readDurationMillis(Path reportFile) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(reportFile))) {
+            XMLStreamReader reader = createXmlStreamReader(inputStream);
+            try {
+                if (reader.nextTag() != START_ELEMENT) {
+                    return 0;
+                }
+                return parseSeconds(reader.getAttributeValue(null, "time"));
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IOException(String.format("Unable to read duration from `%s` surefire report", reportFile), e);
+        }
+    }
+
+    /**
+     * Surefire writes time in seconds and can use grouping separators, for example, {@code 1,234.5}
+     *
+     * @param seconds time in seconds
+     * @return time in milliseconds
+     */
+    private static long parseSeconds(String seconds) {
+        if (seconds == null || seconds.isBlank()) {
+            return 0;
+        }
+        return new BigDecimal(seconds.trim().replace(",", ""))
+                .movePointRight(3)
+                .longValue();
+    }
+
+}
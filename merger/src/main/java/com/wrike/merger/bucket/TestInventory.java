@@ -0,0 +1,154 @@
+package com.wrike.merger.bucket;
+
+import com.wrike.merger.plan.PlannedFile;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Inventory of test classes of merged modules, so tests of one merged module can be split between CI nodes.
+ * <p>
+ * The inventory is collected from files, which were put into the merged module, so modules are not walked again.
+ * Test classes are found in {@code src/test/java}, {@code src/test/kotlin}, {@code src/test/groovy}
+ * and {@code target/test-classes} directories of the merged module.
+ * </p>
+ * <p>
+ * The inventory is written as tab-separated lines, sorted by merged modules and class names:
+ * </p>
+ * <pre>{@code
+ * merged_modules	com.company.FirstTest	module1/module1_child1	1024
+ * }</pre>
+ * <p>
+ * Every line contains the merged module, the fully qualified class name, which can be passed to surefire with
+ * {@code -Dtest}, the module, which the class was taken from, relative to the project root, and the size of the class file.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+@Getter
+public class TestInventory {
+
+    private static final String SEPARATOR = "\t";
+    private static final List<Path> TEST_CLASSES_ROOTS = List.of(
+            Path.of("src", "test", "java"),
+            Path.of("src", "test", "kotlin"),
+            Path.of("src", "test", "groovy"),
+            Path.of("target", "test-classes")
+    );
+    private static final Comparator<InventoryEntry> ENTRIES_ORDER = Comparator
+            .comparing(InventoryEntry::getMergedModule)
+            .thenComparing(InventoryEntry::getClassName)
+            .thenComparing(InventoryEntry::getModule);
+
+    private final List<InventoryEntry> entries;
+
+    private TestInventory(List<InventoryEntry> entries) {
+        this.entries = entries.stream()
+                .sorted(ENTRIES_ORDER)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    /**
+     * Finds test classes among files, which were put into the merged module
+     *
+     * @param pathToProjectRoot      root, which modules are relative to
+     * @param mergedModulesDirectory path to merged modules directory
+     * @param modulesPaths           paths to merged modules
+     * @param files                  files, which were put into the merged module
+     * @return inventory of the merged module
+     */
+    public static TestInventory collect(Path pathToProjectRoot, Path mergedModulesDirectory, Set<Path> modulesPaths, Collection<PlannedFile> files) {
+        String mergedModule = mergedModulesDirectory.getFileName().toString();
+        List<InventoryEntry> entries = files.stream()
+                .filter(file -> ModulesWeigher.TEST_CLASS_FILE.matcher(file.getTarget().getFileName().toString()).matches())
+                .flatMap(file -> TEST_CLASSES_ROOTS.stream()
+                        .map(mergedModulesDirectory::resolve)
+                        .filter(testClassesRoot -> file.getTarget().startsWith(testClassesRoot))
+                        .limit(1)
+                        .map(testClassesRoot -> new InventoryEntry(mergedModule, getClassName(testClassesRoot.relativize(file.getTarget())),
+                                getModule(pathToProjectRoot, modulesPaths, file.getSource()), file.getSize())))
+                .collect(Collectors.toList());
+        return new TestInventory(entries);
+    }
+
+    /**
+     * @param inventories inventories of merged modules
+     * @return inventory with test classes of all merged modules
+     */
+    public static TestInventory combine(Collection<TestInventory> inventories) {
+        return new TestInventory(inventories.stream()
+                .flatMap(inventory -> inventory.getEntries().stream())
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Writes inventory to file
+     *
+     * @param inventoryFile file to write
+     * @throws IOException if writing failed
+     */
+    public void write(Path inventoryFile) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(inventoryFile)) {
+            for (InventoryEntry entry : entries) {
+                writer.write(String.join(SEPARATOR, entry.getMergedModule(), entry.getClassName(), entry.getModule(), Long.toString(entry.getSize())));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * Reads inventory, which was written by {@link #write(Path)}
+     *
+     * @param inventoryFile file to read
+     * @return inventory
+     * @throws IOException if reading failed or file has invalid format
+     */
+    public static TestInventory read(Path inventoryFile) throws IOException {
+        List<InventoryEntry> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(inventoryFile)) {
+            String[] values = line.split(SEPARATOR);
+            if (values.length != 4) {
+                throw new IOException(String.format("Test inventory `%s` has invalid line `%s`", inventoryFile, line));
+            }
+            try {
+                entries.add(new InventoryEntry(values[0], values[1], values[2], Long.parseLong(values[3])));
+            } catch (NumberFormatException e) {
+                throw new IOException(String.format("Test inventory `%s` has invalid line `%s`", inventoryFile, line), e);
+            }
+        }
+        return new TestInventory(entries);
+    }
+
+    /**
+     * @param classFile path to class file relative to the root of test classes
+     * @return fully qualified class name
+     */
+    private static String getClassName(Path classFile) {
+        String className = StreamSupport.stream(classFile.spliterator(), false)
+                .map(Path::toString)
+                .collect(Collectors.joining("."));
+        return className.substring(0, className.lastIndexOf('.'));
+    }
+
+    /**
+     * @return the innermost module, which contains the source file, relative to the project root
+     */
+    private static String getModule(Path pathToProjectRoot, Set<Path> modulesPaths, Path source) {
+        return modulesPaths.stream()
+                .filter(source::startsWith)
+                .max(Comparator.comparingInt(Path::getNameCount))
+                .map(modulePath -> pathToProjectRoot.relativize(modulePath).toString())
+                .orElseThrow(() -> new IllegalStateException(String.format("`%s` file does not belong to merged modules", source)));
+    }
+
+}
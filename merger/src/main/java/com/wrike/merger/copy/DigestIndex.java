@@ -0,0 +1,92 @@
+package com.wrike.merger.copy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe in-memory index from target files to digests of their content.
+ * <p>
+ * Every target file is claimed by the first source file, which is copied to it.
+ * The size of the target content is known from the walk, and its digest is computed once while copying,
+ * so later checks for conflicts are answered from the index without reading the target file again.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ * @see FileDigest
+ */
+class DigestIndex {
+
+    private final Map<Path, IndexedTarget> targets = new ConcurrentHashMap<>();
+
+    /**
+     * Claims target for the source file
+     *
+     * @param target     target file
+     * @param source     source file, which will be copied to target
+     * @param sourceSize size of source file
+     * @return null if target is claimed by the source, otherwise the target claimed before
+     */
+    IndexedTarget claim(Path target, Path source, long sourceSize) {
+        return targets.putIfAbsent(target, new IndexedTarget(source, sourceSize));
+    }
+
+    /**
+     * @param target target file
+     * @return indexed target or null, if target was not claimed
+     */
+    IndexedTarget get(Path target) {
+        return targets.get(target);
+    }
+
+    /**
+     * Target file, claimed by a source file. The size is known from the beginning,
+     * the digest is set only if it was computed while copying.
+     */
+    static class IndexedTarget {
+
+        private Path source;
+        private long size;
+        private FileDigest digest;
+
+        private IndexedTarget(Path source, long size) {
+            this.source = source;
+            this.size = size;
+        }
+
+        synchronized Path getSource() {
+            return source;
+        }
+
+        synchronized long getSize() {
+            return size;
+        }
+
+        /**
+         * @return digest of content or null, if it was not computed
+         */
+        synchronized FileDigest getDigest() {
+            return digest;
+        }
+
+        synchronized void setDigest(FileDigest digest) {
+            this.digest = digest;
+        }
+
+        /**
+         * Replaces the source with the file, which already existed in the target location before copying
+         *
+         * @param existingFile existing target file
+         * @throws IOException if reading of existing file attributes failed
+         */
+        synchronized void replaceWithExistingFile(Path existingFile) throws IOException {
+            this.source = existingFile;
+            this.size = Files.size(existingFile);
+            this.digest = null;
+        }
+
+    }
+
+}
@@ -0,0 +1,348 @@
+package com.wrike.merger.copy;
+
+import com.wrike.merger.FilesContentConflictException;
+import com.wrike.merger.FileUtils;
+import com.wrike.merger.copy.DigestIndex.IndexedTarget;
+import com.wrike.merger.input.LinkStrategy;
+import lombok.Getter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * Copies several directories into the shared target directories with checking for conflicts in files content.
+ * <p>
+ * Every directory tree is copied by a separate {@link RecursiveAction}, which forks its subtrees,
+ * while other threads are idle, so a {@link ForkJoinPool} balances the work between modules and subtrees by work-stealing.
+ * </p>
+ * <p>
+ * The result does not depend on the scheduling order. Every target file remembers the source file, which claimed it,
+ * in {@link DigestIndex}. Another source file with the same target is compared with the digest of the claiming source file,
+ * so the target file, which can be not written yet, is never read. After copying, every source of the conflicting target
+ * is compared with the smallest source path of this target, so the found conflicts are the same for any scheduling order.
+ * The smallest conflict is thrown, and all of them are available with {@link #getConflicts()}.
+ * </p>
+ * <p>
+ * Files are put to targets according to the given {@link LinkStrategy}.
+ * </p>
+ * <p>
+ * Every copied file is recorded to {@link MergeManifest}. If the manifest of the previous copying is given,
+ * targets are considered as the result of that copying: files with unchanged {@link SourceFingerprint} are skipped,
+ * changed files are replaced.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class DirectoriesCopier {
+
+    private static final Logger LOG = LogManager.getLogger(DirectoriesCopier.class);
+    private static final Comparator<FilesConflict> CONFLICTS_ORDER = Comparator
+            .comparing(FilesConflict::getFirstPath)
+            .thenComparing(FilesConflict::getSecondPath);
+    private static final int MAX_SURPLUS_QUEUED_ACTIONS = 2;
+
+    private final int parallelism;
+    private final LinkStrategy linkStrategy;
+    private final MergeManifest previousManifest;
+    @Getter
+    private final MergeManifest manifest = new MergeManifest();
+    private final DigestIndex digestIndex = new DigestIndex();
+    private final Map<Path, Queue<Path>> duplicatedTargetsSources = new ConcurrentHashMap<>();
+    private final Set<Path> conflictingTargets = ConcurrentHashMap.newKeySet();
+    private List<FilesConflict> conflicts = List.of();
+
+    /**
+     * @param parallelism  number of threads, which copy files
+     * @param linkStrategy strategy of putting files to targets
+     */
+    public DirectoriesCopier(int parallelism, LinkStrategy linkStrategy) {
+        this(parallelism, linkStrategy, null);
+    }
+
+    /**
+     * @param parallelism      number of threads, which copy files
+     * @param linkStrategy     strategy of putting files to targets
+     * @param previousManifest manifest of the previous copying to the same targets or null, if targets are new
+     */
+    public DirectoriesCopier(int parallelism, LinkStrategy linkStrategy, MergeManifest previousManifest) {
+        this.parallelism = parallelism;
+        this.linkStrategy = linkStrategy;
+        this.previousManifest = previousManifest;
+    }
+
+    /**
+     * Copies every source directory to its target directory.
+     *
+     * @param sourcesToTargets map from source directories to target directories
+     * @throws IOException                   if error occurs while copying files
+     * @throws FilesContentConflictException if files have content conflict
+     */
+    public void copy(Map<Path, Path> sourcesToTargets) throws IOException, FilesContentConflictException {
+        List<DirectoryCopyAction> actions = sourcesToTargets.entrySet().stream()
+                .map(sourceToTarget -> new DirectoryCopyAction(sourceToTarget.getKey(), sourceToTarget.getValue()))
+                .collect(Collectors.toList());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(actions);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            shutdownAndAwaitTermination(pool);
+        }
+        LOG.info("Content of {} directories was copied by {} threads with `{}` link strategy",
+                sourcesToTargets.size(), parallelism, linkStrategy.getLinkStrategyName());
+        conflicts = findConflicts();
+        if (!conflicts.isEmpty()) {
+            FilesConflict firstConflict = conflicts.get(0);
+            throw new FilesContentConflictException(firstConflict.getFirstPath(), firstConflict.getSecondPath());
+        }
+    }
+
+    /**
+     * Shuts down the pool and waits for actions, which are still running after the failure of another action,
+     * so no file is written after copying is over
+     *
+     * @param pool pool, which copies directories
+     * @throws IOException if waiting was interrupted
+     */
+    private static void shutdownAndAwaitTermination(ForkJoinPool pool) throws IOException {
+        pool.shutdown();
+        try {
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            pool.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Copying of directories was interrupted", e);
+        }
+    }
+
+    /**
+     * @return all conflicts, which were found while copying, in the deterministic order
+     */
+    public List<FilesConflict> getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Compares every source of conflicting targets with the smallest source path of the same target
+     *
+     * @return sorted conflicts
+     * @throws IOException if reading failed
+     */
+    private List<FilesConflict> findConflicts() throws IOException {
+        List<FilesConflict> foundConflicts = new ArrayList<>();
+        for (Path conflictingTarget : conflictingTargets) {
+            List<Path> sources = Stream.concat(
+                            Stream.of(digestIndex.get(conflictingTarget).getSource()),
+                            duplicatedTargetsSources.get(conflictingTarget).stream())
+                    .distinct()
+                    .sorted()
+                    .collect(Collectors.toList());
+            Path firstSource = sources.get(0);
+            for (Path source : sources.subList(1, sources.size())) {
+                if (!FileUtils.contentEquals(source, firstSource)) {
+                    foundConflicts.add(FilesConflict.of(source, firstSource));
+                }
+            }
+        }
+        foundConflicts.sort(CONFLICTS_ORDER);
+        return foundConflicts;
+    }
+
+    /**
+     * Copies file to the new location, if nobody claimed it before. Otherwise, checks for possible conflicts
+     * with {@link DigestIndex}.
+     *
+     * @param file            source file
+     * @param fileAttributes  attributes of source file
+     * @param newFileLocation place, where copy of file will be stored
+     * @throws IOException if copying failed
+     */
+    private void copyFile(Path file, BasicFileAttributes fileAttributes, Path newFileLocation) throws IOException {
+        long fileSize = fileAttributes.size();
+        IndexedTarget claimedTarget = digestIndex.claim(newFileLocation, file, fileSize);
+        if (claimedTarget != null) {
+            checkConflict(file, fileSize, newFileLocation, claimedTarget);
+            return;
+        }
+        SourceFingerprint sourceFingerprint = SourceFingerprint.of(file, fileAttributes);
+        manifest.put(newFileLocation, sourceFingerprint);
+        if (previousManifest != null) {
+            if (sourceFingerprint.equals(previousManifest.get(newFileLocation)) && Files.exists(newFileLocation, NOFOLLOW_LINKS)) {
+                return;
+            }
+            Files.deleteIfExists(newFileLocation);
+        }
+        try {
+            transferFile(file, newFileLocation);
+        } catch (FileAlreadyExistsException e) {
+            if (Files.isRegularFile(newFileLocation)) {
+                IndexedTarget existingTarget = digestIndex.get(newFileLocation);
+                existingTarget.replaceWithExistingFile(newFileLocation);
+                checkConflict(file, fileSize, newFileLocation, existingTarget);
+            }
+        }
+    }
+
+    private void transferFile(Path file, Path newFileLocation) throws IOException {
+        switch (linkStrategy) {
+            case COPY:
+                digestIndex.get(newFileLocation).setDigest(FileDigest.copy(file, newFileLocation));
+                break;
+            case LINK:
+                FileUtils.linkOrCopy(file, newFileLocation);
+                break;
+            default:
+                throw new IllegalStateException("Unsupported link strategy: " + linkStrategy);
+        }
+    }
+
+    /**
+     * Checks file for conflict with the claimed target.
+     * <ol>
+     *     <li>Files with different sizes are in conflict, it does not need reading</li>
+     *     <li>If the digest of target was computed while copying, only the file is read to compare digests</li>
+     *     <li>Otherwise, the file is compared with the claiming source until the first mismatch</li>
+     * </ol>
+     *
+     * @param file            source file
+     * @param fileSize        size of source file
+     * @param newFileLocation place, where copy of file should be stored
+     * @param claimedTarget   target, claimed by another file
+     * @throws IOException if reading failed
+     */
+    private void checkConflict(Path file, long fileSize, Path newFileLocation, IndexedTarget claimedTarget) throws IOException {
+        duplicatedTargetsSources.computeIfAbsent(newFileLocation, target -> new ConcurrentLinkedQueue<>()).add(file);
+        boolean contentEquals;
+        FileDigest claimedTargetDigest = claimedTarget.getDigest();
+        if (fileSize != claimedTarget.getSize()) {
+            contentEquals = false;
+        } else if (claimedTargetDigest != null) {
+            contentEquals = claimedTargetDigest.equals(FileDigest.of(file));
+        } else {
+            contentEquals = FileUtils.contentEquals(file, claimedTarget.getSource());
+        }
+        if (!contentEquals) {
+            conflictingTargets.add(newFileLocation);
+        }
+    }
+
+    /**
+     * Copies one directory tree, walking it with a {@link FileVisitor}.
+     * <p>
+     * Files are copied as soon as they are visited, so only the currently open directories are kept in memory.
+     * If other threads have nothing to do, subdirectories are forked as separate actions to be stolen by them.
+     * Forked actions are joined, even if walking failed, and the first failure is rethrown.
+     * </p>
+     */
+    private class DirectoryCopyAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path source;
+        private final Path target;
+        private final List<DirectoryCopyAction> forkedActions = new ArrayList<>();
+
+        private DirectoryCopyAction(Path source, Path target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                Files.createDirectories(target);
+                manifest.addDirectory(target);
+                Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                        if (directory.equals(source)) {
+                            return FileVisitResult.CONTINUE;
+                        }
+                        Path newDirectoryLocation = getNewLocation(directory);
+                        if (shouldFork()) {
+                            DirectoryCopyAction subdirectoryAction = new DirectoryCopyAction(directory, newDirectoryLocation);
+                            subdirectoryAction.fork();
+                            forkedActions.add(subdirectoryAction);
+                            return FileVisitResult.SKIP_SUBTREE;
+                        }
+                        createDirectory(newDirectoryLocation);
+                        manifest.addDirectory(newDirectoryLocation);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                        copyFile(file, attributes, getNewLocation(file));
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(String.format("Unable to copy `%s` directory", source), e);
+            } finally {
+                forkedActions.forEach(RecursiveAction::quietlyJoin);
+            }
+            forkedActions.forEach(RecursiveAction::join);
+        }
+
+        private Path getNewLocation(Path path) {
+            return target.resolve(source.relativize(path));
+        }
+
+        /**
+         * Forks only if there are not enough queued actions for other threads.
+         *
+         * @return true, if subdirectory should be copied by a separate action
+         */
+        private boolean shouldFork() {
+            return parallelism > 1 && getSurplusQueuedTaskCount() < MAX_SURPLUS_QUEUED_ACTIONS;
+        }
+
+    }
+
+    /**
+     * Creates directory. Directory can already exist, if several sources have the same subdirectory.
+     *
+     * @param directory directory to create
+     * @throws IOException if directory can't be created
+     */
+    private static void createDirectory(Path directory) throws IOException {
+        try {
+            Files.createDirectory(directory);
+        } catch (FileAlreadyExistsException e) {
+            if (!Files.isDirectory(directory)) {
+                throw e;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.wrike.merger.copy;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import lombok.Data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Bean for storing a digest of file content: its size and 128-bit murmur3 hash.
+ * <p>
+ * The hash is fast to compute, and accidental collisions of 128-bit hashes are negligible, so files with equal digests
+ * are considered equal without comparing their content. A 32-bit checksum is not enough for it,
+ * because collisions are found among less than a hundred thousand different files.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+@Data
+public class FileDigest {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final long size;
+    private final HashCode hash;
+
+    /**
+     * Reads file and computes its digest
+     *
+     * @param file file to read
+     * @return digest of file
+     * @throws IOException if reading failed
+     */
+    public static FileDigest of(Path file) throws IOException {
+        try (FileChannel source = FileChannel.open(file, READ)) {
+            return transfer(source, null);
+        }
+    }
+
+    /**
+     * Copies file to the new location and computes its digest while copying, so the file is read only once.
+     *
+     * @param file            source file
+     * @param newFileLocation place, where copy of file will be stored
+     * @return digest of file
+     * @throws FileAlreadyExistsException if new file location already exists
+     * @throws IOException                if copying failed
+     */
+    public static FileDigest copy(Path file, Path newFileLocation) throws IOException {
+        try (FileChannel source = FileChannel.open(file, READ);
+             FileChannel target = FileChannel.open(newFileLocation, CREATE_NEW, WRITE)) {
+            return transfer(source, target);
+        }
+    }
+
+    private static FileDigest transfer(FileChannel source, FileChannel target) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        long size = 0;
+        while (source.read(buffer) != -1) {
+            buffer.flip();
+            size += buffer.remaining();
+            hasher.putBytes(buffer.duplicate());
+            while (target != null && buffer.hasRemaining()) {
+                target.write(buffer);
+            }
+            buffer.clear();
+        }
+        return new FileDigest(size, hasher.hash());
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.wrike.merger.copy;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+
+/**
+ * Bean for storing a pair of files, which have the same relative path, but different content
+ *
+ * @author agent on 18.10.2026
+ */
+@Data
+public class FilesConflict {
+
+    private final Path firstPath;
+    private final Path secondPath;
+
+    /**
+     * Creates conflict with ordered paths, so the conflict does not depend on the order of arguments.
+     *
+     * @param path      one of the conflicting files
+     * @param otherPath another conflicting file
+     * @return conflict between files
+     */
+    public static FilesConflict of(Path path, Path otherPath) {
+        if (path.compareTo(otherPath) <= 0) {
+            return new FilesConflict(path, otherPath);
+        }
+        return new FilesConflict(otherPath, path);
+    }
+
+}
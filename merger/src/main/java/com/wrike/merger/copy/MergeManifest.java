@@ -0,0 +1,136 @@
+package com.wrike.merger.copy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Thread-safe manifest of the merged module, which maps every target file to {@link SourceFingerprint}
+ * of the source file copied to it.
+ * <p>
+ * The manifest is stored with the merged module. On the next run it is used to copy only added or changed files
+ * and to delete files, whose sources were removed.
+ * Paths are stored relative to the project root, so the manifest does not depend on the checkout location.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class MergeManifest {
+
+    private static final Logger LOG = LogManager.getLogger(MergeManifest.class);
+    private static final int FORMAT_VERSION = 1;
+
+    private final Map<Path, SourceFingerprint> targetsToSources = new ConcurrentHashMap<>();
+    private final Set<Path> targetDirectories = ConcurrentHashMap.newKeySet();
+
+    public void put(Path target, SourceFingerprint sourceFingerprint) {
+        targetsToSources.put(target, sourceFingerprint);
+    }
+
+    /**
+     * @param target target file
+     * @return fingerprint of source file or null, if target is absent in the manifest
+     */
+    public SourceFingerprint get(Path target) {
+        return targetsToSources.get(target);
+    }
+
+    /**
+     * Adds target directory. Directories are used only during the current merge and are not written to file.
+     *
+     * @param targetDirectory target directory
+     */
+    public void addDirectory(Path targetDirectory) {
+        targetDirectories.add(targetDirectory);
+    }
+
+    public boolean containsDirectory(Path targetDirectory) {
+        return targetDirectories.contains(targetDirectory);
+    }
+
+    /**
+     * @return unmodifiable view of target files
+     */
+    public Set<Path> getTargets() {
+        return Collections.unmodifiableSet(targetsToSources.keySet());
+    }
+
+    public int size() {
+        return targetsToSources.size();
+    }
+
+    /**
+     * @param otherManifest manifest of the later merge
+     * @return targets, which are present in this manifest, but absent in the other one
+     */
+    public Set<Path> getTargetsAbsentIn(MergeManifest otherManifest) {
+        return targetsToSources.keySet().stream()
+                .filter(target -> !otherManifest.targetsToSources.containsKey(target))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Writes manifest to file
+     *
+     * @param manifestFile      file to write
+     * @param pathToProjectRoot root, which paths are relative to
+     * @throws IOException if writing failed
+     */
+    public void write(Path manifestFile, Path pathToProjectRoot) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(manifestFile)))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(targetsToSources.size());
+            for (Map.Entry<Path, SourceFingerprint> targetToSource : targetsToSources.entrySet()) {
+                SourceFingerprint sourceFingerprint = targetToSource.getValue();
+                output.writeUTF(pathToProjectRoot.relativize(targetToSource.getKey()).toString());
+                output.writeUTF(pathToProjectRoot.relativize(sourceFingerprint.getSource()).toString());
+                output.writeLong(sourceFingerprint.getSize());
+                output.writeLong(sourceFingerprint.getLastModifiedNanos());
+            }
+        }
+    }
+
+    /**
+     * Reads manifest from file.
+     *
+     * @param manifestFile      file to read
+     * @param pathToProjectRoot root, which paths are relative to
+     * @return manifest or empty optional, if file does not exist or can't be read
+     */
+    public static Optional<MergeManifest> read(Path manifestFile, Path pathToProjectRoot) {
+        if (!Files.isRegularFile(manifestFile)) {
+            return Optional.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(manifestFile)))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                LOG.info("Manifest `{}` has unsupported format", manifestFile);
+                return Optional.empty();
+            }
+            MergeManifest manifest = new MergeManifest();
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) {
+                Path target = pathToProjectRoot.resolve(input.readUTF());
+                Path source = pathToProjectRoot.resolve(input.readUTF());
+                manifest.put(target, new SourceFingerprint(source, input.readLong(), input.readLong()));
+            }
+            return Optional.of(manifest);
+        } catch (IOException e) {
+            LOG.info("Manifest `{}` can't be read", manifestFile, e);
+            return Optional.empty();
+        }
+    }
+
+}
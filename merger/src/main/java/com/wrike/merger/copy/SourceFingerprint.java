@@ -0,0 +1,27 @@
+package com.wrike.merger.copy;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean for storing a cheap fingerprint of source file, which was copied to the merged module.
+ * It is taken from file attributes without reading the file.
+ *
+ * @author agent on 18.10.2026
+ * @see MergeManifest
+ */
+@Data
+public class SourceFingerprint {
+
+    private final Path source;
+    private final long size;
+    private final long lastModifiedNanos;
+
+    public static SourceFingerprint of(Path source, BasicFileAttributes attributes) {
+        return new SourceFingerprint(source, attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+    }
+
+}
@@ -0,0 +1,358 @@
+package com.wrike.merger.graph;
+
+import com.wrike.merger.pom.EffectivePomModel;
+import com.wrike.merger.pom.EffectivePomModelResolver;
+import com.wrike.merger.pom.ParallelPomReader;
+import com.wrike.merger.pom.PomCache;
+import com.wrike.merger.pom.PomModel;
+import com.wrike.merger.pom.StreamingPomParser;
+import com.wrike.merger.pom.bean.Dependency;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.wrike.merger.pom.AbstractPomParser.POM_FILENAME;
+
+/**
+ * Graph of dependencies between modules of the reactor.
+ * <p>
+ * Modules are matched with dependencies by groupId and artifactId, which are resolved by {@link EffectivePomModelResolver},
+ * so dependencies of all scopes on modules with coordinates from properties or parents are found too.
+ * Dependencies on artifacts, which are not modules of the graph, are ignored.
+ * </p>
+ * <p>
+ * Strongly connected components are computed once with the iterative Tarjan algorithm,
+ * and the reachability is computed over the components, so every query is linear in the size of the graph.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class ModulesGraph {
+
+    private static final Logger LOG = LogManager.getLogger(ModulesGraph.class);
+
+    private final List<Path> modules;
+    private final Map<Path, Integer> modulesIndexes = new HashMap<>();
+    private final Map<Path, Dependency> modulesCoordinates;
+    private final int[][] dependencies;
+    private final List<int[]> components;
+
+    private ModulesGraph(Map<Path, Dependency> modulesCoordinates, Map<Path, Set<Dependency>> modulesDependencies) {
+        modules = modulesCoordinates.keySet().stream()
+                .sorted()
+                .collect(Collectors.toList());
+        this.modulesCoordinates = new HashMap<>(modulesCoordinates);
+        Map<Dependency, Integer> modulesByCoordinates = new HashMap<>();
+        for (int i = 0; i < modules.size(); i++) {
+            Path module = modules.get(i);
+            Dependency coordinates = modulesCoordinates.get(module);
+            modulesIndexes.put(module, i);
+            Integer sameModule = modulesByCoordinates.putIfAbsent(coordinates, i);
+            if (sameModule != null) {
+                LOG.warn("Modules `{}` and `{}` have the same coordinates `{}:{}`", modules.get(sameModule), module,
+                        coordinates.getGroupId(), coordinates.getArtifactId());
+            }
+        }
+        dependencies = new int[modules.size()][];
+        for (int i = 0; i < modules.size(); i++) {
+            int module = i;
+            dependencies[i] = modulesDependencies.getOrDefault(modules.get(i), Set.of()).stream()
+                    .map(modulesByCoordinates::get)
+                    .filter(dependency -> dependency != null && dependency != module)
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .sorted()
+                    .toArray();
+        }
+        components = computeComponents();
+    }
+
+    /**
+     * @param modulesCoordinates  map from modules paths to their groupId and artifactId
+     * @param modulesDependencies map from modules paths to their dependencies
+     * @return graph of modules
+     */
+    public static ModulesGraph of(Map<Path, Dependency> modulesCoordinates, Map<Path, Set<Dependency>> modulesDependencies) {
+        return new ModulesGraph(modulesCoordinates, modulesDependencies);
+    }
+
+    /**
+     * @param modulesPomModels map from modules paths to effective models of their poms
+     * @return graph of modules
+     */
+    public static ModulesGraph of(Map<Path, EffectivePomModel> modulesPomModels) {
+        Map<Path, Dependency> modulesCoordinates = new HashMap<>();
+        Map<Path, Set<Dependency>> modulesDependencies = new HashMap<>();
+        modulesPomModels.forEach((modulePath, pomModel) -> {
+            modulesCoordinates.put(modulePath, Dependency.builder()
+                    .groupId(pomModel.getGroupId())
+                    .artifactId(pomModel.getArtifactId())
+                    .version(pomModel.getVersion())
+                    .build());
+            modulesDependencies.put(modulePath, pomModel.getDependencies());
+        });
+        return new ModulesGraph(modulesCoordinates, modulesDependencies);
+    }
+
+    /**
+     * Reads poms of modules concurrently and builds graph of them
+     *
+     * @param modulesPaths    paths to modules
+     * @param pomReader       reader, which parses poms
+     * @param pomModelFactory reads model of pom file, for example, with {@link PomCache#getPomModel(Path)}
+     * @return graph of modules
+     */
+    public static ModulesGraph read(Set<Path> modulesPaths, ParallelPomReader pomReader, Function<Path, PomModel> pomModelFactory) {
+        List<Path> sortedModulesPaths = modulesPaths.stream()
+                .sorted()
+                .collect(Collectors.toList());
+        List<Path> pomFiles = sortedModulesPaths.stream()
+                .map(modulePath -> modulePath.resolve(POM_FILENAME))
+                .collect(Collectors.toList());
+        List<PomModel> pomModels = ParallelPomReader.await(pomReader.readAll(pomFiles, pomModelFactory));
+        EffectivePomModelResolver effectivePomModelResolver = new EffectivePomModelResolver(pomModelFactory);
+        Map<Path, EffectivePomModel> modulesPomModels = new HashMap<>();
+        for (int i = 0; i < sortedModulesPaths.size(); i++) {
+            modulesPomModels.put(sortedModulesPaths.get(i), effectivePomModelResolver.resolve(pomFiles.get(i), pomModels.get(i)));
+        }
+        return of(modulesPomModels);
+    }
+
+    /**
+     * Reads poms of modules with {@link StreamingPomParser} like {@link #read(Set, ParallelPomReader, Function)}
+     *
+     * @param modulesPaths paths to modules
+     * @param pomReader    reader, which parses poms
+     * @return graph of modules
+     */
+    public static ModulesGraph read(Set<Path> modulesPaths, ParallelPomReader pomReader) {
+        return read(modulesPaths, pomReader, pomFile -> PomModel.of(new StreamingPomParser(pomFile)));
+    }
+
+    /**
+     * @return sorted paths to modules of the graph
+     */
+    public List<Path> getModules() {
+        return Collections.unmodifiableList(modules);
+    }
+
+    /**
+     * @param modulePath path to module
+     * @return groupId, artifactId and version of module or null, if it is not a module of the graph
+     */
+    public Dependency getCoordinates(Path modulePath) {
+        return modulesCoordinates.get(modulePath);
+    }
+
+    /**
+     * @param modulePath path to module
+     * @return modules, which the module depends on directly
+     */
+    public Set<Path> getDependencies(Path modulePath) {
+        Integer module = modulesIndexes.get(modulePath);
+        if (module == null) {
+            return Set.of();
+        }
+        return Arrays.stream(dependencies[module])
+                .mapToObj(modules::get)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * @return strongly connected components, every component is after all components, which depend on it
+     */
+    public List<Set<Path>> getStronglyConnectedComponents() {
+        List<Set<Path>> stronglyConnectedComponents = new ArrayList<>(components.size());
+        for (int i = components.size() - 1; i >= 0; i--) {
+            stronglyConnectedComponents.add(toModules(components.get(i)));
+        }
+        return stronglyConnectedComponents;
+    }
+
+    /**
+     * @return components of modules, which depend on each other, Maven can't build them
+     */
+    public List<Set<Path>> getCycles() {
+        return getStronglyConnectedComponents().stream()
+                .filter(component -> component.size() > 1)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds modules, which are reachable from the given modules through any modules of the graph
+     *
+     * @param modulesPaths paths to modules
+     * @return map from every given module of the graph to the given modules, which it depends on directly or transitively.
+     * A module depends on itself, only if it is in a cycle
+     */
+    public Map<Path, Set<Path>> getReachableModules(Set<Path> modulesPaths) {
+        List<Path> targets = modulesPaths.stream()
+                .filter(modulesIndexes::containsKey)
+                .sorted()
+                .collect(Collectors.toList());
+        BitSet[] reachableTargets = computeReachableTargets(targets);
+        Map<Path, Set<Path>> reachableModules = new LinkedHashMap<>();
+        for (Path target : targets) {
+            reachableModules.put(target, reachableTargets[modulesIndexes.get(target)].stream()
+                    .mapToObj(targets::get)
+                    .collect(Collectors.toCollection(TreeSet::new)));
+        }
+        return reachableModules;
+    }
+
+    /**
+     * Finds modules, which are not in the group, but depend on modules of the group, while other modules of the group
+     * depend on them. If the group is merged into one module, the merged module and such modules form a cycle.
+     *
+     * @param group paths to modules of group
+     * @return sorted modules, which are between modules of the group
+     */
+    public Set<Path> getModulesBetween(Set<Path> group) {
+        List<Path> targets = group.stream()
+                .filter(modulesIndexes::containsKey)
+                .sorted()
+                .collect(Collectors.toList());
+        BitSet[] reachableTargets = computeReachableTargets(targets);
+        BitSet reachableFromGroup = new BitSet(modules.size());
+        Deque<Integer> modulesToVisit = new ArrayDeque<>();
+        for (Path target : targets) {
+            int module = modulesIndexes.get(target);
+            for (int dependency : dependencies[module]) {
+                if (!reachableFromGroup.get(dependency)) {
+                    reachableFromGroup.set(dependency);
+                    modulesToVisit.push(dependency);
+                }
+            }
+        }
+        while (!modulesToVisit.isEmpty()) {
+            for (int dependency : dependencies[modulesToVisit.pop()]) {
+                if (!reachableFromGroup.get(dependency)) {
+                    reachableFromGroup.set(dependency);
+                    modulesToVisit.push(dependency);
+                }
+            }
+        }
+        return reachableFromGroup.stream()
+                .filter(module -> !group.contains(modules.get(module)) && !reachableTargets[module].isEmpty())
+                .mapToObj(modules::get)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    /**
+     * Computes targets, which are reachable from every module. Components are ordered by Tarjan algorithm,
+     * so every component is processed after all components, which it depends on.
+     *
+     * @param targets sorted paths to target modules
+     * @return array with bits of reachable targets for every module
+     */
+    private BitSet[] computeReachableTargets(List<Path> targets) {
+        int[] targetsIndexes = new int[modules.size()];
+        Arrays.fill(targetsIndexes, -1);
+        for (int i = 0; i < targets.size(); i++) {
+            targetsIndexes[modulesIndexes.get(targets.get(i))] = i;
+        }
+        BitSet[] reachableTargets = new BitSet[modules.size()];
+        for (int[] component : components) {
+            BitSet componentReachableTargets = new BitSet(targets.size());
+            boolean cycle = component.length > 1;
+            for (int module : component) {
+                for (int dependency : dependencies[module]) {
+                    if (reachableTargets[dependency] == null) {
+                        continue;
+                    }
+                    componentReachableTargets.or(reachableTargets[dependency]);
+                    if (targetsIndexes[dependency] >= 0) {
+                        componentReachableTargets.set(targetsIndexes[dependency]);
+                    }
+                }
+                if (cycle && targetsIndexes[module] >= 0) {
+                    componentReachableTargets.set(targetsIndexes[module]);
+                }
+            }
+            for (int module : component) {
+                reachableTargets[module] = componentReachableTargets;
+            }
+        }
+        return reachableTargets;
+    }
+
+    /**
+     * Computes strongly connected components with the iterative Tarjan algorithm, so deep chains don't overflow the stack
+     *
+     * @return components, every component is after all components, which it depends on
+     */
+    private List<int[]> computeComponents() {
+        int size = modules.size();
+        int[] indexes = new int[size];
+        int[] lowLinks = new int[size];
+        boolean[] onStack = new boolean[size];
+        Arrays.fill(indexes, -1);
+        Deque<Integer> stack = new ArrayDeque<>();
+        Deque<int[]> callStack = new ArrayDeque<>();
+        List<int[]> computedComponents = new ArrayList<>();
+        int index = 0;
+        for (int start = 0; start < size; start++) {
+            if (indexes[start] != -1) {
+                continue;
+            }
+            indexes[start] = lowLinks[start] = index++;
+            stack.push(start);
+            onStack[start] = true;
+            callStack.push(new int[]{start, 0});
+            while (!callStack.isEmpty()) {
+                int[] frame = callStack.peek();
+                int module = frame[0];
+                if (frame[1] < dependencies[module].length) {
+                    int dependency = dependencies[module][frame[1]++];
+                    if (indexes[dependency] == -1) {
+                        indexes[dependency] = lowLinks[dependency] = index++;
+                        stack.push(dependency);
+                        onStack[dependency] = true;
+                        callStack.push(new int[]{dependency, 0});
+                    } else if (onStack[dependency]) {
+                        lowLinks[module] = Math.min(lowLinks[module], indexes[dependency]);
+                    }
+                    continue;
+                }
+                callStack.pop();
+                if (!callStack.isEmpty()) {
+                    int caller = callStack.peek()[0];
+                    lowLinks[caller] = Math.min(lowLinks[caller], lowLinks[module]);
+                }
+                if (lowLinks[module] == indexes[module]) {
+                    List<Integer> component = new ArrayList<>();
+                    int member;
+                    do {
+                        member = stack.pop();
+                        onStack[member] = false;
+                        component.add(member);
+                    } while (member != module);
+                    computedComponents.add(component.stream().mapToInt(Integer::intValue).sorted().toArray());
+                }
+            }
+        }
+        return computedComponents;
+    }
+
+    private Set<Path> toModules(int[] component) {
+        return Arrays.stream(component)
+                .mapToObj(modules::get)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.wrike.merger.input;
+
+import com.wrike.merger.MavenModulesMerger;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Contains weights of modules, which {@link MavenModulesMerger} uses to balance modules between several merged modules.
+ *
+ * <p>
+ * {@link #TEST_CLASSES} weight is the number of test classes in merged directories of module.
+ * Test classes are recognized by names like the default includes of surefire plugin do:
+ * {@code Test*}, {@code *Test}, {@code *Tests} and {@code *TestCase}.
+ * </p>
+ * <p>
+ * {@link #SOURCE_SIZE} weight is the total size of files in merged directories of module.
+ * </p>
+ * <p>
+ * {@link #DURATION} weight is the total duration of module tests from surefire reports of the previous build.
+ * Durations are kept between builds, so modules, which have no reports now, use the last known duration.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+@Getter
+@AllArgsConstructor
+public enum BucketWeight {
+
+    TEST_CLASSES("test-classes"),
+    SOURCE_SIZE("source-size"),
+    DURATION("duration");
+
+    private final String bucketWeightName;
+
+    private static final Map<String, BucketWeight> bucketWeightNamesToEnumValues = Arrays.stream(BucketWeight.values())
+            .collect(Collectors.toMap(BucketWeight::getBucketWeightName, Function.identity()));
+
+    public static Optional<BucketWeight> getBucketWeightByName(String bucketWeightName) {
+        return Optional.ofNullable(bucketWeightNamesToEnumValues.get(bucketWeightName));
+    }
+
+    public static Set<String> getAllSupportedBucketWeightNames() {
+        return Set.copyOf(bucketWeightNamesToEnumValues.keySet());
+    }
+
+}
@@ -11,9 +11,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static com.wrike.merger.input.BucketWeight.getAllSupportedBucketWeightNames;
+import static com.wrike.merger.input.LinkStrategy.getAllSupportedLinkStrategyNames;
 import static com.wrike.merger.input.MergeMode.getAllSupportedMergeModeNames;
+import static com.wrike.merger.input.ShardStrategy.getAllSupportedShardStrategyNames;
 
 /**
  * {@link InputParser} parses arguments for the {@link MavenModulesMerger}.
@@ -28,6 +33,9 @@ import static com.wrike.merger.input.MergeMode.getAllSupportedMergeModeNames;
  *         <li>mergeMode - merge mode from {@link MergeMode#getAllSupportedMergeModeNames} set.</li>
  *     </ol>
  * <p>
+ * The mandatory arguments can be followed by optional {@link MergeOptions} in the {@code --name=value} format.
+ * </p>
+ * <p>
  * After parsing the next values will be returned:
  * </p>
  *     <ol>
@@ -35,15 +43,19 @@ import static com.wrike.merger.input.MergeMode.getAllSupportedMergeModeNames;
  *         <li>pathToProjectRoot - string pathToProjectRoot from the input as {@link Path}</li>
  *         <li>pathToOutputFile - string pathToOutputFile from the input as {@link Path}</li>
  *         <li>mergeMode - {@link MergeMode} value, matched to given input</li>
+ *         <li>mergeOptions - {@link MergeOptions} with given values of options and default values for the rest</li>
  *     </ol>
  * <p>
  * It throws an exception in the following cases:
  * </p>
  *     <ul>
- *         <li>The number of arguments != 4</li>
+ *         <li>The number of arguments &lt; 4</li>
  *         <li>One of arguments is null or empty</li>
  *         <li>pathToProjectRoot does not exist</li>
  *         <li>{@link MergeMode#getAllSupportedMergeModeNames} set does not contain given mergeMode</li>
+ *         <li>Option is unknown or has an illegal value</li>
+ *         <li>Options can't be used together</li>
+ *         <li>{@link LinkStrategy#LINK} strategy is used in {@link MergeMode#TARGET} mode</li>
  *     </ul>
  *
  * @author daniil.shylko on 26.08.2022
@@ -53,15 +65,18 @@ import static com.wrike.merger.input.MergeMode.getAllSupportedMergeModeNames;
 public class InputParser {
 
     private static final Logger LOG = LogManager.getLogger(InputParser.class);
+    private static final int MANDATORY_ARGUMENTS_NUMBER = 4;
+    private static final Pattern OPTION_PATTERN = Pattern.compile("--([a-z-]+)=(.*)");
 
     private final Set<String> modulesNames;
     private final Path pathToProjectRoot;
     private final Path pathToOutputFile;
     private final MergeMode mergeMode;
+    private final MergeOptions mergeOptions;
 
     public InputParser(String... args) {
-        if (args.length != 4) {
-            throw new MavenModulesMergerException("You should pass only four arguments" +
+        if (args.length < MANDATORY_ARGUMENTS_NUMBER) {
+            throw new MavenModulesMergerException("You should pass at least four arguments" +
                     " - modulesList, pathToProjectRoot, pathToOutputFile and mergeMode");
         }
         String modulesListInput = args[0];
@@ -74,6 +89,12 @@ public class InputParser {
         pathToProjectRoot = parsePathToProjectRoot(pathToProjectRootInput);
         pathToOutputFile = parsePathToOutputFile(pathToOutputFileInput);
         mergeMode = parseMergeMode(mergeModeInput);
+        mergeOptions = parseMergeOptions(Arrays.copyOfRange(args, MANDATORY_ARGUMENTS_NUMBER, args.length));
+        if (mergeMode == MergeMode.TARGET && mergeOptions.getLinkStrategy() == LinkStrategy.LINK) {
+            throw new MavenModulesMergerException(String.format("`%s` %s can't be used in `%s` merge mode," +
+                            " because building of the merged module rewrites linked compiled files of modules",
+                    LinkStrategy.LINK.getLinkStrategyName(), MergeOptions.LINK_STRATEGY, MergeMode.TARGET.getMergeModeName()));
+        }
     }
 
     /**
@@ -117,4 +138,125 @@ public class InputParser {
                         String.format("Only %s merge modes are supported, but you provided `%s`", getAllSupportedMergeModeNames(), mergeMode)));
     }
 
+    /**
+     * Parses options in the {@code --name=value} format. Options, which are not passed, have default values.
+     *
+     * @param options options from the input
+     * @return parsed options
+     */
+    private static MergeOptions parseMergeOptions(String... options) {
+        MergeOptions.MergeOptionsBuilder mergeOptionsBuilder = MergeOptions.builder();
+        for (String option : options) {
+            Matcher optionMatcher = OPTION_PATTERN.matcher(option);
+            if (!optionMatcher.matches()) {
+                throw new MavenModulesMergerException(String.format("Option `%s` should have the `--name=value` format", option));
+            }
+            String optionName = optionMatcher.group(1);
+            String optionValue = optionMatcher.group(2);
+            LOG.info("Option parsing. {} = `{}`", optionName, optionValue);
+            switch (optionName) {
+                case MergeOptions.PARALLELISM:
+                    mergeOptionsBuilder.parallelism(parsePositiveInt(optionName, optionValue));
+                    break;
+                case MergeOptions.POM_PARALLELISM:
+                    mergeOptionsBuilder.pomParallelism(parsePositiveInt(optionName, optionValue));
+                    break;
+                case MergeOptions.LINK_STRATEGY:
+                    mergeOptionsBuilder.linkStrategy(parseLinkStrategy(optionValue));
+                    break;
+                case MergeOptions.INCREMENTAL:
+                    mergeOptionsBuilder.incremental(parseBoolean(optionName, optionValue));
+                    break;
+                case MergeOptions.MEMOIZE:
+                    mergeOptionsBuilder.memoize(parseBoolean(optionName, optionValue));
+                    break;
+                case MergeOptions.POM_CACHE:
+                    mergeOptionsBuilder.pomCache(parseBoolean(optionName, optionValue));
+                    break;
+                case MergeOptions.BUCKETS:
+                    mergeOptionsBuilder.buckets(parsePositiveInt(optionName, optionValue));
+                    break;
+                case MergeOptions.BUCKET_WEIGHT:
+                    mergeOptionsBuilder.bucketWeight(parseBucketWeight(optionValue));
+                    break;
+                case MergeOptions.SHARDS:
+                    mergeOptionsBuilder.shards(parsePositiveInt(optionName, optionValue));
+                    break;
+                case MergeOptions.SHARD_STRATEGY:
+                    mergeOptionsBuilder.shardStrategy(parseShardStrategy(optionValue));
+                    break;
+                case MergeOptions.PLAN:
+                    mergeOptionsBuilder.planFile(parsePath(optionName, optionValue));
+                    break;
+                case MergeOptions.APPLY_PLAN:
+                    mergeOptionsBuilder.appliedPlanFile(parsePath(optionName, optionValue));
+                    break;
+                case MergeOptions.CONFLICTS_REPORT:
+                    mergeOptionsBuilder.conflictsReportFile(parsePath(optionName, optionValue));
+                    break;
+                case MergeOptions.TEST_INVENTORY:
+                    mergeOptionsBuilder.testInventoryFile(parsePath(optionName, optionValue));
+                    break;
+                default:
+                    throw new MavenModulesMergerException(String.format("Unknown option `%s`", optionName));
+            }
+        }
+        MergeOptions mergeOptions = mergeOptionsBuilder.build();
+        if (mergeOptions.getPlanFile() != null && mergeOptions.getAppliedPlanFile() != null) {
+            throw new MavenModulesMergerException(String.format("`%s` and `%s` options can't be used together", MergeOptions.PLAN, MergeOptions.APPLY_PLAN));
+        }
+        if (mergeOptions.getAppliedPlanFile() != null && mergeOptions.isIncremental()) {
+            throw new MavenModulesMergerException(String.format("`%s` and `%s` options can't be used together", MergeOptions.APPLY_PLAN, MergeOptions.INCREMENTAL));
+        }
+        if (mergeOptions.getBuckets() > 1 && (mergeOptions.getPlanFile() != null || mergeOptions.getAppliedPlanFile() != null)) {
+            throw new MavenModulesMergerException(String.format("`%s` option can't be used with `%s` and `%s` options",
+                    MergeOptions.BUCKETS, MergeOptions.PLAN, MergeOptions.APPLY_PLAN));
+        }
+        return mergeOptions;
+    }
+
+    private static LinkStrategy parseLinkStrategy(String linkStrategy) {
+        return LinkStrategy.getLinkStrategyByName(linkStrategy)
+                .orElseThrow(() -> new MavenModulesMergerException(
+                        String.format("Only %s link strategies are supported, but you provided `%s`", getAllSupportedLinkStrategyNames(), linkStrategy)));
+    }
+
+    private static BucketWeight parseBucketWeight(String bucketWeight) {
+        return BucketWeight.getBucketWeightByName(bucketWeight)
+                .orElseThrow(() -> new MavenModulesMergerException(
+                        String.format("Only %s bucket weights are supported, but you provided `%s`", getAllSupportedBucketWeightNames(), bucketWeight)));
+    }
+
+    private static ShardStrategy parseShardStrategy(String shardStrategy) {
+        return ShardStrategy.getShardStrategyByName(shardStrategy)
+                .orElseThrow(() -> new MavenModulesMergerException(
+                        String.format("Only %s shard strategies are supported, but you provided `%s`", getAllSupportedShardStrategyNames(), shardStrategy)));
+    }
+
+    private static boolean parseBoolean(String optionName, String optionValue) {
+        if ("true".equals(optionValue) || "false".equals(optionValue)) {
+            return Boolean.parseBoolean(optionValue);
+        }
+        throw new MavenModulesMergerException(String.format("`%s` option should be true or false, but you provided `%s`", optionName, optionValue));
+    }
+
+    private static Path parsePath(String optionName, String optionValue) {
+        if (optionValue.isEmpty()) {
+            throw new MavenModulesMergerException(String.format("`%s` option can't be empty", optionName));
+        }
+        return Path.of(optionValue);
+    }
+
+    private static int parsePositiveInt(String optionName, String optionValue) {
+        try {
+            int value = Integer.parseInt(optionValue);
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+            // the error is reported below
+        }
+        throw new MavenModulesMergerException(String.format("`%s` option should be a positive number, but you provided `%s`", optionName, optionValue));
+    }
+
 }
@@ -0,0 +1,49 @@
+package com.wrike.merger.input;
+
+import com.wrike.merger.MavenModulesMerger;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Contains strategies, which {@link MavenModulesMerger} uses to put files of merged modules into the merged module.
+ *
+ * <p>
+ * {@link #COPY} strategy copies every file.
+ * </p>
+ * <p>
+ * {@link #LINK} strategy creates a hard link to every file. If it is impossible, for example, across devices,
+ * the file is copied. Linked files must not be edited, because the merged module shares them with modules,
+ * so the strategy can't be used in {@link MergeMode#TARGET} mode, where building of the merged module rewrites
+ * compiled files.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+@Getter
+@AllArgsConstructor
+public enum LinkStrategy {
+
+    COPY("copy"),
+    LINK("link");
+
+    private final String linkStrategyName;
+
+    private static final Map<String, LinkStrategy> linkStrategyNamesToEnumValues = Arrays.stream(LinkStrategy.values())
+            .collect(Collectors.toMap(LinkStrategy::getLinkStrategyName, Function.identity()));
+
+    public static Optional<LinkStrategy> getLinkStrategyByName(String linkStrategyName) {
+        return Optional.ofNullable(linkStrategyNamesToEnumValues.get(linkStrategyName));
+    }
+
+    public static Set<String> getAllSupportedLinkStrategyNames() {
+        return Set.copyOf(linkStrategyNamesToEnumValues.keySet());
+    }
+
+}
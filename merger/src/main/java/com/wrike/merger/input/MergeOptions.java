@@ -0,0 +1,98 @@
+package com.wrike.merger.input;
+
+import com.wrike.merger.MavenModulesMerger;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Optional settings of {@link MavenModulesMerger}.
+ * <p>
+ * Options are passed after the mandatory arguments in the {@code --name=value} format
+ * and are parsed by {@link InputParser}. Every option has a default value, so all of them can be omitted.
+ * </p>
+ * <ul>
+ *     <li>{@code --parallelism} - number of threads, which copy files of merged modules.
+ *     The default value is the number of available processors.</li>
+ *     <li>{@code --pom-parallelism} - number of threads, which parse poms of merged modules while their files are copied.
+ *     The default value is the number of available processors.</li>
+ *     <li>{@code --link-strategy} - {@link LinkStrategy} name, which is used to put files into the merged module.
+ *     The default value is {@link LinkStrategy#COPY}. {@link LinkStrategy#LINK} can't be used in {@link MergeMode#TARGET} mode.</li>
+ *     <li>{@code --incremental} - if true, the existing merged module is reused, and only added or changed files
+ *     are copied to it. The default value is false.</li>
+ *     <li>{@code --memoize} - if true, the merge is skipped, when the merged module was created from the same inputs.
+ *     The default value is false.</li>
+ *     <li>{@code --pom-cache} - if true, values extracted from poms of merged modules are cached in the {@code target}
+ *     directory of the project, so unchanged poms are not parsed on the next run. The default value is false.</li>
+ *     <li>{@code --buckets} - number of merged modules, which modules are balanced between. If it is 1, modules are merged
+ *     into {@code merged_modules}, otherwise into {@code merged_modules_1} ... {@code merged_modules_N}. The number is reduced
+ *     to the half of modules to merge, if there are not enough of them. The default value is 1.</li>
+ *     <li>{@code --bucket-weight} - {@link BucketWeight} name, which is used to balance modules between merged modules.
+ *     The default value is {@link BucketWeight#TEST_CLASSES}.</li>
+ *     <li>{@code --shards} - number of files, which the output modules list is split into, one file per CI node.
+ *     If it is more than 1, the shard files are written next to the output file with the number of shard in the name,
+ *     and the output file contains all modules. The default value is 1.</li>
+ *     <li>{@code --shard-strategy} - {@link ShardStrategy} name, which is used to split modules between shards.
+ *     The default value is {@link ShardStrategy#HASH}.</li>
+ *     <li>{@code --test-inventory} - path to file, where test classes of merged modules are written
+ *     with their origin modules and sizes, so tests of a merged module can be split between CI nodes.</li>
+ *     <li>{@code --plan} - path to file, where the merge plan is written instead of merging.
+ *     The plan contains files to merge, dependencies of the merged module and all conflicts.</li>
+ *     <li>{@code --apply-plan} - path to the plan file, by which files are merged without walking modules directories.</li>
+ *     <li>{@code --conflicts-report} - path to file, where all conflicts in files content and dependencies versions
+ *     are written, so the merge fails once after collecting all of them.</li>
+ * </ul>
+ * <p>
+ * {@link InputParser} rejects the following combinations of options:
+ * </p>
+ * <ul>
+ *     <li>{@code --plan} with {@code --apply-plan}</li>
+ *     <li>{@code --apply-plan} with {@code --incremental=true}</li>
+ *     <li>{@code --buckets} more than 1 with {@code --plan} or {@code --apply-plan}</li>
+ * </ul>
+ *
+ * @author agent on 18.10.2026
+ */
+@Getter
+@Builder
+public class MergeOptions {
+
+    public static final String PARALLELISM = "parallelism";
+    public static final String POM_PARALLELISM = "pom-parallelism";
+    public static final String LINK_STRATEGY = "link-strategy";
+    public static final String INCREMENTAL = "incremental";
+    public static final String MEMOIZE = "memoize";
+    public static final String POM_CACHE = "pom-cache";
+    public static final String BUCKETS = "buckets";
+    public static final String BUCKET_WEIGHT = "bucket-weight";
+    public static final String SHARDS = "shards";
+    public static final String SHARD_STRATEGY = "shard-strategy";
+    public static final String PLAN = "plan";
+    public static final String APPLY_PLAN = "apply-plan";
+    public static final String CONFLICTS_REPORT = "conflicts-report";
+    public static final String TEST_INVENTORY = "test-inventory";
+
+    @Builder.Default
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    @Builder.Default
+    private final int pomParallelism = Runtime.getRuntime().availableProcessors();
+    @Builder.Default
+    private final LinkStrategy linkStrategy = LinkStrategy.COPY;
+    private final boolean incremental;
+    private final boolean memoize;
+    private final boolean pomCache;
+    @Builder.Default
+    private final int buckets = 1;
+    @Builder.Default
+    private final BucketWeight bucketWeight = BucketWeight.TEST_CLASSES;
+    @Builder.Default
+    private final int shards = 1;
+    @Builder.Default
+    private final ShardStrategy shardStrategy = ShardStrategy.HASH;
+    private final Path planFile;
+    private final Path appliedPlanFile;
+    private final Path conflictsReportFile;
+    private final Path testInventoryFile;
+
+}
@@ -0,0 +1,48 @@
+package com.wrike.merger.input;
+
+import com.wrike.merger.MavenModulesMerger;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Contains strategies, which {@link MavenModulesMerger} uses to split the output modules list between CI nodes.
+ *
+ * <p>
+ * {@link #HASH} strategy assigns every module by the consistent hash of its name, so a module stays on the same node,
+ * whatever other modules are run, and only a small part of modules is moved, when the number of shards is changed.
+ * </p>
+ * <p>
+ * {@link #WEIGHT} strategy balances modules between shards by their {@link BucketWeight},
+ * merged modules are weighed as the sum of modules merged into them.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+@Getter
+@AllArgsConstructor
+public enum ShardStrategy {
+
+    HASH("hash"),
+    WEIGHT("weight");
+
+    private final String shardStrategyName;
+
+    private static final Map<String, ShardStrategy> shardStrategyNamesToEnumValues = Arrays.stream(ShardStrategy.values())
+            .collect(Collectors.toMap(ShardStrategy::getShardStrategyName, Function.identity()));
+
+    public static Optional<ShardStrategy> getShardStrategyByName(String shardStrategyName) {
+        return Optional.ofNullable(shardStrategyNamesToEnumValues.get(shardStrategyName));
+    }
+
+    public static Set<String> getAllSupportedShardStrategyNames() {
+        return Set.copyOf(shardStrategyNamesToEnumValues.keySet());
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.wrike.merger.plan;
+
+import com.wrike.merger.copy.FilesConflict;
+import com.wrike.merger.pom.bean.Dependency;
+import lombok.Data;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Report with all conflicts, which make the merge impossible, so all of them can be fixed at once.
+ * <p>
+ * The report is logged as a summary and can be written as JSON in the following format:
+ * </p>
+ * <pre>{@code
+ * {
+ *   "filesConflicts": [{"firstPath": "module1/src/a.txt", "secondPath": "module2/src/a.txt"}],
+ *   "dependencyConflicts": [{"groupId": "org.company", "artifactId": "artifact",
+ *     "declarations": [{"module": "module1", "version": "1.0"}, {"module": "module2", "version": null}]}]
+ * }
+ * }</pre>
+ * <p>
+ * Paths are written relative to the project root.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+@Data
+public class ConflictsReport {
+
+    private static final Logger LOG = LogManager.getLogger(ConflictsReport.class);
+
+    private final List<FilesConflict> filesConflicts;
+    private final List<DependencyConflict> dependencyConflicts;
+
+    /**
+     * @param conflictsReports reports of several merged modules
+     * @return report with conflicts of all merged modules
+     */
+    public static ConflictsReport combine(List<ConflictsReport> conflictsReports) {
+        return new ConflictsReport(
+                conflictsReports.stream()
+                        .flatMap(conflictsReport -> conflictsReport.getFilesConflicts().stream())
+                        .collect(Collectors.toList()),
+                conflictsReports.stream()
+                        .flatMap(conflictsReport -> conflictsReport.getDependencyConflicts().stream())
+                        .collect(Collectors.toList()));
+    }
+
+    public boolean isEmpty() {
+        return filesConflicts.isEmpty() && dependencyConflicts.isEmpty();
+    }
+
+    /**
+     * Logs every conflict and the number of conflicts
+     *
+     * @param pathToProjectRoot root, which paths are relative to
+     */
+    public void logSummary(Path pathToProjectRoot) {
+        filesConflicts.forEach(filesConflict -> LOG.error("There is a conflict between `{}` and `{}` files",
+                pathToProjectRoot.relativize(filesConflict.getFirstPath()), pathToProjectRoot.relativize(filesConflict.getSecondPath())));
+        dependencyConflicts.forEach(dependencyConflict -> {
+            Dependency dependency = dependencyConflict.getDependencies().get(0);
+            LOG.error("`{}:{}` dependency has different versions in modules:", dependency.getGroupId(), dependency.getArtifactId());
+            for (int i = 0; i < dependencyConflict.getDependencies().size(); i++) {
+                LOG.error("    `{}` - {}", pathToProjectRoot.relativize(dependencyConflict.getModules().get(i)),
+                        dependencyConflict.getDependencies().get(i).getVersion());
+            }
+        });
+        LOG.info("Conflicts in files content: {}, conflicts in dependencies versions: {}", filesConflicts.size(), dependencyConflicts.size());
+    }
+
+    /**
+     * Writes report to file as JSON
+     *
+     * @param reportFile        file to write
+     * @param pathToProjectRoot root, which paths are relative to
+     * @throws IOException if writing failed
+     */
+    public void writeJson(Path reportFile, Path pathToProjectRoot) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(reportFile)) {
+            writer.write("{\n  \"filesConflicts\": [");
+            for (int i = 0; i < filesConflicts.size(); i++) {
+                FilesConflict filesConflict = filesConflicts.get(i);
+                writer.write(i == 0 ? "\n    {" : ",\n    {");
+                writer.write("\"firstPath\": " + toJsonString(pathToProjectRoot.relativize(filesConflict.getFirstPath()).toString()));
+                writer.write(", \"secondPath\": " + toJsonString(pathToProjectRoot.relativize(filesConflict.getSecondPath()).toString()));
+                writer.write("}");
+            }
+            writer.write(filesConflicts.isEmpty() ? "],\n" : "\n  ],\n");
+            writer.write("  \"dependencyConflicts\": [");
+            for (int i = 0; i < dependencyConflicts.size(); i++) {
+                DependencyConflict dependencyConflict = dependencyConflicts.get(i);
+                Dependency dependency = dependencyConflict.getDependencies().get(0);
+                writer.write(i == 0 ? "\n    {" : ",\n    {");
+                writer.write("\"groupId\": " + toJsonString(dependency.getGroupId()));
+                writer.write(", \"artifactId\": " + toJsonString(dependency.getArtifactId()));
+                writer.write(", \"declarations\": [");
+                for (int j = 0; j < dependencyConflict.getDependencies().size(); j++) {
+                    writer.write(j == 0 ? "{" : ", {");
+                    writer.write("\"module\": " + toJsonString(pathToProjectRoot.relativize(dependencyConflict.getModules().get(j)).toString()));
+                    writer.write(", \"version\": " + toJsonString(dependencyConflict.getDependencies().get(j).getVersion()));
+                    writer.write("}");
+                }
+                writer.write("]}");
+            }
+            writer.write(dependencyConflicts.isEmpty() ? "]\n}\n" : "\n  ]\n}\n");
+        }
+    }
+
+    /**
+     * @param value string value or null
+     * @return quoted and escaped JSON string or JSON null
+     */
+    private static String toJsonString(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder jsonString = new StringBuilder("\"");
+        for (char character : value.toCharArray()) {
+            switch (character) {
+                case '"':
+                    jsonString.append("\\\"");
+                    break;
+                case '\\':
+                    jsonString.append("\\\\");
+                    break;
+                case '\n':
+                    jsonString.append("\\n");
+                    break;
+                case '\r':
+                    jsonString.append("\\r");
+                    break;
+                case '\t':
+                    jsonString.append("\\t");
+                    break;
+                default:
+                    if (character < ' ') {
+                        jsonString.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        jsonString.append(character);
+                    }
+            }
+        }
+        return jsonString.append('"').toString();
+    }
+
+}
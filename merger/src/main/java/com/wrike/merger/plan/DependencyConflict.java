@@ -0,0 +1,21 @@
+package com.wrike.merger.plan;
+
+import com.wrike.merger.pom.bean.Dependency;
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Bean for storing the same dependency, which is declared with different versions by merged modules.
+ * The dependency with the given index is declared by the module with the same index.
+ *
+ * @author agent on 18.10.2026
+ */
+@Data
+public class DependencyConflict {
+
+    private final List<Dependency> dependencies;
+    private final List<Path> modules;
+
+}
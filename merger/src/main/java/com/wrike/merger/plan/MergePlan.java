@@ -0,0 +1,181 @@
+package com.wrike.merger.plan;
+
+import com.wrike.merger.copy.FilesConflict;
+import com.wrike.merger.pom.bean.Dependency;
+import com.wrike.merger.pom.bean.DependencyScope;
+import lombok.Data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Complete plan of the merge, which is created without writing anything to the merged module.
+ * <p>
+ * The plan contains merged modules, target directories, files to put into the merged module with their sizes,
+ * dependencies of the merged module and all conflicts, which make the merge impossible.
+ * A plan without conflicts can be applied later without walking modules directories again.
+ * </p>
+ * <p>
+ * Paths are stored relative to the project root, so the plan does not depend on the checkout location.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ * @see MergePlanner
+ */
+@Data
+public class MergePlan {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final Set<Path> modules;
+    private final Set<Path> directories;
+    private final List<PlannedFile> files;
+    private final Set<Dependency> dependencies;
+    private final List<FilesConflict> filesConflicts;
+    private final List<DependencyConflict> dependencyConflicts;
+
+    public boolean hasConflicts() {
+        return !filesConflicts.isEmpty() || !dependencyConflicts.isEmpty();
+    }
+
+    /**
+     * Writes plan to file
+     *
+     * @param planFile          file to write
+     * @param pathToProjectRoot root, which paths are relative to
+     * @throws IOException if writing failed
+     */
+    public void write(Path planFile, Path pathToProjectRoot) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(planFile)))) {
+            output.writeInt(FORMAT_VERSION);
+            writePaths(output, modules, pathToProjectRoot);
+            writePaths(output, directories, pathToProjectRoot);
+            output.writeInt(files.size());
+            for (PlannedFile file : files) {
+                writePath(output, file.getSource(), pathToProjectRoot);
+                writePath(output, file.getTarget(), pathToProjectRoot);
+                output.writeLong(file.getSize());
+            }
+            output.writeInt(dependencies.size());
+            for (Dependency dependency : dependencies) {
+                writeDependency(output, dependency);
+            }
+            output.writeInt(filesConflicts.size());
+            for (FilesConflict filesConflict : filesConflicts) {
+                writePath(output, filesConflict.getFirstPath(), pathToProjectRoot);
+                writePath(output, filesConflict.getSecondPath(), pathToProjectRoot);
+            }
+            output.writeInt(dependencyConflicts.size());
+            for (DependencyConflict dependencyConflict : dependencyConflicts) {
+                output.writeInt(dependencyConflict.getDependencies().size());
+                for (int i = 0; i < dependencyConflict.getDependencies().size(); i++) {
+                    writeDependency(output, dependencyConflict.getDependencies().get(i));
+                    writePath(output, dependencyConflict.getModules().get(i), pathToProjectRoot);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads plan from file
+     *
+     * @param planFile          file to read
+     * @param pathToProjectRoot root, which paths are relative to
+     * @return read plan
+     * @throws IOException if file can't be read or has unsupported format
+     */
+    public static MergePlan read(Path planFile, Path pathToProjectRoot) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(planFile)))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                throw new IOException(String.format("Plan `%s` has unsupported format", planFile));
+            }
+            Set<Path> modules = readPaths(input, pathToProjectRoot);
+            Set<Path> directories = readPaths(input, pathToProjectRoot);
+            int filesSize = input.readInt();
+            List<PlannedFile> files = new ArrayList<>(filesSize);
+            for (int i = 0; i < filesSize; i++) {
+                files.add(new PlannedFile(readPath(input, pathToProjectRoot), readPath(input, pathToProjectRoot), input.readLong()));
+            }
+            int dependenciesSize = input.readInt();
+            Set<Dependency> dependencies = new HashSet<>();
+            for (int i = 0; i < dependenciesSize; i++) {
+                dependencies.add(readDependency(input));
+            }
+            int filesConflictsSize = input.readInt();
+            List<FilesConflict> filesConflicts = new ArrayList<>(filesConflictsSize);
+            for (int i = 0; i < filesConflictsSize; i++) {
+                filesConflicts.add(new FilesConflict(readPath(input, pathToProjectRoot), readPath(input, pathToProjectRoot)));
+            }
+            int dependencyConflictsSize = input.readInt();
+            List<DependencyConflict> dependencyConflicts = new ArrayList<>(dependencyConflictsSize);
+            for (int i = 0; i < dependencyConflictsSize; i++) {
+                DependencyConflict dependencyConflict = new DependencyConflict(new ArrayList<>(), new ArrayList<>());
+                int declarationsSize = input.readInt();
+                for (int j = 0; j < declarationsSize; j++) {
+                    dependencyConflict.getDependencies().add(readDependency(input));
+                    dependencyConflict.getModules().add(readPath(input, pathToProjectRoot));
+                }
+                dependencyConflicts.add(dependencyConflict);
+            }
+            return new MergePlan(modules, directories, files, dependencies, filesConflicts, dependencyConflicts);
+        }
+    }
+
+    private static void writePaths(DataOutputStream output, Set<Path> paths, Path pathToProjectRoot) throws IOException {
+        output.writeInt(paths.size());
+        for (Path path : paths) {
+            writePath(output, path, pathToProjectRoot);
+        }
+    }
+
+    private static Set<Path> readPaths(DataInputStream input, Path pathToProjectRoot) throws IOException {
+        int size = input.readInt();
+        Set<Path> paths = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            paths.add(readPath(input, pathToProjectRoot));
+        }
+        return paths;
+    }
+
+    private static void writePath(DataOutputStream output, Path path, Path pathToProjectRoot) throws IOException {
+        output.writeUTF(pathToProjectRoot.relativize(path).toString());
+    }
+
+    private static Path readPath(DataInputStream input, Path pathToProjectRoot) throws IOException {
+        return pathToProjectRoot.resolve(input.readUTF());
+    }
+
+    private static void writeDependency(DataOutputStream output, Dependency dependency) throws IOException {
+        output.writeUTF(dependency.getGroupId());
+        output.writeUTF(dependency.getArtifactId());
+        output.writeBoolean(dependency.getVersion() != null);
+        if (dependency.getVersion() != null) {
+            output.writeUTF(dependency.getVersion());
+        }
+        output.writeUTF(dependency.getScope().getScopeName());
+    }
+
+    private static Dependency readDependency(DataInputStream input) throws IOException {
+        Dependency.DependencyBuilder dependencyBuilder = Dependency.builder()
+                .groupId(input.readUTF())
+                .artifactId(input.readUTF());
+        if (input.readBoolean()) {
+            dependencyBuilder.version(input.readUTF());
+        }
+        String scopeName = input.readUTF();
+        return dependencyBuilder
+                .scope(DependencyScope.getScopeByName(scopeName)
+                        .orElseThrow(() -> new IOException(String.format("Unknown dependency scope `%s`", scopeName))))
+                .build();
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.wrike.merger.plan;
+
+import com.wrike.merger.FileUtils;
+import com.wrike.merger.input.LinkStrategy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Puts files of {@link MergePlan} to their targets without walking modules directories.
+ * <p>
+ * Files are checked to have the planned size, so the plan can't be applied to changed modules.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class MergePlanExecutor {
+
+    private static final Logger LOG = LogManager.getLogger(MergePlanExecutor.class);
+
+    private final int parallelism;
+    private final LinkStrategy linkStrategy;
+
+    /**
+     * @param parallelism  number of threads, which put files
+     * @param linkStrategy strategy of putting files to targets
+     */
+    public MergePlanExecutor(int parallelism, LinkStrategy linkStrategy) {
+        this.parallelism = parallelism;
+        this.linkStrategy = linkStrategy;
+    }
+
+    /**
+     * Creates all planned directories and puts all planned files to them
+     *
+     * @param mergePlan plan without conflicts
+     * @throws IOException if error occurs while putting files or files were changed after planning
+     */
+    public void execute(MergePlan mergePlan) throws IOException {
+        for (Path directory : mergePlan.getDirectories()) {
+            Files.createDirectories(directory);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> mergePlan.getFiles().parallelStream().forEach(this::putFile)).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IOException("Unable to put planned files", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Putting of planned files was interrupted", e);
+        } finally {
+            pool.shutdown();
+        }
+        LOG.info("{} planned files were put by {} threads with `{}` link strategy",
+                mergePlan.getFiles().size(), parallelism, linkStrategy.getLinkStrategyName());
+    }
+
+    private void putFile(PlannedFile plannedFile) {
+        try {
+            if (Files.size(plannedFile.getSource()) != plannedFile.getSize()) {
+                throw new IOException(String.format("`%s` file was changed after planning", plannedFile.getSource()));
+            }
+            switch (linkStrategy) {
+                case COPY:
+                    Files.copy(plannedFile.getSource(), plannedFile.getTarget());
+                    break;
+                case LINK:
+                    FileUtils.linkOrCopy(plannedFile.getSource(), plannedFile.getTarget());
+                    break;
+                default:
+                    throw new IllegalStateException("Unsupported link strategy: " + linkStrategy);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Unable to put `%s` file", plannedFile.getSource()), e);
+        }
+    }
+
+}
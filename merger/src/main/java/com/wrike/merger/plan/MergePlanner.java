@@ -0,0 +1,87 @@
+package com.wrike.merger.plan;
+
+import com.wrike.merger.FileUtils;
+import com.wrike.merger.copy.FilesConflict;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Creates {@link MergePlan} without writing anything.
+ * <p>
+ * Every target file is planned to be taken from the smallest source path, which has this target.
+ * Other sources of the same target are compared with it, so every conflict is found, not only the first one.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class MergePlanner {
+
+    private static final Logger LOG = LogManager.getLogger(MergePlanner.class);
+
+    private MergePlanner() {
+    }
+
+    /**
+     * @param modulesPaths      paths to merged modules
+     * @param directoriesToCopy map from modules directories to the merged module directories
+     * @return plan of the merge
+     * @throws IOException if reading of files failed
+     */
+    public static MergePlan createPlan(Set<Path> modulesPaths, Map<Path, Path> directoriesToCopy) throws IOException {
+        Set<Path> directories = new HashSet<>();
+        Map<Path, List<PlannedFile>> targetsToSources = new TreeMap<>();
+        for (Map.Entry<Path, Path> directoryToCopy : new TreeMap<>(directoriesToCopy).entrySet()) {
+            Path source = directoryToCopy.getKey();
+            Path target = directoryToCopy.getValue();
+            Files.walkFileTree(source, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                    directories.add(target.resolve(source.relativize(directory)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    Path newFileLocation = target.resolve(source.relativize(file));
+                    targetsToSources.computeIfAbsent(newFileLocation, key -> new ArrayList<>())
+                            .add(new PlannedFile(file, newFileLocation, attributes.size()));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+        List<PlannedFile> files = new ArrayList<>(targetsToSources.size());
+        List<FilesConflict> filesConflicts = new ArrayList<>();
+        for (List<PlannedFile> sources : targetsToSources.values()) {
+            sources.sort(Comparator.comparing(PlannedFile::getSource));
+            PlannedFile plannedFile = sources.get(0);
+            files.add(plannedFile);
+            for (PlannedFile otherSource : sources.subList(1, sources.size())) {
+                if (otherSource.getSize() != plannedFile.getSize()
+                        || !FileUtils.contentEquals(otherSource.getSource(), plannedFile.getSource())) {
+                    filesConflicts.add(FilesConflict.of(otherSource.getSource(), plannedFile.getSource()));
+                }
+            }
+        }
+        MergedDependencies mergedDependencies = MergedDependencies.collect(modulesPaths);
+        LOG.info("Merge plan was created. {} files in {} directories, {} dependencies, {} files conflicts and {} dependency conflicts",
+                files.size(), directories.size(), mergedDependencies.getDependencies().size(),
+                filesConflicts.size(), mergedDependencies.getConflicts().size());
+        return new MergePlan(modulesPaths, directories, files, mergedDependencies.getDependencies(),
+                filesConflicts, mergedDependencies.getConflicts());
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.wrike.merger.plan;
+
+import com.wrike.merger.pom.EffectivePomModel;
+import com.wrike.merger.pom.EffectivePomModelResolver;
+import com.wrike.merger.pom.ParallelPomReader;
+import com.wrike.merger.pom.PomCache;
+import com.wrike.merger.pom.PomModel;
+import com.wrike.merger.pom.StreamingPomParser;
+import com.wrike.merger.pom.bean.Dependency;
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.wrike.merger.pom.AbstractPomParser.POM_FILENAME;
+import static com.wrike.merger.pom.bean.DependencyScope.COMPILE;
+
+/**
+ * Bean for storing dependencies of the merged module and conflicts between dependencies of merged modules.
+ *
+ * @author agent on 18.10.2026
+ */
+@Data
+public class MergedDependencies {
+
+    private final Set<Dependency> dependencies;
+    private final List<DependencyConflict> conflicts;
+
+    /**
+     * Collects all dependencies for the merged module.
+     * <p>
+     * The set of dependencies is collected by this algorithm:
+     * </p>
+     * <ol>
+     *     <li>Collecting all dependencies of all modules, which were merged, with effective versions,
+     *     which are resolved by {@link EffectivePomModelResolver} from properties and parent poms</li>
+     *     <li>Set scope COMPILE for all dependencies to avoid conflicts
+     *     between the same dependencies, but with the different scope</li>
+     *     <li>All modules were merged together and they don't need to have dependency to each other,
+     *     so we can remove dependencies to themselves</li>
+     * </ol>
+     * <p>
+     * Every dependency, which has different versions in different modules, is reported as {@link DependencyConflict}.
+     * </p>
+     *
+     * @param modulesPaths paths to all modules for collecting dependencies
+     * @return dependencies of the merged module and all conflicts between them
+     */
+    public static MergedDependencies collect(Set<Path> modulesPaths) {
+        List<Path> sortedModulesPaths = sortModulesPaths(modulesPaths);
+        List<PomModel> pomModels = sortedModulesPaths.stream()
+                .map(modulePath -> readPomModel(modulePath.resolve(POM_FILENAME)))
+                .collect(Collectors.toList());
+        return merge(sortedModulesPaths, pomModels, MergedDependencies::readPomModel);
+    }
+
+    /**
+     * Collects all dependencies for the merged module like {@link #collect(Set)}, but parses modules poms concurrently.
+     * The result does not depend on the parsing order.
+     *
+     * @param modulesPaths paths to all modules for collecting dependencies
+     * @param pomReader    reader, which parses poms
+     * @return future with dependencies of the merged module and all conflicts between them
+     */
+    public static CompletableFuture<MergedDependencies> collectAsync(Set<Path> modulesPaths, ParallelPomReader pomReader) {
+        return collectAsync(modulesPaths, pomReader, MergedDependencies::readPomModel);
+    }
+
+    /**
+     * Collects all dependencies for the merged module like {@link #collectAsync(Set, ParallelPomReader)},
+     * but reads models of modules and parent poms with the given factory, for example, with {@link PomCache#getPomModel(Path)}.
+     *
+     * @param modulesPaths    paths to all modules for collecting dependencies
+     * @param pomReader       reader, which parses poms
+     * @param pomModelFactory reads model of pom file
+     * @return future with dependencies of the merged module and all conflicts between them
+     */
+    public static CompletableFuture<MergedDependencies> collectAsync(Set<Path> modulesPaths, ParallelPomReader pomReader,
+                                                                     Function<Path, PomModel> pomModelFactory) {
+        List<Path> sortedModulesPaths = sortModulesPaths(modulesPaths);
+        List<Path> pomFiles = sortedModulesPaths.stream()
+                .map(modulePath -> modulePath.resolve(POM_FILENAME))
+                .collect(Collectors.toList());
+        return pomReader.readAll(pomFiles, pomModelFactory)
+                .thenApply(pomModels -> merge(sortedModulesPaths, pomModels, pomModelFactory));
+    }
+
+    private static PomModel readPomModel(Path pomFile) {
+        return PomModel.of(new StreamingPomParser(pomFile));
+    }
+
+    private static List<Path> sortModulesPaths(Set<Path> modulesPaths) {
+        return modulesPaths.stream()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param modulesPaths sorted paths to modules
+     * @param pomModels       models of modules poms in the same order
+     * @param pomModelFactory reads models of parent poms
+     * @return dependencies of the merged module and all conflicts between them
+     */
+    private static MergedDependencies merge(List<Path> modulesPaths, List<PomModel> pomModels, Function<Path, PomModel> pomModelFactory) {
+        EffectivePomModelResolver effectivePomModelResolver = new EffectivePomModelResolver(pomModelFactory);
+        Map<Path, EffectivePomModel> modulesPomModels = new LinkedHashMap<>();
+        for (int i = 0; i < modulesPaths.size(); i++) {
+            Path modulePath = modulesPaths.get(i);
+            modulesPomModels.put(modulePath, effectivePomModelResolver.resolve(modulePath.resolve(POM_FILENAME), pomModels.get(i)));
+        }
+        Map<Dependency, DependencyConflict> declaredDependencies = new LinkedHashMap<>();
+        modulesPomModels.forEach((modulePath, pomModel) -> pomModel.getDependencies().forEach(dependency -> {
+            DependencyConflict declarations = declaredDependencies.computeIfAbsent(dependency,
+                    key -> new DependencyConflict(new ArrayList<>(), new ArrayList<>()));
+            declarations.getDependencies().add(dependency);
+            declarations.getModules().add(modulePath);
+        }));
+        List<DependencyConflict> conflicts = declaredDependencies.values().stream()
+                .filter(declarations -> declarations.getDependencies().stream().map(Dependency::getVersion).distinct().count() != 1L)
+                .collect(Collectors.toList());
+        Set<Dependency> dependencies = declaredDependencies.keySet().stream()
+                .map(dependency -> Dependency.builder()
+                        .groupId(dependency.getGroupId())
+                        .artifactId(dependency.getArtifactId())
+                        .version(dependency.getVersion())
+                        .scope(COMPILE)
+                        .build()
+                )
+                .collect(Collectors.toSet());
+        Set<Dependency> dependenciesToExclude = modulesPomModels.values().stream()
+                .map(pomModel -> Dependency.builder()
+                        .groupId(pomModel.getGroupId())
+                        .artifactId(pomModel.getArtifactId())
+                        .build()
+                )
+                .collect(Collectors.toSet());
+        dependencies.removeAll(dependenciesToExclude);
+        return new MergedDependencies(dependencies, conflicts);
+    }
+
+}
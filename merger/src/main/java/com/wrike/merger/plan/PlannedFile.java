@@ -0,0 +1,19 @@
+package com.wrike.merger.plan;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+
+/**
+ * Bean for storing a file of {@link MergePlan}, which will be put to the target in the merged module
+ *
+ * @author agent on 18.10.2026
+ */
+@Data
+public class PlannedFile {
+
+    private final Path source;
+    private final Path target;
+    private final long size;
+
+}
@@ -3,11 +3,15 @@ package com.wrike.merger.pom;
 import com.wrike.merger.pom.bean.Dependency;
 import com.wrike.merger.pom.bean.Dependency.DependencyBuilder;
 import com.wrike.merger.pom.bean.Parent;
+import lombok.Data;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -16,9 +20,17 @@ import java.util.stream.Collectors;
 import static com.wrike.merger.pom.bean.DependencyScope.COMPILE;
 import static com.wrike.merger.pom.bean.DependencyScope.getScopeByName;
 import static com.wrike.merger.pom.utils.XmlUtils.*;
+import static org.w3c.dom.Node.ELEMENT_NODE;
 
 /**
  * Can read and write pom file.
+ * <p>
+ * Dependency nodes are indexed by groupId and artifactId on the first change or lookup of dependencies,
+ * and the index is kept consistent on every change, so adding or removing a dependency does not scan other dependencies.
+ * </p>
+ * <p>
+ * Several changes can be grouped with {@link #beginTransaction()} to apply them in one pass and write the file once.
+ * </p>
  *
  * @author daniil.shylko on 17.08.2022
  */
@@ -29,20 +41,25 @@ public abstract class AbstractPomParser implements PomParser {
     private static final String PROJECT_PATH = "/project";
     private static final String PARENT_PATH = PROJECT_PATH + "/parent";
     private static final String PARENT_GROUP_ID_PATH = PARENT_PATH + "/groupId";
+    private static final String PARENT_ARTIFACT_ID_PATH = PARENT_PATH + "/artifactId";
+    private static final String PARENT_VERSION_PATH = PARENT_PATH + "/version";
+    private static final String PARENT_RELATIVE_PATH_PATH = PARENT_PATH + "/relativePath";
+    private static final String PROPERTIES_PATH = PROJECT_PATH + "/properties";
+    private static final String MANAGED_DEPENDENCY_PATH = PROJECT_PATH + "/dependencyManagement/dependencies/dependency";
     private static final String DEPENDENCIES_PATH = PROJECT_PATH + "/dependencies";
     private static final String ARTIFACT_ID_PATH = PROJECT_PATH + "/artifactId";
     private static final String VERSION_PATH = PROJECT_PATH + "/version";
     private static final String GROUP_ID_PATH = PROJECT_PATH + "/groupId";
     private static final String DEPENDENCY_PATH = DEPENDENCIES_PATH + "/dependency";
-    private static final String DEPENDENCY_BY_GROUP_AND_ARTIFACT_ID_PATH =
-            DEPENDENCY_PATH + "[groupId='%s'][artifactId='%s']";
     private static final String CHILDREN_MODULES_PATH = PROJECT_PATH + "/modules";
     private static final String CHILD_MODULE_PATH = CHILDREN_MODULES_PATH + "/module";
     private static final String CHILD_MODULE_PATH_BY_NAME = CHILDREN_MODULES_PATH + "/module[text()='%s']";
+    private static final String PROFILE_CHILD_MODULE_PATH = PROJECT_PATH + "/profiles/profile/modules/module";
 
     private static final String ADDED_AUTOMATICALLY = "Added automatically via maven modules merger";
 
     private final Document document;
+    private Map<DependencyCoordinates, List<Node>> dependencyNodesIndex;
 
     protected AbstractPomParser(Document document) {
         this.document = document;
@@ -50,8 +67,12 @@ public abstract class AbstractPomParser implements PomParser {
 
     @Override
     public void removeDependencyIfExists(Dependency dependency) {
-        removeNodesByXPath(document, getDependencyXPath(dependency));
-        if (getNodesByXPath(document, DEPENDENCY_PATH).isEmpty()) {
+        Map<DependencyCoordinates, List<Node>> dependencyNodes = getDependencyNodesIndex();
+        List<Node> removedNodes = dependencyNodes.remove(DependencyCoordinates.of(dependency));
+        if (removedNodes != null) {
+            removedNodes.forEach(node -> node.getParentNode().removeChild(node));
+        }
+        if (dependencyNodes.isEmpty()) {
             removeAllDependencies();
         }
     }
@@ -59,6 +80,7 @@ public abstract class AbstractPomParser implements PomParser {
     @Override
     public void removeAllDependencies() {
         removeNodesByXPath(document, DEPENDENCIES_PATH);
+        dependencyNodesIndex = new HashMap<>();
     }
 
     @Override
@@ -74,10 +96,14 @@ public abstract class AbstractPomParser implements PomParser {
 
     @Override
     public void addDependencyIfDoesNotExist(Dependency dependency) {
-        if (getDependencyNode(dependency) != null) {
+        DependencyCoordinates dependencyCoordinates = DependencyCoordinates.of(dependency);
+        Map<DependencyCoordinates, List<Node>> dependencyNodes = getDependencyNodesIndex();
+        if (dependencyNodes.containsKey(dependencyCoordinates)) {
             return;
         }
-        getDependenciesNode().appendChild(convertDependencyToXMLElement(dependency));
+        Element dependencyNode = convertDependencyToXMLElement(dependency);
+        getDependenciesNode().appendChild(dependencyNode);
+        dependencyNodes.put(dependencyCoordinates, new ArrayList<>(List.of(dependencyNode)));
     }
 
     @Override
@@ -97,6 +123,16 @@ public abstract class AbstractPomParser implements PomParser {
         return getNodeByXPathTextContent(document, ARTIFACT_ID_PATH);
     }
 
+    @Override
+    public void setArtifactId(String artifactId) {
+        Node artifactIdNode = getNodeByXPath(document, ARTIFACT_ID_PATH);
+        if (artifactIdNode == null) {
+            getProjectNode().appendChild(createArtifactIdNode(artifactId));
+        } else {
+            artifactIdNode.setTextContent(artifactId);
+        }
+    }
+
     @Override
     public String getVersion() {
         return getNodeByXPathTextContent(document, VERSION_PATH);
@@ -112,6 +148,44 @@ public abstract class AbstractPomParser implements PomParser {
         return getNodeByXPathTextContent(document, PARENT_GROUP_ID_PATH);
     }
 
+    @Override
+    public Parent getParent() {
+        String parentGroupId = getParentGroupId();
+        String parentArtifactId = getNodeByXPathTextContent(document, PARENT_ARTIFACT_ID_PATH);
+        String parentVersion = getNodeByXPathTextContent(document, PARENT_VERSION_PATH);
+        if (parentGroupId == null || parentArtifactId == null || parentVersion == null) {
+            return null;
+        }
+        return Parent.builder()
+                .groupId(parentGroupId)
+                .artifactId(parentArtifactId)
+                .version(parentVersion)
+                .build();
+    }
+
+    @Override
+    public String getParentRelativePath() {
+        return getNodeByXPathTextContent(document, PARENT_RELATIVE_PATH_PATH);
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        Node propertiesNode = getNodeByXPath(document, PROPERTIES_PATH);
+        if (propertiesNode == null) {
+            return new HashMap<>();
+        }
+        return getNodeChildren(propertiesNode).stream()
+                .filter(node -> ELEMENT_NODE == node.getNodeType())
+                .collect(Collectors.toMap(Node::getNodeName, Node::getTextContent, (value, otherValue) -> otherValue, HashMap::new));
+    }
+
+    @Override
+    public Set<Dependency> getManagedDependencies() {
+        return getNodesByXPath(document, MANAGED_DEPENDENCY_PATH).stream()
+                .map(this::convertNodeToDependency)
+                .collect(Collectors.toSet());
+    }
+
     @Override
     public String getEffectiveGroupId() {
         String groupId = getGroupId();
@@ -136,6 +210,15 @@ public abstract class AbstractPomParser implements PomParser {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * @return children modules, which are declared in profiles of the project
+     */
+    public Set<String> getProfilesChildrenModules() {
+        return getNodesByXPath(document, PROFILE_CHILD_MODULE_PATH).stream()
+                .map(Node::getTextContent)
+                .collect(Collectors.toSet());
+    }
+
     @Override
     public void setParent(Parent parent) {
         if (getNodeByXPath(document, PARENT_PATH) != null) {
@@ -149,6 +232,118 @@ public abstract class AbstractPomParser implements PomParser {
         writePrettifiedXml(document, filePath);
     }
 
+    @Override
+    public PomTransaction beginTransaction() {
+        return new PomTransaction(this);
+    }
+
+    /**
+     * Applies all changes of transaction, visiting children of the project element once.
+     * Changed elements are placed the same way, as the corresponding methods place them.
+     *
+     * @param transaction recorded changes
+     */
+    void applyTransaction(PomTransaction transaction) {
+        Node projectNode = document.getDocumentElement();
+        List<Node> dependenciesNodes = new ArrayList<>();
+        List<Node> parentNodes = new ArrayList<>();
+        Node childrenModulesNode = null;
+        Node artifactIdNode = null;
+        for (Node child = projectNode.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeName()) {
+                case "artifactId":
+                    if (artifactIdNode == null) {
+                        artifactIdNode = child;
+                    }
+                    break;
+                case "dependencies":
+                    dependenciesNodes.add(child);
+                    break;
+                case "parent":
+                    parentNodes.add(child);
+                    break;
+                case "modules":
+                    if (childrenModulesNode == null) {
+                        childrenModulesNode = child;
+                    }
+                    break;
+                default:
+            }
+        }
+        if (transaction.getArtifactId() != null) {
+            if (artifactIdNode == null) {
+                projectNode.appendChild(createArtifactIdNode(transaction.getArtifactId()));
+            } else {
+                artifactIdNode.setTextContent(transaction.getArtifactId());
+            }
+        }
+        applyDependenciesChanges(transaction, projectNode, dependenciesNodes);
+        if (transaction.getParent() != null) {
+            parentNodes.forEach(projectNode::removeChild);
+            projectNode.appendChild(convertParentToXMLElement(transaction.getParent()));
+        }
+        applyChildrenModulesChanges(transaction, projectNode, childrenModulesNode);
+        dependencyNodesIndex = null;
+    }
+
+    private void applyDependenciesChanges(PomTransaction transaction, Node projectNode, List<Node> dependenciesNodes) {
+        if (transaction.isAllDependenciesRemoved()) {
+            dependenciesNodes.forEach(projectNode::removeChild);
+            dependenciesNodes.clear();
+        }
+        Set<DependencyCoordinates> removedDependencies = transaction.getRemovedDependencies().stream()
+                .map(DependencyCoordinates::of)
+                .collect(Collectors.toSet());
+        Set<DependencyCoordinates> existingDependencies = new HashSet<>();
+        for (Node dependenciesNode : dependenciesNodes) {
+            for (Node dependencyNode : getNodeChildren(dependenciesNode)) {
+                if (!"dependency".equals(dependencyNode.getNodeName())) {
+                    continue;
+                }
+                DependencyCoordinates dependencyCoordinates = getDependencyCoordinates(dependencyNode);
+                if (removedDependencies.contains(dependencyCoordinates)) {
+                    dependenciesNode.removeChild(dependencyNode);
+                } else {
+                    existingDependencies.add(dependencyCoordinates);
+                }
+            }
+        }
+        if (!removedDependencies.isEmpty() && existingDependencies.isEmpty()) {
+            // the emptied element is reused for added dependencies, so it keeps its position in the project
+            List<Node> emptyDependenciesNodes = transaction.getAddedDependencies().isEmpty() || dependenciesNodes.isEmpty()
+                    ? dependenciesNodes
+                    : dependenciesNodes.subList(1, dependenciesNodes.size());
+            emptyDependenciesNodes.forEach(projectNode::removeChild);
+            emptyDependenciesNodes.clear();
+        }
+        for (Dependency dependency : transaction.getAddedDependencies().values()) {
+            if (existingDependencies.add(DependencyCoordinates.of(dependency))) {
+                if (dependenciesNodes.isEmpty()) {
+                    dependenciesNodes.add(createDependenciesNode());
+                }
+                dependenciesNodes.get(0).appendChild(convertDependencyToXMLElement(dependency));
+            }
+        }
+    }
+
+    private void applyChildrenModulesChanges(PomTransaction transaction, Node projectNode, Node childrenModulesNode) {
+        Set<String> existingChildrenModules = new HashSet<>();
+        if (childrenModulesNode != null) {
+            getNodeChildren(childrenModulesNode).stream()
+                    .filter(node -> "module".equals(node.getNodeName()))
+                    .map(Node::getTextContent)
+                    .forEach(existingChildrenModules::add);
+        }
+        for (String moduleName : transaction.getAddedChildrenModules()) {
+            if (existingChildrenModules.add(moduleName)) {
+                if (childrenModulesNode == null) {
+                    childrenModulesNode = createChildrenModulesNode();
+                }
+                childrenModulesNode.appendChild(getChildModuleXMLElement(moduleName));
+            }
+        }
+    }
+
     private Element convertDependencyToXMLElement(Dependency dependency) {
         Element dependencyNode = document.createElement("dependency");
         Element groupId = document.createElement("groupId");
@@ -186,6 +381,12 @@ public abstract class AbstractPomParser implements PomParser {
         return parentNode;
     }
 
+    private Element createArtifactIdNode(String artifactId) {
+        Element artifactIdNode = document.createElement("artifactId");
+        artifactIdNode.appendChild(document.createTextNode(artifactId));
+        return artifactIdNode;
+    }
+
     private Element createDependenciesNode() {
         Element dependenciesNode = document.createElement("dependencies");
         getProjectNode().appendChild(dependenciesNode);
@@ -224,13 +425,24 @@ public abstract class AbstractPomParser implements PomParser {
         return dependenciesNode;
     }
 
-    private String getDependencyXPath(Dependency dependency) {
-        return String.format(DEPENDENCY_BY_GROUP_AND_ARTIFACT_ID_PATH,
-                dependency.getGroupId(), dependency.getArtifactId());
+    /**
+     * Returns index of dependency nodes, building it on the first call
+     *
+     * @return map from groupId and artifactId to dependency nodes
+     */
+    private Map<DependencyCoordinates, List<Node>> getDependencyNodesIndex() {
+        if (dependencyNodesIndex == null) {
+            dependencyNodesIndex = new HashMap<>();
+            getNodesByXPath(document, DEPENDENCY_PATH).forEach(node ->
+                    dependencyNodesIndex.computeIfAbsent(getDependencyCoordinates(node), key -> new ArrayList<>()).add(node));
+        }
+        return dependencyNodesIndex;
     }
 
-    private Node getDependencyNode(Dependency dependency) {
-        return getNodeByXPath(document, getDependencyXPath(dependency));
+    private DependencyCoordinates getDependencyCoordinates(Node dependencyNode) {
+        Map<String, String> childrenValues = getNodeChildren(dependencyNode).stream()
+                .collect(Collectors.toMap(Node::getNodeName, Node::getTextContent, (value, otherValue) -> value));
+        return new DependencyCoordinates(childrenValues.get("groupId"), childrenValues.get("artifactId"));
     }
 
     private String getChildModuleXPath(String moduleName) {
@@ -262,4 +474,19 @@ public abstract class AbstractPomParser implements PomParser {
         return childModuleNode;
     }
 
+    /**
+     * Key of dependency nodes index. Unlike {@link Dependency}, it allows absent groupId and artifactId
+     */
+    @Data
+    private static class DependencyCoordinates {
+
+        private final String groupId;
+        private final String artifactId;
+
+        private static DependencyCoordinates of(Dependency dependency) {
+            return new DependencyCoordinates(dependency.getGroupId(), dependency.getArtifactId());
+        }
+
+    }
+
 }
@@ -0,0 +1,209 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PomModel} together with the chain of its resolved parents.
+ * <p>
+ * Values are interpolated in the context of this model: {@code ${project.*}} expressions refer to this model,
+ * and properties are looked up in this model first and then in its parents, so a property of a child overrides
+ * the property of a parent, even if it is used in the parent. Versions of dependencies without version are taken
+ * from dependencyManagement of this model or its parents. Expressions, which can't be resolved, are kept as is.
+ * </p>
+ * <p>
+ * Parents are shared between all their children, and every model indexes its managed dependencies once,
+ * so resolving of many sibling modules does not repeat the work for their common parents.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class EffectivePomModel {
+
+    private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{([^}]+)}");
+    private static final int MAX_INTERPOLATION_DEPTH = 32;
+    private static final String EXPRESSION_START = "${";
+
+    @Getter
+    private final PomModel pomModel;
+    @Getter
+    private final EffectivePomModel parent;
+    private final Map<String, String> managedVersions = new HashMap<>();
+    private final List<Dependency> managedDependenciesWithExpressions = new ArrayList<>();
+
+    /**
+     * @param pomModel model of pom
+     * @param parent   resolved parent or null, if the parent is absent or can't be found
+     */
+    EffectivePomModel(PomModel pomModel, EffectivePomModel parent) {
+        this.pomModel = pomModel;
+        this.parent = parent;
+        for (Dependency managedDependency : pomModel.getManagedDependencies()) {
+            if (managedDependency.getVersion() == null) {
+                continue;
+            }
+            if (managedDependency.getGroupId().contains(EXPRESSION_START) || managedDependency.getArtifactId().contains(EXPRESSION_START)) {
+                managedDependenciesWithExpressions.add(managedDependency);
+            } else {
+                managedVersions.putIfAbsent(getManagementKey(managedDependency.getGroupId(), managedDependency.getArtifactId()),
+                        managedDependency.getVersion());
+            }
+        }
+    }
+
+    /**
+     * @return interpolated groupId of the project or of its parent, if the project does not have it
+     */
+    public String getGroupId() {
+        return interpolate(getRawGroupId());
+    }
+
+    /**
+     * @return interpolated artifactId of the project
+     */
+    public String getArtifactId() {
+        return interpolate(pomModel.getArtifactId());
+    }
+
+    /**
+     * @return interpolated version of the project or of its parent, if the project does not have it
+     */
+    public String getVersion() {
+        return interpolate(getRawVersion());
+    }
+
+    /**
+     * @return dependencies of the project with interpolated coordinates and effective versions
+     */
+    public Set<Dependency> getDependencies() {
+        return pomModel.getDependencies().stream()
+                .map(this::resolveDependency)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Interpolates coordinates of dependency. If it does not have version, the version is taken from dependencyManagement.
+     *
+     * @param dependency dependency, declared in the context of this model
+     * @return new dependency with effective values
+     */
+    public Dependency resolveDependency(Dependency dependency) {
+        String groupId = interpolate(dependency.getGroupId());
+        String artifactId = interpolate(dependency.getArtifactId());
+        String version = dependency.getVersion() == null ? getManagedVersion(groupId, artifactId) : dependency.getVersion();
+        return Dependency.builder()
+                .groupId(groupId)
+                .artifactId(artifactId)
+                .version(interpolate(version))
+                .scope(dependency.getScope())
+                .build();
+    }
+
+    /**
+     * @param name name of property or {@code project.*} expression
+     * @return interpolated value of property or null, if it is not defined
+     */
+    public String getProperty(String name) {
+        String value = getRawProperty(name);
+        return value == null ? null : interpolate(value);
+    }
+
+    /**
+     * Replaces all {@code ${...}} expressions with values of properties
+     *
+     * @param value value to interpolate
+     * @return interpolated value, unresolved expressions are kept as is
+     */
+    public String interpolate(String value) {
+        return interpolate(value, 0);
+    }
+
+    private String interpolate(String value, int depth) {
+        if (value == null || depth > MAX_INTERPOLATION_DEPTH || !value.contains(EXPRESSION_START)) {
+            return value;
+        }
+        Matcher matcher = PROPERTY_REFERENCE.matcher(value);
+        StringBuilder interpolatedValue = new StringBuilder();
+        while (matcher.find()) {
+            String propertyValue = getRawProperty(matcher.group(1));
+            String replacement = propertyValue == null ? matcher.group() : interpolate(propertyValue, depth + 1);
+            matcher.appendReplacement(interpolatedValue, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(interpolatedValue);
+        return interpolatedValue.toString();
+    }
+
+    private String getRawProperty(String name) {
+        switch (name) {
+            case "project.groupId":
+                return getRawGroupId();
+            case "project.artifactId":
+                return pomModel.getArtifactId();
+            case "project.version":
+                return getRawVersion();
+            case "project.parent.groupId":
+                return pomModel.getParentGroupId();
+            case "project.parent.artifactId":
+                return pomModel.getParentArtifactId();
+            case "project.parent.version":
+                return pomModel.getParentVersion();
+            default:
+                for (EffectivePomModel model = this; model != null; model = model.parent) {
+                    String value = model.pomModel.getProperties().get(name);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+                return null;
+        }
+    }
+
+    private String getRawGroupId() {
+        return pomModel.getEffectiveGroupId();
+    }
+
+    private String getRawVersion() {
+        if (pomModel.getVersion() == null) {
+            return pomModel.getParentVersion();
+        }
+        return pomModel.getVersion();
+    }
+
+    /**
+     * Looks for the version in dependencyManagement of this model and then of its parents
+     *
+     * @param groupId    interpolated groupId of dependency
+     * @param artifactId interpolated artifactId of dependency
+     * @return raw managed version or null, if dependency is not managed
+     */
+    private String getManagedVersion(String groupId, String artifactId) {
+        String managementKey = getManagementKey(groupId, artifactId);
+        for (EffectivePomModel model = this; model != null; model = model.parent) {
+            String managedVersion = model.managedVersions.get(managementKey);
+            if (managedVersion != null) {
+                return managedVersion;
+            }
+            for (Dependency managedDependency : model.managedDependenciesWithExpressions) {
+                if (groupId.equals(interpolate(managedDependency.getGroupId()))
+                        && artifactId.equals(interpolate(managedDependency.getArtifactId()))) {
+                    return managedDependency.getVersion();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static String getManagementKey(String groupId, String artifactId) {
+        return groupId + ':' + artifactId;
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Parent;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.wrike.merger.pom.AbstractPomParser.POM_FILENAME;
+
+/**
+ * Resolves {@link EffectivePomModel}s of poms, walking their parents like Maven does.
+ * <p>
+ * The parent pom is looked up by {@code relativePath} of the parent, which is {@code ../pom.xml} by default,
+ * and it is used only if its groupId and artifactId match the declared parent. Parents, which are not found,
+ * for example, parents from repositories, are skipped, so expressions, which are defined there, stay unresolved.
+ * </p>
+ * <p>
+ * Every resolved model is memoized by path to its pom, so common parents of many modules are read and resolved once.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class EffectivePomModelResolver {
+
+    private static final Logger LOG = LogManager.getLogger(EffectivePomModelResolver.class);
+    private static final String DEFAULT_PARENT_RELATIVE_PATH = "../" + POM_FILENAME;
+
+    private final Function<Path, PomModel> pomModelReader;
+    private final Map<Path, EffectivePomModel> effectivePomModels = new ConcurrentHashMap<>();
+    private final Map<Path, Path> parentsPomFiles = new ConcurrentHashMap<>();
+
+    /**
+     * @param pomModelReader reads models of parent poms, for example, with {@link PomCache#getPomModel(Path)}
+     */
+    public EffectivePomModelResolver(Function<Path, PomModel> pomModelReader) {
+        this.pomModelReader = pomModelReader;
+    }
+
+    /**
+     * Resolves pom, reading it with the reader of this resolver
+     *
+     * @param pomFile pom file
+     * @return effective model of pom
+     * @throws PomParserException if pom can't be read or parents of pom refer to each other
+     */
+    public EffectivePomModel resolve(Path pomFile) {
+        return resolve(pomFile, null, new LinkedHashSet<>());
+    }
+
+    /**
+     * Resolves already read pom
+     *
+     * @param pomFile  pom file
+     * @param pomModel model of the pom file
+     * @return effective model of pom
+     * @throws PomParserException if parents of pom can't be read or refer to each other
+     */
+    public EffectivePomModel resolve(Path pomFile, PomModel pomModel) {
+        return resolve(pomFile, pomModel, new LinkedHashSet<>());
+    }
+
+    /**
+     * Resolves pom and returns pom files of its parents, which were used to resolve it
+     *
+     * @param pomFile pom file
+     * @return absolute normalized paths of parents poms, the nearest parent goes first
+     * @throws PomParserException if pom can't be read or parents of pom refer to each other
+     */
+    public List<Path> getParentsPomFiles(Path pomFile) {
+        Path normalizedPomFile = pomFile.toAbsolutePath().normalize();
+        resolve(normalizedPomFile);
+        List<Path> parentsPomFilesChain = new ArrayList<>();
+        for (Path parentPomFile = parentsPomFiles.get(normalizedPomFile); parentPomFile != null; parentPomFile = parentsPomFiles.get(parentPomFile)) {
+            parentsPomFilesChain.add(parentPomFile);
+        }
+        return parentsPomFilesChain;
+    }
+
+    private EffectivePomModel resolve(Path pomFile, PomModel pomModel, Set<Path> resolvedPomFiles) {
+        Path normalizedPomFile = pomFile.toAbsolutePath().normalize();
+        EffectivePomModel effectivePomModel = effectivePomModels.get(normalizedPomFile);
+        if (effectivePomModel != null) {
+            return effectivePomModel;
+        }
+        if (!resolvedPomFiles.add(normalizedPomFile)) {
+            throw new PomParserException(String.format("Parents of `%s` pom refer to each other: %s", pomFile, resolvedPomFiles));
+        }
+        PomModel readPomModel = pomModel == null ? pomModelReader.apply(normalizedPomFile) : pomModel;
+        EffectivePomModel parent = resolveParent(normalizedPomFile, readPomModel, resolvedPomFiles);
+        return effectivePomModels.computeIfAbsent(normalizedPomFile, key -> new EffectivePomModel(readPomModel, parent));
+    }
+
+    private EffectivePomModel resolveParent(Path pomFile, PomModel pomModel, Set<Path> resolvedPomFiles) {
+        Parent parent = pomModel.getParent();
+        if (parent == null) {
+            return null;
+        }
+        String relativePath = pomModel.getParentRelativePath() == null ? DEFAULT_PARENT_RELATIVE_PATH : pomModel.getParentRelativePath().trim();
+        if (relativePath.isEmpty()) {
+            return null;
+        }
+        Path parentPomFile = pomFile.resolveSibling(relativePath).normalize();
+        if (Files.isDirectory(parentPomFile)) {
+            parentPomFile = parentPomFile.resolve(POM_FILENAME);
+        }
+        if (!Files.isRegularFile(parentPomFile)) {
+            LOG.debug("Parent `{}` of `{}` pom is not found locally", parent, pomFile);
+            return null;
+        }
+        EffectivePomModel parentModel = resolve(parentPomFile, null, resolvedPomFiles);
+        PomModel parentPomModel = parentModel.getPomModel();
+        if (!parent.getGroupId().equals(parentPomModel.getEffectiveGroupId()) || !parent.getArtifactId().equals(parentPomModel.getArtifactId())) {
+            LOG.debug("Pom `{}` is not the parent `{}` of `{}` pom", parentPomFile, parent, pomFile);
+            return null;
+        }
+        parentsPomFiles.put(pomFile, parentPomFile);
+        return parentModel;
+    }
+
+}
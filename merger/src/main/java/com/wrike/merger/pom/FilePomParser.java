@@ -2,12 +2,19 @@ package com.wrike.merger.pom;
 
 import lombok.Getter;
 import lombok.NonNull;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 import java.util.stream.Stream;
 
 import static com.wrike.merger.pom.utils.XmlUtils.readXml;
@@ -19,6 +26,10 @@ import static com.wrike.merger.pom.utils.XmlUtils.readXml;
  */
 public class FilePomParser extends AbstractPomParser {
 
+    private static final Logger LOG = LogManager.getLogger(FilePomParser.class);
+    private static final Set<String> IGNORED_DIRECTORIES = Set.of("target", "node_modules");
+    private static final String MERGED_MODULES_PREFIX = "merged_modules";
+
     @Getter
     private final Path originPath;
 
@@ -32,14 +43,132 @@ public class FilePomParser extends AbstractPomParser {
     }
 
     public static List<FilePomParser> collectAllPomFiles(Path root) {
-        try (Stream<Path> files = Files.walk(root)) {
-            return files
-                    .filter(file -> POM_FILENAME.equals(file.getFileName().toString()))
-                    .map(FilePomParser::new)
-                    .collect(Collectors.toList());
+        return collectAllPomFiles(root, 1);
+    }
+
+    /**
+     * Collects all pom files of the project like {@link #collectAllPomFiles(Path, int, boolean)},
+     * falling back to walking of the filesystem, if the root does not have pom file
+     *
+     * @param root        root directory
+     * @param parallelism maximal number of threads, which parse pom files
+     * @return parsers in the order of discovery
+     */
+    public static List<FilePomParser> collectAllPomFiles(Path root, int parallelism) {
+        return collectAllPomFiles(root, parallelism, true);
+    }
+
+    /**
+     * Collects all pom files of the project and parses them concurrently with {@link ParallelPomReader}.
+     * <p>
+     * If the root has pom file, the reactor is discovered like Maven does it: children modules of the root pom
+     * are parsed level by level, and every level is parsed concurrently. Modules can be declared as directories
+     * or as paths to pom files, and modules of all profiles are included. Only poms of the reactor are read,
+     * so outputs of builds, VCS directories and unrelated poms are never visited.
+     * Modules, which don't have pom file, are skipped with a warning.
+     * </p>
+     * <p>
+     * If the root does not have pom file, the filesystem is walked, if it is allowed.
+     * The walking skips hidden directories, {@code target}, {@code node_modules} and merged modules directories.
+     * </p>
+     *
+     * @param root             root directory
+     * @param parallelism      maximal number of threads, which parse pom files
+     * @param fallbackToWalk   if true, poms are collected by walking of the filesystem, when the root does not have pom file
+     * @return parsers in the order of discovery
+     * @throws PomParserException if poms can't be collected or parsed
+     */
+    public static List<FilePomParser> collectAllPomFiles(Path root, int parallelism, boolean fallbackToWalk) {
+        Path rootPomFile = root.resolve(POM_FILENAME);
+        try (ParallelPomReader pomReader = new ParallelPomReader(parallelism)) {
+            if (Files.isRegularFile(rootPomFile)) {
+                return collectReactorPomFiles(rootPomFile, pomReader);
+            }
+            if (!fallbackToWalk) {
+                throw new PomParserException(String.format("Unable to collect pom files from `%s` root, because it does not have pom file", root));
+            }
+            return ParallelPomReader.await(pomReader.readAll(walkPomFiles(root), FilePomParser::new));
+        }
+    }
+
+    /**
+     * Parses poms of the reactor breadth-first, starting from the root pom
+     *
+     * @param rootPomFile root pom file
+     * @param pomReader   reader, which parses poms of every level concurrently
+     * @return parsers in the breadth-first order
+     */
+    private static List<FilePomParser> collectReactorPomFiles(Path rootPomFile, ParallelPomReader pomReader) {
+        List<FilePomParser> pomParsers = new ArrayList<>();
+        Set<Path> discoveredPomFiles = new HashSet<>();
+        List<Path> levelPomFiles = List.of(rootPomFile.normalize());
+        discoveredPomFiles.addAll(levelPomFiles);
+        while (!levelPomFiles.isEmpty()) {
+            List<FilePomParser> levelPomParsers = ParallelPomReader.await(pomReader.readAll(levelPomFiles, FilePomParser::new));
+            List<Path> nextLevelPomFiles = new ArrayList<>();
+            for (FilePomParser pomParser : levelPomParsers) {
+                Stream.concat(pomParser.getChildrenModules().stream(), pomParser.getProfilesChildrenModules().stream())
+                        .distinct()
+                        .sorted()
+                        .map(childModule -> getModulePomFile(pomParser.getOriginPath(), childModule))
+                        .filter(modulePomFile -> modulePomFile != null && discoveredPomFiles.add(modulePomFile))
+                        .forEach(nextLevelPomFiles::add);
+            }
+            pomParsers.addAll(levelPomParsers);
+            levelPomFiles = nextLevelPomFiles;
+        }
+        return pomParsers;
+    }
+
+    /**
+     * @return pom file of the module or null, if it does not exist
+     */
+    private static Path getModulePomFile(Path pomFile, String childModule) {
+        Path modulePath = pomFile.resolveSibling(childModule.trim()).normalize();
+        Path modulePomFile = Files.isDirectory(modulePath) ? modulePath.resolve(POM_FILENAME) : modulePath;
+        if (!Files.isRegularFile(modulePomFile)) {
+            LOG.warn("Unable to find pom file of `{}` module, which is declared in `{}`, the module is skipped", childModule, pomFile);
+            return null;
+        }
+        return modulePomFile;
+    }
+
+    /**
+     * Walks the filesystem, skipping directories, which can't contain poms of the project
+     *
+     * @param root root directory
+     * @return pom files in the walking order
+     */
+    private static List<Path> walkPomFiles(Path root) {
+        List<Path> pomFiles = new ArrayList<>();
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                    if (!directory.equals(root) && isIgnoredDirectory(directory.getFileName().toString())) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (POM_FILENAME.equals(file.getFileName().toString())) {
+                        pomFiles.add(file);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
         } catch (IOException e) {
             throw new PomParserException(String.format("Unable to collect pom files from `%s` root", root), e);
         }
+        return pomFiles;
+    }
+
+    private static boolean isIgnoredDirectory(String directoryName) {
+        return directoryName.startsWith(".")
+                || IGNORED_DIRECTORIES.contains(directoryName)
+                || directoryName.startsWith(MERGED_MODULES_PREFIX);
     }
 
 }
@@ -0,0 +1,81 @@
+package com.wrike.merger.pom;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Parses pom files concurrently with a bounded number of threads.
+ * <p>
+ * Parsing is started asynchronously, so it can overlap with other work, for example, with copying of files.
+ * Results are returned in the order of given files, so they do not depend on the scheduling order.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class ParallelPomReader implements AutoCloseable {
+
+    private final ExecutorService executorService;
+
+    /**
+     * @param parallelism maximal number of threads, which parse pom files
+     */
+    public ParallelPomReader(int parallelism) {
+        this.executorService = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+                .setNameFormat("pom-reader-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Starts parsing of all pom files
+     *
+     * @param pomFiles   pom files to parse
+     * @param pomReading reads pom file, for example, creates parser or model of it
+     * @param <T>        type of the reading result
+     * @return future with results in the order of pom files
+     */
+    public <T> CompletableFuture<List<T>> readAll(List<Path> pomFiles, Function<Path, T> pomReading) {
+        List<CompletableFuture<T>> results = pomFiles.stream()
+                .map(pomFile -> CompletableFuture.supplyAsync(() -> pomReading.apply(pomFile), executorService))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> results.stream()
+                        .map(CompletableFuture::join)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Waits for the result and rethrows the original exception, if parsing failed
+     *
+     * @param future future to wait for
+     * @param <T>    type of result
+     * @return result of future
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Stops parsing, which is not finished yet
+     */
+    @Override
+    public void close() {
+        executorService.shutdownNow();
+    }
+
+}
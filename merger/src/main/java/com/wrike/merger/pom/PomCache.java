@@ -0,0 +1,283 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import com.wrike.merger.pom.bean.DependencyScope;
+import lombok.Data;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Thread-safe persistent cache of {@link PomModel}s, which are extracted from pom files by {@link StreamingPomParser}.
+ * <p>
+ * Every pom is keyed by its path, size and last modified time. If any of them is changed, the pom is parsed again,
+ * so a stale entry is never returned. Poms, which were modified just before parsing, are not written to file,
+ * because they can be modified again without changing the last modified time on filesystems with coarse timestamps.
+ * Paths are stored relative to the project root,
+ * so the cache does not depend on the checkout location. The root and poms paths are made absolute and normalized,
+ * so they can be given as relative paths too.
+ * </p>
+ * <p>
+ * The cache file is protected by a checksum and replaced atomically. If it is absent, corrupted or has another format,
+ * the cache is started from scratch and all poms are parsed.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class PomCache {
+
+    private static final Logger LOG = LogManager.getLogger(PomCache.class);
+    private static final int FORMAT_VERSION = 3;
+    private static final long RACY_MODIFICATION_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private final Path pathToProjectRoot;
+    private final Map<Path, CachedPom> cachedPoms = new ConcurrentHashMap<>();
+    private volatile boolean changed;
+
+    private PomCache(Path pathToProjectRoot) {
+        this.pathToProjectRoot = normalize(pathToProjectRoot);
+    }
+
+    /**
+     * Returns model of pom file from the cache, if the pom was not changed since it was cached.
+     * Otherwise, parses pom file with {@link StreamingPomParser} and caches the result.
+     *
+     * @param pomFile pom file
+     * @return model of pom
+     * @throws PomParserException if pom can't be read
+     */
+    public PomModel getPomModel(Path pomFile) {
+        Path normalizedPomFile = normalize(pomFile);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(pomFile, BasicFileAttributes.class);
+        } catch (IOException e) {
+            throw new PomParserException(String.format("Unable to read xml from `%s` file", pomFile), e);
+        }
+        long size = attributes.size();
+        long lastModifiedNanos = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        CachedPom cachedPom = cachedPoms.get(normalizedPomFile);
+        if (cachedPom != null && cachedPom.getSize() == size && cachedPom.getLastModifiedNanos() == lastModifiedNanos) {
+            return cachedPom.getPomModel();
+        }
+        PomModel pomModel = PomModel.of(new StreamingPomParser(pomFile));
+        boolean racilyModified = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) - lastModifiedNanos < RACY_MODIFICATION_NANOS;
+        cachedPoms.put(normalizedPomFile, new CachedPom(size, lastModifiedNanos, pomModel, !racilyModified));
+        changed = true;
+        return pomModel;
+    }
+
+    /**
+     * Writes cache to file, if something was parsed. Poms, which don't exist anymore, are removed from the cache.
+     * Errors are only logged, because the cache is not required for merging.
+     *
+     * @param cacheFile file to write
+     */
+    public void write(Path cacheFile) {
+        if (!changed) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(content)) {
+                writeCachedPoms(output);
+            }
+            CRC32C checksum = new CRC32C();
+            checksum.update(content.toByteArray());
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            Path temporaryCacheFile = Files.createTempFile(cacheFile.toAbsolutePath().getParent(), cacheFile.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(temporaryCacheFile))) {
+                    output.writeInt(FORMAT_VERSION);
+                    output.writeLong(checksum.getValue());
+                    output.writeInt(content.size());
+                    content.writeTo(output);
+                }
+                Files.move(temporaryCacheFile, cacheFile, REPLACE_EXISTING, ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryCacheFile);
+            }
+            LOG.info("Pom cache with {} poms was written to `{}`", cachedPoms.size(), cacheFile);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to write pom cache to `{}`", cacheFile, e);
+        }
+    }
+
+    /**
+     * Reads cache from file.
+     *
+     * @param cacheFile         file to read
+     * @param pathToProjectRoot root, which paths are relative to
+     * @return cache from file or empty cache, if file does not exist or can't be read
+     */
+    public static PomCache read(Path cacheFile, Path pathToProjectRoot) {
+        PomCache pomCache = new PomCache(pathToProjectRoot);
+        if (!Files.isRegularFile(cacheFile)) {
+            return pomCache;
+        }
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(cacheFile))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                LOG.info("Pom cache `{}` has unsupported format", cacheFile);
+                return pomCache;
+            }
+            long expectedChecksum = input.readLong();
+            byte[] content = input.readNBytes(input.readInt());
+            CRC32C checksum = new CRC32C();
+            checksum.update(content);
+            if (checksum.getValue() != expectedChecksum) {
+                LOG.info("Pom cache `{}` is corrupted", cacheFile);
+                return pomCache;
+            }
+            pomCache.readCachedPoms(new DataInputStream(new ByteArrayInputStream(content)));
+            LOG.info("Pom cache with {} poms was read from `{}`", pomCache.cachedPoms.size(), cacheFile);
+            return pomCache;
+        } catch (IOException | RuntimeException e) {
+            LOG.info("Pom cache `{}` can't be read", cacheFile, e);
+            return new PomCache(pathToProjectRoot);
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    private void writeCachedPoms(DataOutputStream output) throws IOException {
+        Map<Path, CachedPom> existingCachedPoms = new ConcurrentHashMap<>(cachedPoms);
+        existingCachedPoms.values().removeIf(cachedPom -> !cachedPom.isPersistent());
+        existingCachedPoms.keySet().removeIf(pomFile -> !Files.isRegularFile(pomFile));
+        output.writeInt(existingCachedPoms.size());
+        for (Map.Entry<Path, CachedPom> pomFileToCachedPom : existingCachedPoms.entrySet()) {
+            CachedPom cachedPom = pomFileToCachedPom.getValue();
+            PomModel pomModel = cachedPom.getPomModel();
+            output.writeUTF(pathToProjectRoot.relativize(pomFileToCachedPom.getKey()).toString());
+            output.writeLong(cachedPom.getSize());
+            output.writeLong(cachedPom.getLastModifiedNanos());
+            writeNullableString(output, pomModel.getArtifactId());
+            writeNullableString(output, pomModel.getGroupId());
+            writeNullableString(output, pomModel.getVersion());
+            writeNullableString(output, pomModel.getParentGroupId());
+            writeNullableString(output, pomModel.getParentArtifactId());
+            writeNullableString(output, pomModel.getParentVersion());
+            writeNullableString(output, pomModel.getParentRelativePath());
+            Map<String, String> properties = pomModel.getProperties();
+            output.writeInt(properties.size());
+            for (Map.Entry<String, String> property : properties.entrySet()) {
+                output.writeUTF(property.getKey());
+                output.writeUTF(property.getValue());
+            }
+            writeDependencies(output, pomModel.getDependencies());
+            writeDependencies(output, pomModel.getManagedDependencies());
+            Set<String> childrenModules = pomModel.getChildrenModules();
+            output.writeInt(childrenModules.size());
+            for (String childModule : childrenModules) {
+                output.writeUTF(childModule);
+            }
+        }
+    }
+
+    private void readCachedPoms(DataInputStream input) throws IOException {
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            Path pomFile = pathToProjectRoot.resolve(input.readUTF());
+            long pomSize = input.readLong();
+            long lastModifiedNanos = input.readLong();
+            PomModel.PomModelBuilder pomModelBuilder = PomModel.builder()
+                    .artifactId(readNullableString(input))
+                    .groupId(readNullableString(input))
+                    .version(readNullableString(input))
+                    .parentGroupId(readNullableString(input))
+                    .parentArtifactId(readNullableString(input))
+                    .parentVersion(readNullableString(input))
+                    .parentRelativePath(readNullableString(input));
+            int propertiesSize = input.readInt();
+            Map<String, String> properties = new HashMap<>(propertiesSize);
+            for (int j = 0; j < propertiesSize; j++) {
+                properties.put(input.readUTF(), input.readUTF());
+            }
+            pomModelBuilder
+                    .properties(properties)
+                    .dependencies(readDependencies(input))
+                    .managedDependencies(readDependencies(input));
+            int childrenModulesSize = input.readInt();
+            List<String> childrenModules = new ArrayList<>(childrenModulesSize);
+            for (int j = 0; j < childrenModulesSize; j++) {
+                childrenModules.add(input.readUTF());
+            }
+            PomModel pomModel = pomModelBuilder
+                    .childrenModules(childrenModules)
+                    .build();
+            cachedPoms.put(pomFile, new CachedPom(pomSize, lastModifiedNanos, pomModel, true));
+        }
+    }
+
+    private static void writeDependencies(DataOutputStream output, Set<Dependency> dependencies) throws IOException {
+        output.writeInt(dependencies.size());
+        for (Dependency dependency : dependencies) {
+            output.writeUTF(dependency.getGroupId());
+            output.writeUTF(dependency.getArtifactId());
+            writeNullableString(output, dependency.getVersion());
+            output.writeUTF(dependency.getScope().getScopeName());
+        }
+    }
+
+    private static List<Dependency> readDependencies(DataInputStream input) throws IOException {
+        int dependenciesSize = input.readInt();
+        List<Dependency> dependencies = new ArrayList<>(dependenciesSize);
+        for (int i = 0; i < dependenciesSize; i++) {
+            Dependency.DependencyBuilder dependencyBuilder = Dependency.builder()
+                    .groupId(input.readUTF())
+                    .artifactId(input.readUTF())
+                    .version(readNullableString(input));
+            String scopeName = input.readUTF();
+            dependencies.add(dependencyBuilder
+                    .scope(DependencyScope.getScopeByName(scopeName)
+                            .orElseThrow(() -> new IOException(String.format("Unknown dependency scope `%s`", scopeName))))
+                    .build());
+        }
+        return dependencies;
+    }
+
+    private static void writeNullableString(DataOutputStream output, String value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream input) throws IOException {
+        if (input.readBoolean()) {
+            return input.readUTF();
+        }
+        return null;
+    }
+
+    @Data
+    private static class CachedPom {
+
+        private final long size;
+        private final long lastModifiedNanos;
+        private final PomModel pomModel;
+        private final boolean persistent;
+
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.wrike.merger.pom;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.wrike.merger.pom.bean.Dependency;
+import com.wrike.merger.pom.bean.Parent;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable snapshot of values, which are used from pom: coordinates, parent, properties, dependencies,
+ * managed dependencies and children modules.
+ * <p>
+ * Unlike pom parsers, the snapshot does not hold the document, so models of many poms can be kept in memory
+ * and shared between threads. All strings are interned in the shared pool, so groupIds, artifactIds and versions,
+ * which are repeated in poms, are stored once.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+@Getter
+@ToString
+public final class PomModel {
+
+    private static final Interner<String> STRINGS = Interners.newWeakInterner();
+
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String parentGroupId;
+    private final String parentArtifactId;
+    private final String parentVersion;
+    private final String parentRelativePath;
+    private final ImmutableMap<String, String> properties;
+    @Getter(AccessLevel.NONE)
+    private final ImmutableList<Dependency> dependencies;
+    @Getter(AccessLevel.NONE)
+    private final ImmutableList<Dependency> managedDependencies;
+    private final ImmutableSet<String> childrenModules;
+
+    @Builder
+    private PomModel(String groupId, String artifactId, String version,
+                     String parentGroupId, String parentArtifactId, String parentVersion, String parentRelativePath,
+                     Map<String, String> properties, Collection<Dependency> dependencies,
+                     Collection<Dependency> managedDependencies, Collection<String> childrenModules) {
+        this.groupId = intern(groupId);
+        this.artifactId = intern(artifactId);
+        this.version = intern(version);
+        this.parentGroupId = intern(parentGroupId);
+        this.parentArtifactId = intern(parentArtifactId);
+        this.parentVersion = intern(parentVersion);
+        this.parentRelativePath = intern(parentRelativePath);
+        this.properties = properties == null ? ImmutableMap.of() : properties.entrySet().stream()
+                .collect(ImmutableMap.toImmutableMap(property -> intern(property.getKey()), property -> intern(property.getValue())));
+        this.dependencies = copyDependencies(dependencies);
+        this.managedDependencies = copyDependencies(managedDependencies);
+        this.childrenModules = childrenModules == null ? ImmutableSet.of() : childrenModules.stream()
+                .map(PomModel::intern)
+                .collect(ImmutableSet.toImmutableSet());
+    }
+
+    /**
+     * Takes snapshot of pom
+     *
+     * @param pomReader reader of pom
+     * @return model of pom
+     */
+    public static PomModel of(PomReader pomReader) {
+        Parent parent = pomReader.getParent();
+        return PomModel.builder()
+                .groupId(pomReader.getGroupId())
+                .artifactId(pomReader.getArtifactId())
+                .version(pomReader.getVersion())
+                .parentGroupId(pomReader.getParentGroupId())
+                .parentArtifactId(parent == null ? null : parent.getArtifactId())
+                .parentVersion(parent == null ? null : parent.getVersion())
+                .parentRelativePath(pomReader.getParentRelativePath())
+                .properties(pomReader.getProperties())
+                .dependencies(pomReader.getAllDependencies())
+                .managedDependencies(pomReader.getManagedDependencies())
+                .childrenModules(pomReader.getChildrenModules())
+                .build();
+    }
+
+    /**
+     * @return parent of the project or null, if the parent is absent or has not all coordinates
+     */
+    public Parent getParent() {
+        if (parentGroupId == null || parentArtifactId == null || parentVersion == null) {
+            return null;
+        }
+        return Parent.builder()
+                .groupId(parentGroupId)
+                .artifactId(parentArtifactId)
+                .version(parentVersion)
+                .build();
+    }
+
+    /**
+     * @return groupId of the project or groupId of the parent, if the project does not have it
+     */
+    public String getEffectiveGroupId() {
+        if (groupId == null) {
+            return parentGroupId;
+        }
+        return groupId;
+    }
+
+    /**
+     * Dependencies are mutable beans, so every call returns new copies, which share the interned strings of the model
+     *
+     * @return dependencies of the project
+     */
+    public Set<Dependency> getDependencies() {
+        return dependencies.stream()
+                .map(PomModel::copyDependency)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Like {@link #getDependencies()}, every call returns new copies
+     *
+     * @return dependencies from dependencyManagement of the project
+     */
+    public Set<Dependency> getManagedDependencies() {
+        return managedDependencies.stream()
+                .map(PomModel::copyDependency)
+                .collect(Collectors.toSet());
+    }
+
+    private static ImmutableList<Dependency> copyDependencies(Collection<Dependency> dependencies) {
+        if (dependencies == null) {
+            return ImmutableList.of();
+        }
+        return dependencies.stream()
+                .map(PomModel::copyDependency)
+                .collect(ImmutableList.toImmutableList());
+    }
+
+    private static Dependency copyDependency(Dependency dependency) {
+        return Dependency.builder()
+                .groupId(intern(dependency.getGroupId()))
+                .artifactId(intern(dependency.getArtifactId()))
+                .version(intern(dependency.getVersion()))
+                .scope(dependency.getScope())
+                .build();
+    }
+
+    private static String intern(String value) {
+        return value == null ? null : STRINGS.intern(value);
+    }
+
+}
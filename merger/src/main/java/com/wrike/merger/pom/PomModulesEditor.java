@@ -0,0 +1,324 @@
+package com.wrike.merger.pom;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Adds child module to pom file, changing only the required part of the file.
+ * <p>
+ * Unlike {@link FilePomParser}, the pom is not parsed to DOM and written again, so formatting, comments
+ * and the order of attributes are kept. The file is scanned once to find the project {@code modules} element,
+ * and the new {@code module} element is inserted after the last one with the same indentation and line separator.
+ * If the module is already listed, the file is not written at all.
+ * </p>
+ * <p>
+ * Only UTF-8 files are edited in place. Other files or files, which can't be scanned, are edited with {@link FilePomParser}.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class PomModulesEditor {
+
+    private static final Logger LOG = LogManager.getLogger(PomModulesEditor.class);
+    private static final Pattern ENCODING_DECLARATION = Pattern.compile("^\uFEFF?\\s*<\\?xml[^>]*encoding\\s*=\\s*[\"']([^\"']+)[\"']");
+    private static final String DEFAULT_INDENT = "    ";
+    private static final String PROJECT = "project";
+    private static final String MODULES = "modules";
+    private static final String MODULE = "module";
+
+    private final String content;
+    private final Deque<String> openElements = new ArrayDeque<>();
+    private final Set<String> childrenModules = new HashSet<>();
+    private StringBuilder childModuleText;
+    private int projectStartTagEnd = -1;
+    private int firstProjectChildStart = -1;
+    private int lastProjectChildEnd = -1;
+    private int modulesStart = -1;
+    private int modulesStartTagEnd = -1;
+    private int modulesEndTagStart = -1;
+    private int lastModuleStart = -1;
+    private int lastModuleEnd = -1;
+
+    private PomModulesEditor(String content) {
+        this.content = content;
+    }
+
+    /**
+     * Adds child module to pom file, if it is not listed yet
+     *
+     * @param pomFile    pom file to edit
+     * @param moduleName name of child module
+     * @return true, if the file was changed, false, if the module was already listed
+     * @throws PomParserException if pom can't be read or written
+     */
+    public static boolean addChildModuleIfDoesNotExist(Path pomFile, String moduleName) {
+        String content;
+        try {
+            content = readUtf8(pomFile);
+        } catch (CharacterCodingException e) {
+            LOG.debug("`{}` is not a UTF-8 file, it will be rewritten", pomFile, e);
+            return addChildModuleWithPomParser(pomFile, moduleName);
+        } catch (IOException e) {
+            throw new PomParserException(String.format("Unable to read xml from `%s` file", pomFile), e);
+        }
+        PomModulesEditor pomModulesEditor = new PomModulesEditor(content);
+        if (!isUtf8Declared(content) || !pomModulesEditor.scan()) {
+            LOG.debug("`{}` can't be edited in place, it will be rewritten", pomFile);
+            return addChildModuleWithPomParser(pomFile, moduleName);
+        }
+        if (pomModulesEditor.childrenModules.contains(moduleName)) {
+            return false;
+        }
+        try {
+            Files.write(pomFile, pomModulesEditor.insertChildModule(moduleName).getBytes(UTF_8));
+        } catch (IOException e) {
+            throw new PomParserException(String.format("Unable to write xml to `%s` file", pomFile), e);
+        }
+        return true;
+    }
+
+    private static String readUtf8(Path pomFile) throws IOException {
+        return UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(ByteBuffer.wrap(Files.readAllBytes(pomFile)))
+                .toString();
+    }
+
+    private static boolean isUtf8Declared(String content) {
+        Matcher encodingMatcher = ENCODING_DECLARATION.matcher(content);
+        return !encodingMatcher.find() || UTF_8.name().equalsIgnoreCase(encodingMatcher.group(1));
+    }
+
+    private static boolean addChildModuleWithPomParser(Path pomFile, String moduleName) {
+        FilePomParser pomParser = new FilePomParser(pomFile);
+        if (pomParser.getChildrenModules().contains(moduleName)) {
+            return false;
+        }
+        pomParser.addChildModuleIfDoesNotExist(moduleName);
+        pomParser.writeToOriginFile();
+        return true;
+    }
+
+    /**
+     * Inserts child module into the scanned content
+     *
+     * @param moduleName name of child module
+     * @return content with the child module
+     */
+    private String insertChildModule(String moduleName) {
+        String lineSeparator = content.contains("\r\n") ? "\r\n" : "\n";
+        String childIndent = firstProjectChildStart != -1 ? getLineIndent(firstProjectChildStart) : "";
+        if (childIndent.isEmpty()) {
+            childIndent = DEFAULT_INDENT;
+        }
+        String moduleElement = "<" + MODULE + ">" + moduleName + "</" + MODULE + ">";
+        if (lastModuleEnd != -1) {
+            return splice(lastModuleEnd, lastModuleEnd, lineSeparator + getLineIndent(lastModuleStart) + moduleElement);
+        }
+        if (modulesStart != -1) {
+            String modulesIndent = getLineIndent(modulesStart);
+            String modulesContent = lineSeparator + modulesIndent + childIndent + moduleElement + lineSeparator + modulesIndent;
+            if (modulesEndTagStart == -1) {
+                return splice(modulesStart, modulesStartTagEnd, "<" + MODULES + ">" + modulesContent + "</" + MODULES + ">");
+            }
+            return splice(modulesStartTagEnd, modulesEndTagStart, modulesContent);
+        }
+        String modulesElement = lineSeparator + childIndent + "<" + MODULES + ">"
+                + lineSeparator + childIndent + childIndent + moduleElement
+                + lineSeparator + childIndent + "</" + MODULES + ">";
+        int insertionOffset = lastProjectChildEnd != -1 ? lastProjectChildEnd : projectStartTagEnd;
+        return splice(insertionOffset, insertionOffset, modulesElement);
+    }
+
+    private String splice(int start, int end, String replacement) {
+        return content.substring(0, start) + replacement + content.substring(end);
+    }
+
+    /**
+     * @param offset offset of element start
+     * @return whitespace before element in its line or empty string, if the line has something else before element
+     */
+    private String getLineIndent(int offset) {
+        int lineStart = offset;
+        while (lineStart > 0 && (content.charAt(lineStart - 1) == ' ' || content.charAt(lineStart - 1) == '\t')) {
+            lineStart--;
+        }
+        if (lineStart > 0 && content.charAt(lineStart - 1) != '\n' && content.charAt(lineStart - 1) != '\r') {
+            return "";
+        }
+        return content.substring(lineStart, offset);
+    }
+
+    /**
+     * Scans tags of the content, remembering offsets of the project children and modules
+     *
+     * @return true, if the content was scanned till the end of the project root element
+     */
+    private boolean scan() {
+        int position = 0;
+        while (true) {
+            int tagStart = content.indexOf('<', position);
+            if (tagStart == -1) {
+                return false;
+            }
+            appendChildModuleText(position, tagStart);
+            if (content.startsWith("<!--", tagStart)) {
+                position = skipAfter(tagStart, "-->");
+            } else if (content.startsWith("<![CDATA[", tagStart)) {
+                position = skipAfter(tagStart, "]]>");
+                if (position != -1) {
+                    appendChildModuleText(tagStart + "<![CDATA[".length(), position - "]]>".length());
+                }
+            } else if (content.startsWith("<?", tagStart)) {
+                position = skipAfter(tagStart, "?>");
+            } else if (content.startsWith("<!", tagStart)) {
+                position = skipAfter(tagStart, ">");
+                if (position != -1 && content.substring(tagStart, position).contains("[")) {
+                    return false;
+                }
+            } else if (content.startsWith("</", tagStart)) {
+                position = skipAfter(tagStart, ">");
+                if (position == -1 || !onEndTag(content.substring(tagStart + 2, position - 1).trim(), tagStart, position)) {
+                    return false;
+                }
+                if (openElements.isEmpty()) {
+                    return projectStartTagEnd != -1;
+                }
+            } else {
+                position = getStartTagEnd(tagStart);
+                if (position == -1) {
+                    return false;
+                }
+                onStartTag(tagStart, position);
+            }
+            if (position == -1) {
+                return false;
+            }
+        }
+    }
+
+    private int skipAfter(int start, String end) {
+        int endStart = content.indexOf(end, start);
+        return endStart == -1 ? -1 : endStart + end.length();
+    }
+
+    /**
+     * @param tagStart offset of start tag
+     * @return offset after the start tag, attributes values can contain {@code >}
+     */
+    private int getStartTagEnd(int tagStart) {
+        char quote = 0;
+        for (int i = tagStart + 1; i < content.length(); i++) {
+            char character = content.charAt(i);
+            if (quote != 0) {
+                if (character == quote) {
+                    quote = 0;
+                }
+            } else if (character == '"' || character == '\'') {
+                quote = character;
+            } else if (character == '>') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private void onStartTag(int tagStart, int tagEnd) {
+        int nameEnd = tagStart + 1;
+        while (nameEnd < tagEnd && !Character.isWhitespace(content.charAt(nameEnd))
+                && content.charAt(nameEnd) != '/' && content.charAt(nameEnd) != '>') {
+            nameEnd++;
+        }
+        String name = content.substring(tagStart + 1, nameEnd);
+        boolean selfClosing = content.charAt(tagEnd - 2) == '/';
+        if (isOpen(PROJECT)) {
+            if (firstProjectChildStart == -1) {
+                firstProjectChildStart = tagStart;
+            }
+            if (selfClosing) {
+                lastProjectChildEnd = tagEnd;
+            }
+            if (MODULES.equals(name) && modulesStart == -1) {
+                modulesStart = tagStart;
+                modulesStartTagEnd = tagEnd;
+            }
+        } else if (isOpen(PROJECT, MODULES) && MODULE.equals(name) && isFirstModules()) {
+            lastModuleStart = tagStart;
+            if (selfClosing) {
+                lastModuleEnd = tagEnd;
+            } else {
+                childModuleText = new StringBuilder();
+            }
+        } else if (openElements.isEmpty() && PROJECT.equals(name)) {
+            projectStartTagEnd = tagEnd;
+        }
+        if (!selfClosing) {
+            openElements.push(name);
+        }
+    }
+
+    private boolean onEndTag(String name, int tagStart, int tagEnd) {
+        if (!name.equals(openElements.peek())) {
+            return false;
+        }
+        if (isOpen(PROJECT, MODULES, MODULE) && childModuleText != null) {
+            childrenModules.add(childModuleText.toString().trim());
+            childModuleText = null;
+            lastModuleEnd = tagEnd;
+        } else if (isOpen(PROJECT, MODULES) && isFirstModules()) {
+            modulesEndTagStart = tagStart;
+        }
+        openElements.pop();
+        if (isOpen(PROJECT)) {
+            lastProjectChildEnd = tagEnd;
+        }
+        return true;
+    }
+
+    /**
+     * @return true, if the currently open modules element is the first one in the project
+     */
+    private boolean isFirstModules() {
+        return modulesEndTagStart == -1;
+    }
+
+    private void appendChildModuleText(int start, int end) {
+        if (childModuleText != null) {
+            childModuleText.append(content, start, end);
+        }
+    }
+
+    /**
+     * @param elements names of elements from the root
+     * @return true, if exactly these elements are open now
+     */
+    private boolean isOpen(String... elements) {
+        if (openElements.size() != elements.length) {
+            return false;
+        }
+        int i = elements.length - 1;
+        for (String openElement : openElements) {
+            if (!openElement.equals(elements[i--])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -13,7 +13,7 @@ import java.util.Set;
  *
  * @author daniil.shylko on 31.08.2022
  */
-public interface PomParser {
+public interface PomParser extends PomReader {
 
     void removeDependencyIfExists(Dependency dependency);
 
@@ -25,26 +25,21 @@ public interface PomParser {
 
     void addDependencyIfDoesNotExist(Dependency dependency);
 
-    Set<Dependency> getAllDependencies();
-
     List<Node> getProjectChildren();
 
-    String getArtifactId();
-
-    String getGroupId();
-
-    String getVersion();
-
-    String getParentGroupId();
-
-    String getEffectiveGroupId();
+    void setArtifactId(String artifactId);
 
     void addChildModuleIfDoesNotExist(String moduleName);
 
-    Set<String> getChildrenModules();
-
     void setParent(Parent parent);
 
     void writeToFile(Path filePath);
 
+    /**
+     * Starts recording of changes, which are applied together
+     *
+     * @return new transaction
+     */
+    PomTransaction beginTransaction();
+
 }
@@ -0,0 +1,51 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import com.wrike.merger.pom.bean.Parent;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view of pom, contains methods for reading values from pom files.
+ *
+ * @author agent on 18.10.2026
+ * @see PomParser
+ */
+public interface PomReader {
+
+    Set<Dependency> getAllDependencies();
+
+    String getArtifactId();
+
+    String getGroupId();
+
+    String getVersion();
+
+    String getParentGroupId();
+
+    /**
+     * @return parent of the project or null, if the parent is absent or has not all coordinates
+     */
+    Parent getParent();
+
+    /**
+     * @return relative path to the parent pom, empty string, if lookup of parent is disabled, or null, if it is not set
+     */
+    String getParentRelativePath();
+
+    /**
+     * @return properties of the project without interpolation
+     */
+    Map<String, String> getProperties();
+
+    /**
+     * @return dependencies from dependencyManagement of the project
+     */
+    Set<Dependency> getManagedDependencies();
+
+    String getEffectiveGroupId();
+
+    Set<String> getChildrenModules();
+
+}
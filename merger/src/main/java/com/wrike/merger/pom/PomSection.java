@@ -0,0 +1,21 @@
+package com.wrike.merger.pom;
+
+/**
+ * Sections of pom, which can be requested from {@link StreamingPomParser}.
+ * <p>
+ * {@link #COORDINATES} are groupId, artifactId and version of the project. The section is found only when all of them
+ * are declared, so the pom, which inherits groupId or version from its parent, is read to the end.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public enum PomSection {
+
+    COORDINATES,
+    PARENT,
+    PROPERTIES,
+    DEPENDENCIES,
+    DEPENDENCY_MANAGEMENT,
+    CHILDREN_MODULES
+
+}
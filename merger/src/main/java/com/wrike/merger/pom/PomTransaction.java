@@ -0,0 +1,101 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import com.wrike.merger.pom.bean.Parent;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Batch of changes of pom, which is created with {@link PomParser#beginTransaction()}.
+ * <p>
+ * Changes are only recorded until {@link #apply()} or {@link #commit(Path)} is called. Then all of them are applied
+ * in one pass over the project element, so the number of lookups in the document does not depend on the number of changes.
+ * The result is the same as calling the corresponding methods of {@link PomParser} in the same order, except one case:
+ * if all existing dependencies are removed one by one and other dependencies are added, the emptied {@code <dependencies>}
+ * element is reused and keeps its position, while separate calls remove it and append a new one to the end of the project.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+@Getter(AccessLevel.PACKAGE)
+public class PomTransaction {
+
+    private final AbstractPomParser pomParser;
+    private final Set<Dependency> removedDependencies = new LinkedHashSet<>();
+    private final Map<Dependency, Dependency> addedDependencies = new LinkedHashMap<>();
+    private final Set<String> addedChildrenModules = new LinkedHashSet<>();
+    private boolean allDependenciesRemoved;
+    private Parent parent;
+    private String artifactId;
+
+    PomTransaction(AbstractPomParser pomParser) {
+        this.pomParser = pomParser;
+    }
+
+    public PomTransaction removeDependencyIfExists(Dependency dependency) {
+        addedDependencies.remove(dependency);
+        removedDependencies.add(dependency);
+        return this;
+    }
+
+    public PomTransaction removeAllDependencies() {
+        addedDependencies.clear();
+        removedDependencies.clear();
+        allDependenciesRemoved = true;
+        return this;
+    }
+
+    public PomTransaction setDependencies(Set<Dependency> dependencies) {
+        removeAllDependencies();
+        return addDependenciesIfDoesNotExist(dependencies);
+    }
+
+    public PomTransaction addDependenciesIfDoesNotExist(Set<Dependency> dependencies) {
+        dependencies.forEach(this::addDependencyIfDoesNotExist);
+        return this;
+    }
+
+    public PomTransaction addDependencyIfDoesNotExist(Dependency dependency) {
+        addedDependencies.putIfAbsent(dependency, dependency);
+        return this;
+    }
+
+    public PomTransaction setArtifactId(String artifactId) {
+        this.artifactId = artifactId;
+        return this;
+    }
+
+    public PomTransaction setParent(Parent parent) {
+        this.parent = parent;
+        return this;
+    }
+
+    public PomTransaction addChildModuleIfDoesNotExist(String moduleName) {
+        addedChildrenModules.add(moduleName);
+        return this;
+    }
+
+    /**
+     * Applies all recorded changes to the document of pom parser
+     */
+    public void apply() {
+        pomParser.applyTransaction(this);
+    }
+
+    /**
+     * Applies all recorded changes and writes the document to file once
+     *
+     * @param filePath path to output file
+     */
+    public void commit(Path filePath) {
+        apply();
+        pomParser.writeToFile(filePath);
+    }
+
+}
@@ -0,0 +1,299 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import com.wrike.merger.pom.bean.Dependency.DependencyBuilder;
+import com.wrike.merger.pom.bean.Parent;
+import lombok.Getter;
+import lombok.NonNull;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.wrike.merger.pom.bean.DependencyScope.getScopeByName;
+import static com.wrike.merger.pom.utils.XmlUtils.createXmlStreamReader;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Read-only pom parser from existent file, which does not build DOM.
+ * <p>
+ * The file is read in one forward pass with StAX. Only groupId, artifactId, version, parent, properties, dependencies,
+ * managed dependencies and children modules of the project are extracted, other elements are skipped.
+ * Reading stops as soon as all {@link PomSection}s, which were requested by the caller, are found, so the rest of the file
+ * is not read. Sections, which were not requested, contain only values, which were read before stopping.
+ * </p>
+ * <p>
+ * The parser is read-only, so it implements only {@link PomReader}. Use {@link FilePomParser} to change or write pom.
+ * </p>
+ *
+ * @author agent on 18.10.2026
+ */
+public class StreamingPomParser implements PomReader {
+
+    @Getter
+    private final Path originPath;
+    private final Set<Dependency> dependencies = new HashSet<>();
+    private final Set<Dependency> managedDependencies = new HashSet<>();
+    private final Map<String, String> properties = new HashMap<>();
+    private final Set<String> childrenModules = new HashSet<>();
+    private final Set<PomSection> requiredSections;
+    private final Set<PomSection> foundSections = EnumSet.noneOf(PomSection.class);
+    private String artifactId;
+    private String groupId;
+    private String version;
+    private String parentGroupId;
+    private String parentArtifactId;
+    private String parentVersion;
+    private String parentRelativePath;
+
+    public StreamingPomParser(@NonNull Path originPath) {
+        this(originPath, EnumSet.allOf(PomSection.class));
+    }
+
+    /**
+     * @param originPath       path to pom file
+     * @param requiredSections sections, which are needed by the caller, reading stops as soon as all of them are found
+     */
+    public StreamingPomParser(@NonNull Path originPath, @NonNull Set<PomSection> requiredSections) {
+        this.originPath = originPath;
+        this.requiredSections = requiredSections.isEmpty() ? EnumSet.noneOf(PomSection.class) : EnumSet.copyOf(requiredSections);
+        try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(originPath))) {
+            XMLStreamReader reader = createXmlStreamReader(inputStream);
+            try {
+                readProject(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            throw new PomParserException(String.format("Unable to read xml from `%s` file", originPath), e);
+        }
+    }
+
+    @Override
+    public Set<Dependency> getAllDependencies() {
+        return new HashSet<>(dependencies);
+    }
+
+    @Override
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    @Override
+    public String getGroupId() {
+        return groupId;
+    }
+
+    @Override
+    public String getVersion() {
+        return version;
+    }
+
+    @Override
+    public String getParentGroupId() {
+        return parentGroupId;
+    }
+
+    @Override
+    public Parent getParent() {
+        if (parentGroupId == null || parentArtifactId == null || parentVersion == null) {
+            return null;
+        }
+        return Parent.builder()
+                .groupId(parentGroupId)
+                .artifactId(parentArtifactId)
+                .version(parentVersion)
+                .build();
+    }
+
+    @Override
+    public String getParentRelativePath() {
+        return parentRelativePath;
+    }
+
+    @Override
+    public Map<String, String> getProperties() {
+        return new HashMap<>(properties);
+    }
+
+    @Override
+    public Set<Dependency> getManagedDependencies() {
+        return new HashSet<>(managedDependencies);
+    }
+
+    @Override
+    public String getEffectiveGroupId() {
+        if (groupId == null) {
+            return parentGroupId;
+        }
+        return groupId;
+    }
+
+    @Override
+    public Set<String> getChildrenModules() {
+        return new HashSet<>(childrenModules);
+    }
+
+    private void readProject(XMLStreamReader reader) throws XMLStreamException {
+        if (reader.nextTag() != START_ELEMENT || !"project".equals(reader.getLocalName())) {
+            return;
+        }
+        while (!foundSections.containsAll(requiredSections) && reader.nextTag() == START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "artifactId":
+                    artifactId = reader.getElementText();
+                    checkCoordinatesFound();
+                    break;
+                case "groupId":
+                    groupId = reader.getElementText();
+                    checkCoordinatesFound();
+                    break;
+                case "version":
+                    version = reader.getElementText();
+                    checkCoordinatesFound();
+                    break;
+                case "parent":
+                    readParent(reader);
+                    break;
+                case "properties":
+                    readProperties(reader);
+                    break;
+                case "dependencies":
+                    foundSections.add(PomSection.DEPENDENCIES);
+                    readDependencies(reader, dependencies);
+                    break;
+                case "dependencyManagement":
+                    readDependencyManagement(reader);
+                    break;
+                case "modules":
+                    readChildrenModules(reader);
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+    }
+
+    private void checkCoordinatesFound() {
+        if (artifactId != null && groupId != null && version != null) {
+            foundSections.add(PomSection.COORDINATES);
+        }
+    }
+
+    private void readParent(XMLStreamReader reader) throws XMLStreamException {
+        foundSections.add(PomSection.PARENT);
+        while (reader.nextTag() == START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case "groupId":
+                    parentGroupId = reader.getElementText();
+                    break;
+                case "artifactId":
+                    parentArtifactId = reader.getElementText();
+                    break;
+                case "version":
+                    parentVersion = reader.getElementText();
+                    break;
+                case "relativePath":
+                    parentRelativePath = reader.getElementText();
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+    }
+
+    private void readProperties(XMLStreamReader reader) throws XMLStreamException {
+        foundSections.add(PomSection.PROPERTIES);
+        while (reader.nextTag() == START_ELEMENT) {
+            properties.put(reader.getLocalName(), reader.getElementText());
+        }
+    }
+
+    private void readDependencyManagement(XMLStreamReader reader) throws XMLStreamException {
+        foundSections.add(PomSection.DEPENDENCY_MANAGEMENT);
+        while (reader.nextTag() == START_ELEMENT) {
+            if ("dependencies".equals(reader.getLocalName())) {
+                readDependencies(reader, managedDependencies);
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private void readDependencies(XMLStreamReader reader, Set<Dependency> readDependencies) throws XMLStreamException {
+        while (reader.nextTag() == START_ELEMENT) {
+            if ("dependency".equals(reader.getLocalName())) {
+                readDependencies.add(readDependency(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private Dependency readDependency(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> childrenValues = new HashMap<>();
+        while (reader.nextTag() == START_ELEMENT) {
+            String childName = reader.getLocalName();
+            switch (childName) {
+                case "groupId":
+                case "artifactId":
+                case "version":
+                case "scope":
+                    childrenValues.put(childName, reader.getElementText());
+                    break;
+                default:
+                    skipElement(reader);
+            }
+        }
+        DependencyBuilder dependencyBuilder = Dependency.builder()
+                .groupId(childrenValues.get("groupId"))
+                .artifactId(childrenValues.get("artifactId"))
+                .version(childrenValues.get("version"));
+        String scope = childrenValues.get("scope");
+        if (scope != null) {
+            dependencyBuilder.scope(getScopeByName(scope)
+                    .orElseThrow(() -> new PomParserException("Illegal scope: " + scope)));
+        }
+        return dependencyBuilder.build();
+    }
+
+    private void readChildrenModules(XMLStreamReader reader) throws XMLStreamException {
+        foundSections.add(PomSection.CHILDREN_MODULES);
+        while (reader.nextTag() == START_ELEMENT) {
+            if ("module".equals(reader.getLocalName())) {
+                childrenModules.add(reader.getElementText());
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    /**
+     * Skips the current element with all its content
+     *
+     * @param reader reader, which is positioned on the start of element
+     * @throws XMLStreamException if reading failed
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+}
@@ -22,7 +22,8 @@ public enum DependencyScope {
     COMPILE("compile"),
     RUNTIME("runtime"),
     PROVIDED("provided"),
-    TEST("test");
+    TEST("test"),
+    IMPORT("import");
 
     private final String scopeName;
 
@@ -0,0 +1,258 @@
+package com.wrike.merger.pom.utils;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.ProcessingInstruction;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import static org.w3c.dom.Node.CDATA_SECTION_NODE;
+import static org.w3c.dom.Node.COMMENT_NODE;
+import static org.w3c.dom.Node.ELEMENT_NODE;
+import static org.w3c.dom.Node.PROCESSING_INSTRUCTION_NODE;
+import static org.w3c.dom.Node.TEXT_NODE;
+
+/**
+ * Writes DOM document as prettified XML in one pass without XSLT.
+ * <p>
+ * The output is the same as the identity transform with {@code indent="yes"} and {@code strip-space="*"}
+ * of the JDK transformer gives:
+ * </p>
+ * <ul>
+ *     <li>whitespace-only text is removed, adjacent text and CDATA sections are written as one escaped text</li>
+ *     <li>an element with only text is written in one line, an element without content is written as an empty tag</li>
+ *     <li>otherwise, every child starts a new line and is indented by 4 spaces per level</li>
+ *     <li>nodes outside the root element are written without line breaks, the document ends with a line break</li>
+ * </ul>
+ *
+ * @author agent on 18.10.2026
+ */
+final class PrettyXmlWriter {
+
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+    private static final String INDENT = "    ";
+    private static final String XMLNS_ATTRIBUTE = "xmlns";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Writer writer;
+
+    private PrettyXmlWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Writes prettified XML to writer. The writer should encode characters with UTF-8.
+     *
+     * @param document XML document
+     * @param writer   writer to write XML to
+     * @throws IOException if writing failed
+     */
+    static void write(Document document, Writer writer) throws IOException {
+        PrettyXmlWriter prettyXmlWriter = new PrettyXmlWriter(writer);
+        writer.write(XML_DECLARATION);
+        for (Node child = document.getFirstChild(); child != null; child = child.getNextSibling()) {
+            prettyXmlWriter.writeNode(child, 0);
+        }
+        writer.write(LINE_SEPARATOR);
+    }
+
+    private void writeNode(Node node, int depth) throws IOException {
+        switch (node.getNodeType()) {
+            case ELEMENT_NODE:
+                writeElement((Element) node, depth);
+                break;
+            case COMMENT_NODE:
+                writer.write("<!--");
+                writeText(node.getNodeValue(), false);
+                writer.write("-->");
+                break;
+            case PROCESSING_INSTRUCTION_NODE:
+                ProcessingInstruction processingInstruction = (ProcessingInstruction) node;
+                writer.write("<?");
+                writer.write(processingInstruction.getTarget());
+                if (!processingInstruction.getData().isEmpty()) {
+                    writer.write(' ');
+                    writeText(processingInstruction.getData(), false);
+                }
+                writer.write("?>");
+                break;
+            default:
+                // document type and other nodes are not written by the transformer either
+        }
+    }
+
+    private void writeElement(Element element, int depth) throws IOException {
+        writer.write('<');
+        writer.write(element.getTagName());
+        writeAttributes(element, true);
+        writeAttributes(element, false);
+        if (hasOnlyText(element)) {
+            String text = element.getTextContent();
+            if (isWhitespace(text)) {
+                writer.write("/>");
+                return;
+            }
+            writer.write('>');
+            writeText(text, true);
+        } else {
+            writer.write('>');
+            writeMixedContent(element, depth + 1);
+            writeLineStart(depth);
+        }
+        writer.write("</");
+        writer.write(element.getTagName());
+        writer.write('>');
+    }
+
+    /**
+     * Writes attributes of element. Like the transformer, namespace declarations are written before other attributes.
+     *
+     * @param element                element with attributes
+     * @param namespaceDeclarations true, if only namespace declarations should be written, false, if only other attributes
+     * @throws IOException if writing failed
+     */
+    private void writeAttributes(Element element, boolean namespaceDeclarations) throws IOException {
+        NamedNodeMap attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            Attr attribute = (Attr) attributes.item(i);
+            if (isNamespaceDeclaration(attribute) != namespaceDeclarations) {
+                continue;
+            }
+            writer.write(' ');
+            writer.write(attribute.getName());
+            writer.write("=\"");
+            writeAttributeValue(attribute.getValue());
+            writer.write('"');
+        }
+    }
+
+    /**
+     * Writes every child from a new line, joining adjacent text nodes
+     *
+     * @param element element with not only text
+     * @param depth   depth of children
+     * @throws IOException if writing failed
+     */
+    private void writeMixedContent(Element element, int depth) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (isText(child)) {
+                text.append(child.getNodeValue());
+                continue;
+            }
+            writeIndentedText(text, depth);
+            writeLineStart(depth);
+            writeNode(child, depth);
+        }
+        writeIndentedText(text, depth);
+    }
+
+    private void writeIndentedText(StringBuilder text, int depth) throws IOException {
+        if (!isWhitespace(text)) {
+            writeLineStart(depth);
+            writeText(text, true);
+        }
+        text.setLength(0);
+    }
+
+    private void writeLineStart(int depth) throws IOException {
+        writer.write(LINE_SEPARATOR);
+        for (int i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    /**
+     * Writes text, replacing line feeds with the system line separator.
+     * Markup characters in text content are escaped, while comments and processing instructions are written as they are.
+     *
+     * @param text   text to write
+     * @param escape true, if text is a content of element
+     * @throws IOException if writing failed
+     */
+    private void writeText(CharSequence text, boolean escape) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (character == '\n') {
+                writer.write(LINE_SEPARATOR);
+            } else if (!escape) {
+                writer.write(character);
+            } else if (character == '&') {
+                writer.write("&amp;");
+            } else if (character == '<') {
+                writer.write("&lt;");
+            } else if (character == '>') {
+                writer.write("&gt;");
+            } else if (character == '\r' || (character >= 0x7F && character <= 0x9F)) {
+                writeCharacterReference(character);
+            } else if (Character.isHighSurrogate(character) && i + 1 < text.length()) {
+                writeCharacterReference(Character.toCodePoint(character, text.charAt(++i)));
+            } else {
+                writer.write(character);
+            }
+        }
+    }
+
+    private void writeAttributeValue(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char character = value.charAt(i);
+            if (character == '&') {
+                writer.write("&amp;");
+            } else if (character == '<') {
+                writer.write("&lt;");
+            } else if (character == '>') {
+                writer.write("&gt;");
+            } else if (character == '"') {
+                writer.write("&quot;");
+            } else if (character == '\n' || character == '\r' || character == '\t') {
+                writeCharacterReference(character);
+            } else if (Character.isHighSurrogate(character) && i + 1 < value.length()) {
+                writeCharacterReference(Character.toCodePoint(character, value.charAt(++i)));
+            } else {
+                writer.write(character);
+            }
+        }
+    }
+
+    private void writeCharacterReference(int codePoint) throws IOException {
+        writer.write("&#");
+        writer.write(Integer.toString(codePoint));
+        writer.write(';');
+    }
+
+    private static boolean isNamespaceDeclaration(Attr attribute) {
+        return XMLNS_ATTRIBUTE.equals(attribute.getName()) || attribute.getName().startsWith(XMLNS_ATTRIBUTE + ':');
+    }
+
+    private static boolean hasOnlyText(Element element) {
+        for (Node child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (!isText(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isText(Node node) {
+        return node.getNodeType() == TEXT_NODE || node.getNodeType() == CDATA_SECTION_NODE;
+    }
+
+    /**
+     * @param text text to check
+     * @return true, if text consists of XML whitespace characters only
+     */
+    private static boolean isWhitespace(CharSequence text) {
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            if (character != ' ' && character != '\t' && character != '\n' && character != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
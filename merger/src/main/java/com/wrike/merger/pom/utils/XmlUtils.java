@@ -1,6 +1,5 @@
 package com.wrike.merger.pom.utils;
 
-import com.google.common.base.Suppliers;
 import com.wrike.merger.pom.PomParserException;
 import lombok.NonNull;
 import org.w3c.dom.Document;
@@ -11,28 +10,34 @@ import org.xml.sax.SAXException;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
-import javax.xml.transform.Templates;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Writer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.function.Supplier;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static javax.xml.xpath.XPathConstants.NODE;
 import static javax.xml.xpath.XPathConstants.NODESET;
 import static org.w3c.dom.Node.TEXT_NODE;
@@ -44,8 +49,12 @@ import static org.w3c.dom.Node.TEXT_NODE;
  */
 public class XmlUtils {
 
-    private static final String PRETTIER_FILENAME = "/prettier.xsl";
-    private static final Supplier<Templates> PRETTIFY_TEMPLATE_SUPPLIER = Suppliers.memoize(XmlUtils::getPrettifyTemplate);
+    static final int MAX_CACHED_XPATH_EXPRESSIONS = 64;
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = ThreadLocal.withInitial(XmlUtils::createDocumentBuilder);
+    private static final ThreadLocal<Transformer> DEFAULT_TRANSFORMER = ThreadLocal.withInitial(XmlUtils::createDefaultTransformer);
+    private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    private static final ThreadLocal<Map<String, XPathExpression>> XPATH_EXPRESSIONS = ThreadLocal.withInitial(XmlUtils::createXPathExpressionsCache);
+    private static final ThreadLocal<XMLInputFactory> XML_INPUT_FACTORY = ThreadLocal.withInitial(XmlUtils::createXmlInputFactory);
 
     private XmlUtils() {
     }
@@ -78,6 +87,17 @@ public class XmlUtils {
         }
     }
 
+    /**
+     * Creates streaming reader of XML from the given input stream. The caller should close both the reader and the stream.
+     *
+     * @param inputStream input stream with XML data
+     * @return XMLStreamReader
+     * @throws XMLStreamException if reader can't be created
+     */
+    public static XMLStreamReader createXmlStreamReader(InputStream inputStream) throws XMLStreamException {
+        return XML_INPUT_FACTORY.get().createXMLStreamReader(inputStream);
+    }
+
     /**
      * Creates parent directories for filePath to avoid {@link java.nio.file.NoSuchFileException}.
      *
@@ -93,43 +113,36 @@ public class XmlUtils {
     }
 
     /**
-     * Writes XML from document to file filePath
+     * Writes XML from document to file filePath "as it is"
      *
      * @param document XML document
      * @param filePath path to output file
-     * @param prettify this flag shows should we prettify XML or not
      */
-    private static void writeXml(Document document, Path filePath, boolean prettify) {
+    public static void writeXml(Document document, Path filePath) {
         document.setXmlStandalone(true);
         createParentDirectoryForFile(filePath);
         try (FileOutputStream output = new FileOutputStream(filePath.toFile())) {
             DOMSource source = new DOMSource(document);
             StreamResult result = new StreamResult(output);
-            Transformer transformer = prettify ? getPrettifyTransformer() : getDefaultTransformer();
-            transformer.transform(source, result);
+            getDefaultTransformer().transform(source, result);
         } catch (TransformerException | IOException e) {
             throw new PomParserException(String.format("Unable to write xml to `%s` file", filePath), e);
         }
     }
 
     /**
-     * Writes XML from document to file filePath "as it is"
-     *
-     * @param document XML document
-     * @param filePath path to output file
-     */
-    public static void writeXml(Document document, Path filePath) {
-        writeXml(document, filePath, false);
-    }
-
-    /**
-     * Writes prettified XML from document to file filePath
+     * Writes prettified XML from document to file filePath with {@link PrettyXmlWriter}
      *
      * @param document XML document
      * @param filePath path to output file
      */
     public static void writePrettifiedXml(Document document, Path filePath) {
-        writeXml(document, filePath, true);
+        createParentDirectoryForFile(filePath);
+        try (Writer writer = Files.newBufferedWriter(filePath, UTF_8)) {
+            PrettyXmlWriter.write(document, writer);
+        } catch (IOException e) {
+            throw new PomParserException(String.format("Unable to write xml to `%s` file", filePath), e);
+        }
     }
 
     /**
@@ -141,7 +154,7 @@ public class XmlUtils {
      */
     public static Node getNodeByXPath(Document document, String xPath) {
         try {
-            return (Node) xPath().compile(xPath).evaluate(document, NODE);
+            return (Node) compileXPath(xPath).evaluate(document, NODE);
         } catch (XPathExpressionException e) {
             throw new PomParserException(String.format("Unable to execute `%s` XPath", xPath), e);
         }
@@ -171,7 +184,7 @@ public class XmlUtils {
      */
     public static List<Node> getNodesByXPath(Document document, String xPath) {
         try {
-            NodeList nodeList = (NodeList) xPath().compile(xPath).evaluate(document, NODESET);
+            NodeList nodeList = (NodeList) compileXPath(xPath).evaluate(document, NODESET);
             return convertNodeListToList(nodeList);
         } catch (XPathExpressionException e) {
             throw new PomParserException(String.format("Unable to execute `%s` XPath", xPath), e);
@@ -228,11 +241,22 @@ public class XmlUtils {
     }
 
     /**
-     * Returns not thread-safe {@link DocumentBuilder}.
+     * Returns {@link DocumentBuilder} of the current thread, reset to its initial state.
      *
      * @return DocumentBuilder
      */
     private static DocumentBuilder getDocumentBuilder() {
+        DocumentBuilder documentBuilder = DOCUMENT_BUILDER.get();
+        documentBuilder.reset();
+        return documentBuilder;
+    }
+
+    /**
+     * Creates not thread-safe {@link DocumentBuilder}. The factory lookup is expensive, so it is done once per thread.
+     *
+     * @return DocumentBuilder
+     */
+    private static DocumentBuilder createDocumentBuilder() {
         try {
             DocumentBuilderFactory builderFactory = DocumentBuilderFactory.newInstance();
             return builderFactory.newDocumentBuilder();
@@ -242,54 +266,77 @@ public class XmlUtils {
     }
 
     /**
-     * Returns not thread-safe {@link Transformer}.
+     * Creates {@link XMLInputFactory}, which does not resolve DTDs and external entities, like {@link DocumentBuilder} does not validate.
+     *
+     * @return XMLInputFactory
+     */
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return xmlInputFactory;
+    }
+
+    /**
+     * Returns {@link Transformer} of the current thread, reset to its initial state.
      *
      * @return Transformer
      */
     private static Transformer getDefaultTransformer() {
-        try {
-            TransformerFactory transformerFactory = TransformerFactory.newInstance();
-            return transformerFactory.newTransformer();
-        } catch (TransformerConfigurationException e) {
-            throw new PomParserException("Unable to init default Transformer", e);
-        }
+        Transformer transformer = DEFAULT_TRANSFORMER.get();
+        transformer.reset();
+        return transformer;
     }
 
     /**
-     * Returns thread-safe {@link Templates}.
+     * Creates not thread-safe {@link Transformer}.
      *
-     * @return Templates
+     * @return Transformer
      */
-    private static Templates getPrettifyTemplate() {
-        TransformerFactory transformerFactory = TransformerFactory.newInstance();
-        InputStream prettierStream = XmlUtils.class.getResourceAsStream(PRETTIER_FILENAME);
+    private static Transformer createDefaultTransformer() {
         try {
-            return transformerFactory.newTemplates(new StreamSource(prettierStream));
+            TransformerFactory transformerFactory = TransformerFactory.newInstance();
+            return transformerFactory.newTransformer();
         } catch (TransformerConfigurationException e) {
-            throw new PomParserException("Unable to init prettify Transformer template", e);
+            throw new PomParserException("Unable to init default Transformer", e);
         }
     }
 
     /**
-     * Returns not thread-safe {@link Transformer}, which prettifies XML file.
+     * Returns compiled {@link XPathExpression} from the cache of the current thread.
+     * <p>
+     * Compiled expressions are not thread-safe, so every thread has its own cache. The cache keeps
+     * the recently used expressions, so constant paths stay compiled, while paths with values don't grow it.
+     * </p>
      *
-     * @return Transformer
+     * @param xPath xPath to compile
+     * @return compiled xPath
+     * @throws XPathExpressionException if xPath is invalid
      */
-    private static Transformer getPrettifyTransformer() {
-        try {
-            return PRETTIFY_TEMPLATE_SUPPLIER.get().newTransformer();
-        } catch (TransformerConfigurationException e) {
-            throw new PomParserException("Unable to init prettify Transformer", e);
+    private static XPathExpression compileXPath(String xPath) throws XPathExpressionException {
+        Map<String, XPathExpression> xPathExpressions = XPATH_EXPRESSIONS.get();
+        XPathExpression xPathExpression = xPathExpressions.get(xPath);
+        if (xPathExpression == null) {
+            xPathExpression = XPATH.get().compile(xPath);
+            xPathExpressions.put(xPath, xPathExpression);
         }
+        return xPathExpression;
     }
 
     /**
-     * Returns not thread-safe {@link XPath}.
-     *
-     * @return XPath
+     * @return xPaths, which are cached by the current thread, from the least recently used one
      */
-    private static XPath xPath() {
-        return XPathFactory.newInstance().newXPath();
+    static List<String> getCachedXPaths() {
+        return new ArrayList<>(XPATH_EXPRESSIONS.get().keySet());
+    }
+
+    private static Map<String, XPathExpression> createXPathExpressionsCache() {
+        return new LinkedHashMap<>(MAX_CACHED_XPATH_EXPRESSIONS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > MAX_CACHED_XPATH_EXPRESSIONS;
+            }
+        };
     }
 
 }
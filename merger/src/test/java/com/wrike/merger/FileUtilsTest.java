@@ -0,0 +1,62 @@
+package com.wrike.merger;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class FileUtilsTest {
+
+    @Test
+    void checkContentEqualsForFilesWithTheSameContent() throws IOException {
+        assertThat(FileUtils.contentEquals(getTempTestPomPath(), getTempTestPomPath()))
+                .as("Check files with the same content are equal")
+                .isTrue();
+    }
+
+    @Test
+    void checkContentEqualsForFilesWithDifferentSizes() throws IOException {
+        Path file = getTempTestPomPath();
+        Path otherFile = getTempTestPomPath();
+        Files.writeString(otherFile, "\n", StandardOpenOption.APPEND);
+
+        assertThat(FileUtils.contentEquals(file, otherFile))
+                .as("Check files with different sizes are not equal")
+                .isFalse();
+    }
+
+    @Test
+    void checkContentEqualsForLargeFilesWithDifferenceInTheLastChunk() throws IOException {
+        byte[] content = new byte[1024 * 1024 + 1];
+        Arrays.fill(content, (byte) 1);
+        Path file = getTempTestPomPath();
+        Path otherFile = getTempTestPomPath();
+        Files.write(file, content);
+        content[content.length - 1] = 2;
+        Files.write(otherFile, content);
+
+        assertThat(FileUtils.contentEquals(file, otherFile))
+                .as("Check files with the same size, but different content are not equal")
+                .isFalse();
+    }
+
+    @Test
+    void checkContentEqualsForHardLink() throws IOException {
+        Path file = getTempTestPomPath();
+        Path link = Files.createLink(file.resolveSibling(file.getFileName() + ".link"), file);
+
+        assertThat(FileUtils.contentEquals(file, link))
+                .as("Check hard link is equal to its file")
+                .isTrue();
+    }
+
+}
@@ -3,16 +3,22 @@ package com.wrike.merger;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static com.wrike.merger.ExitCode.MERGING_FAILED;
 import static com.wrike.merger.MockUtils.getMockedExceptionHandler;
 import static com.wrike.merger.utils.Constants.*;
 import static com.wrike.merger.utils.TestFileUtils.createTempTestDirectory;
+import static com.wrike.merger.utils.TestFilters.filterByAllureProperties;
+import static com.wrike.merger.utils.TestProjectDirectory.TEST_PROJECT;
 import static com.wrike.merger.utils.TestProjectDirectory.TEST_PROJECT_WITH_BROKEN_TARGET;
 import static com.wrike.merger.utils.TestProjectDirectory.TEST_PROJECT_WITH_CONFLICT;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -30,7 +36,7 @@ public class MavenModulesExceptionsTest {
 
         Mockito.verify(mockedExceptionHandler, times(1)).onException(any(), any());
         Mockito.verify(mockedExceptionHandler).onException(argThat(e ->
-                ("You should pass only four arguments" +
+                ("You should pass at least four arguments" +
                         " - modulesList, pathToProjectRoot, pathToOutputFile and mergeMode").equals(e.getMessage())), any());
     }
 
@@ -77,6 +83,73 @@ public class MavenModulesExceptionsTest {
         Mockito.verify(mockedExceptionHandler).onException(argThat(e -> possibleErrorMessages.contains(e.getMessage())), any());
     }
 
+    @Test
+    void checkExceptionForAllConflictsInMergePlan() {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT_WITH_CONFLICT);
+        Path pathToOutputFile = pathToProjectRoot.resolve(OUTPUT_FILENAME);
+        Path planFile = pathToProjectRoot.resolve("merge.plan");
+        ExceptionHandler mockedExceptionHandler = getMockedExceptionHandler();
+        MavenModulesMerger mavenModulesMerger = new MavenModulesMerger(mockedExceptionHandler, List.of());
+
+        mavenModulesMerger.merge("module1/module1_child1,module1/module1_child2,module1/module1_child3", pathToProjectRoot.toString(),
+                pathToOutputFile.toString(), SOURCE_MODE, "--plan=" + planFile);
+
+        Mockito.verify(mockedExceptionHandler).onException(argThat(e ->
+                "Modules can't be merged. Conflicts in files content: 2, conflicts in dependencies versions: 1".equals(e.getMessage())), any());
+    }
+
+    @Test
+    void checkAllConflictsAreReportedOnce() {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT_WITH_CONFLICT);
+        Path pathToOutputFile = pathToProjectRoot.resolve(OUTPUT_FILENAME);
+        Path conflictsReportFile = pathToProjectRoot.resolve("target").resolve("conflicts.json");
+        ExceptionHandler mockedExceptionHandler = getMockedExceptionHandler();
+        MavenModulesMerger mavenModulesMerger = new MavenModulesMerger(mockedExceptionHandler, List.of());
+
+        mavenModulesMerger.merge("module1/module1_child1,module1/module1_child2,module1/module1_child3", pathToProjectRoot.toString(),
+                pathToOutputFile.toString(), SOURCE_MODE, "--conflicts-report=" + conflictsReportFile);
+
+        Mockito.verify(mockedExceptionHandler, times(1)).onException(argThat(e ->
+                "Modules can't be merged. Conflicts in files content: 2, conflicts in dependencies versions: 1".equals(e.getMessage())), any());
+        assertThat(conflictsReportFile)
+                .as("Check conflicts report contains all conflicts")
+                .content()
+                .contains("module1/module1_child2/src/test/resources/allure.properties",
+                        "module1/module1_child3/src/test/resources/allure.properties",
+                        "\"artifactId\": \"test_artifactId\"");
+    }
+
+    @Test
+    void checkConflictsOfAllBucketsAreReportedOnce() throws IOException {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT);
+        Path pathToOutputFile = pathToProjectRoot.resolve(OUTPUT_FILENAME);
+        Path conflictsReportFile = pathToProjectRoot.resolve("target").resolve("conflicts.json");
+        Map<String, Integer> modulesSizes = Map.of(
+                "module3/module3_child1", 300_000,
+                "module2", 250_000,
+                "module1/module1_child2", 100_000,
+                "module3/module3_child2", 20,
+                "module1/module1_child1", 10
+        );
+        for (Map.Entry<String, Integer> moduleSize : modulesSizes.entrySet()) {
+            Files.writeString(pathToProjectRoot.resolve(moduleSize.getKey()).resolve("src").resolve("conflict.txt"), "a".repeat(moduleSize.getValue()));
+        }
+        ExceptionHandler mockedExceptionHandler = getMockedExceptionHandler();
+        MavenModulesMerger mavenModulesMerger = new MavenModulesMerger(mockedExceptionHandler, List.of(filterByAllureProperties()));
+
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE,
+                "--buckets=2", "--bucket-weight=source-size", "--conflicts-report=" + conflictsReportFile);
+
+        Mockito.verify(mockedExceptionHandler, times(1)).onException(argThat(e ->
+                "Modules can't be merged. Conflicts in files content: 3, conflicts in dependencies versions: 0".equals(e.getMessage())), any());
+        assertThat(conflictsReportFile)
+                .as("Check conflicts report contains conflicts of both merged modules")
+                .content()
+                .contains(modulesSizes.keySet().stream()
+                        .map(module -> module + "/src/conflict.txt")
+                        .toArray(String[]::new));
+    }
+
     @Test
     void checkExceptionWhenTargetIsAbsentForTargetMergeMode() {
         Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT_WITH_BROKEN_TARGET);
@@ -10,6 +10,8 @@ import org.mockito.Mockito;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -29,6 +31,9 @@ import static org.mockito.Mockito.times;
 public class MavenModulesMergerTest {
 
     private static final Set<Dependency> ALL_DEPENDENCIES = getAllDependencies();
+    private static final Path MODULE_3_CHILD_1_TEST_CLASS = Path.of("test/java/com/wrike/webtests/module3_child1/TestClass2.java");
+    private static final String MERGE_PLAN_FILENAME = "merge.plan";
+    private static final Path MODULE_3_CHILD_2_MAIN_CLASS = Path.of("main/java/com/wrike/webtests/module3_child2/TestClass1.java");
 
     private Path pathToProjectRoot;
     private Path pathToOutputFile;
@@ -86,19 +91,7 @@ public class MavenModulesMergerTest {
     void checkMergingAllModulesTogetherForSourceMergeMode() {
         mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE);
 
-        checkMergedDirectoryContainsOnlyContentOfOtherDirectories(
-                getModuleSrcDirectory(MERGED_MODULES),
-                List.of(
-                        getModuleSrcDirectory("module1/module1_child1"),
-                        getModuleSrcDirectory("module1/module1_child2"),
-                        getModuleSrcDirectory("module2"),
-                        getModuleSrcDirectory(MODULE_3_CHILD_1),
-                        getModuleSrcDirectory(MODULE_3_CHILD_2)
-                )
-        );
-        checkMergedModulesHasDependencies(ALL_DEPENDENCIES);
-        checkMergedModulesIsChildOfParentPom();
-        checkOutputFileHasModulesList(Set.of(MERGED_MODULES, MODULE_WITHOUT_ALLURE_PROPERTIES));
+        checkAllModulesWereMerged();
     }
 
     @Test
@@ -128,6 +121,264 @@ public class MavenModulesMergerTest {
         checkOutputFileHasModulesList(Set.of(MERGED_MODULES, MODULE_WITHOUT_ALLURE_PROPERTIES));
     }
 
+    @Test
+    void checkMergingAllModulesTogetherInSingleThread() {
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--parallelism=1");
+
+        checkAllModulesWereMerged();
+    }
+
+    @Test
+    void checkMergingAllModulesTogetherWithLinkStrategy() throws IOException {
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--link-strategy=link");
+
+        checkAllModulesWereMerged();
+        Path linkedFile = Path.of("test/java/com/wrike/webtests/module2/TestClass2.java");
+        assertThat(Files.isSameFile(getModuleSrcDirectory(MERGED_MODULES).resolve(linkedFile), getModuleSrcDirectory("module2").resolve(linkedFile)))
+                .as("Check merged file is a link to the module file")
+                .isTrue();
+    }
+
+    @Test
+    void checkIncrementalMergeCopiesOnlyAddedAndChangedFiles() throws IOException {
+        String[] arguments = {MODULE_3_CHILDREN, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--incremental=true"};
+        mavenModulesMerger.merge(arguments);
+        Path unchangedMergedFile = getModuleSrcDirectory(MERGED_MODULES).resolve(MODULE_3_CHILD_1_TEST_CLASS);
+        FileTime unchangedMergedFileTime = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(unchangedMergedFile, unchangedMergedFileTime);
+        Files.writeString(getModuleSrcDirectory(MODULE_3_CHILD_2).resolve(MODULE_3_CHILD_2_MAIN_CLASS), "changed");
+        Path addedFile = getModuleSrcDirectory(MODULE_3_CHILD_2).resolve("main/java/com/wrike/webtests/added/AddedClass.java");
+        Files.createDirectories(addedFile.getParent());
+        Files.writeString(addedFile, "added");
+
+        mavenModulesMerger.merge(arguments);
+
+        checkModule3WasMerged();
+        assertThat(Files.getLastModifiedTime(unchangedMergedFile))
+                .as("Check unchanged file was not copied again")
+                .isEqualTo(unchangedMergedFileTime);
+        assertThat(getModuleSrcDirectory(MERGED_MODULES).resolve(MODULE_3_CHILD_2_MAIN_CLASS))
+                .as("Check changed file was copied again")
+                .hasContent("changed");
+    }
+
+    @Test
+    void checkIncrementalMergeDeletesRemovedFiles() throws IOException {
+        String[] arguments = {MODULE_3_CHILDREN, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--incremental=true"};
+        mavenModulesMerger.merge(arguments);
+        org.apache.commons.io.FileUtils.deleteDirectory(getModuleSrcDirectory(MODULE_3_CHILD_2).resolve("main").toFile());
+
+        mavenModulesMerger.merge(arguments);
+
+        checkModule3WasMerged();
+    }
+
+    @Test
+    void checkIncrementalMergeRecreatesMergedModulesWithoutManifest() {
+        mavenModulesMerger.merge(MODULE_3_CHILDREN, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE);
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--incremental=true");
+
+        checkAllModulesWereMerged();
+    }
+
+    @Test
+    void checkMemoizedMergeIsSkippedForTheSameInputs() throws IOException {
+        String[] arguments = {MODULE_3_CHILDREN, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--memoize=true"};
+        Path rootPom = pathToProjectRoot.resolve(POM_FILENAME);
+        String originalRootPom = Files.readString(rootPom);
+        mavenModulesMerger.merge(arguments);
+        Path mergingMarker = pathToProjectRoot.resolve(MERGED_MODULES).resolve("merging_marker");
+        Files.createFile(mergingMarker);
+        Files.writeString(rootPom, originalRootPom);
+        Files.delete(pathToOutputFile);
+
+        mavenModulesMerger.merge(arguments);
+
+        assertThat(mergingMarker)
+                .as("Check merging was skipped for the restored root pom")
+                .exists();
+        checkMergedModulesIsChildOfParentPom();
+        checkOutputFileHasModulesList(Set.of(MERGED_MODULES));
+    }
+
+    @Test
+    void checkMemoizedMergeIsRepeatedForDeletedMergedPom() throws IOException {
+        String[] arguments = {MODULE_3_CHILDREN, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--memoize=true"};
+        mavenModulesMerger.merge(arguments);
+        Path mergedPom = getModulePomFile(MERGED_MODULES);
+        Files.delete(mergedPom);
+
+        mavenModulesMerger.merge(arguments);
+
+        assertThat(mergedPom)
+                .as("Check deleted merged pom was created again")
+                .exists();
+        checkModule3WasMerged();
+    }
+
+    @Test
+    void checkMemoizedMergeIsRepeatedForChangedParentPom() throws IOException {
+        String[] arguments = {MODULE_3_CHILDREN, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--memoize=true"};
+        mavenModulesMerger.merge(arguments);
+        Path mergingMarker = pathToProjectRoot.resolve(MERGED_MODULES).resolve("merging_marker");
+        Files.createFile(mergingMarker);
+        Path parentPom = pathToProjectRoot.resolve("module3").resolve(POM_FILENAME);
+        Files.writeString(parentPom, Files.readString(parentPom).replace("<modelVersion>", "<!-- changed --><modelVersion>"));
+
+        mavenModulesMerger.merge(arguments);
+
+        assertThat(mergingMarker)
+                .as("Check merging was repeated for the changed parent pom")
+                .doesNotExist();
+        checkModule3WasMerged();
+    }
+
+    @Test
+    void checkMemoizedMergeIsRepeatedForChangedInputs() throws IOException {
+        String[] arguments = {MODULE_3_CHILDREN, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--memoize=true"};
+        mavenModulesMerger.merge(arguments);
+        Files.writeString(getModuleSrcDirectory(MODULE_3_CHILD_2).resolve(MODULE_3_CHILD_2_MAIN_CLASS), "changed");
+
+        mavenModulesMerger.merge(arguments);
+
+        checkModule3WasMerged();
+        assertThat(getModuleSrcDirectory(MERGED_MODULES).resolve(MODULE_3_CHILD_2_MAIN_CLASS))
+                .as("Check changed file was merged")
+                .hasContent("changed");
+    }
+
+    @Test
+    void checkTestInventoryIsWrittenForMemoizedMerge() throws IOException {
+        Path testInventoryFile = pathToProjectRoot.resolve("target").resolve("test_inventory.tsv");
+        String[] arguments = {ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE,
+                "--memoize=true", "--test-inventory=" + testInventoryFile};
+        mavenModulesMerger.merge(arguments);
+        List<String> testInventory = Files.readAllLines(testInventoryFile);
+        Files.delete(testInventoryFile);
+
+        mavenModulesMerger.merge(arguments);
+
+        assertThat(testInventory)
+                .as("Check test classes are written with their modules and sizes")
+                .containsExactly(
+                        getTestInventoryLine("module1_child1", "module1/module1_child1"),
+                        getTestInventoryLine("module1_child2", "module1/module1_child2"),
+                        getTestInventoryLine("module2", "module2"),
+                        getTestInventoryLine("module3_child1", "module3/module3_child1")
+                );
+        assertThat(Files.readAllLines(testInventoryFile))
+                .as("Check test inventory of memoized merge is the same")
+                .isEqualTo(testInventory);
+    }
+
+    @Test
+    void checkMergingWithPomCache() {
+        String[] arguments = {ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--incremental=true", "--pom-cache=true"};
+        mavenModulesMerger.merge(arguments);
+        mavenModulesMerger.merge(arguments);
+
+        checkAllModulesWereMerged();
+    }
+
+    @Test
+    void checkMergingIntoSeveralBuckets() {
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--buckets=2");
+
+        List<String> mergedModulesNames = List.of(MERGED_MODULES + "_1", MERGED_MODULES + "_2");
+        for (String mergedModuleName : mergedModulesNames) {
+            assertThat(new FilePomParser(getModulePomFile(mergedModuleName)).getArtifactId())
+                    .as("Check artifactId of %s is the name of its directory", mergedModuleName)
+                    .isEqualTo(mergedModuleName);
+        }
+        assertThat(new FilePomParser(pathToProjectRoot.resolve(POM_FILENAME)).getChildrenModules())
+                .as("Check all buckets are children of the parent module")
+                .containsAll(mergedModulesNames);
+        checkMergedModulesModuleIsAbsent();
+        checkOutputFileHasModulesList(Set.of(MERGED_MODULES + "_1", MERGED_MODULES + "_2", MODULE_WITHOUT_ALLURE_PROPERTIES));
+    }
+
+    @Test
+    void checkModulesInCycleThroughNotMergedModuleAreMergedIntoOneBucket() throws IOException {
+        addDependencyOnModule(MODULE_3_CHILD_1, "module2");
+        addDependencyOnModule("module2", "module1_child2");
+
+        mavenModulesMerger.merge("module1/module1_child1,module1/module1_child2," + MODULE_3_CHILDREN,
+                pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--buckets=2");
+
+        Path module1Child2MainClass = Path.of("main/java/com/wrike/webtests/module1_child2/TestClass1.java");
+        Path bucketWithModule1Child2 = getModuleSrcDirectory(MERGED_MODULES + "_1");
+        if (!Files.exists(bucketWithModule1Child2.resolve(module1Child2MainClass))) {
+            bucketWithModule1Child2 = getModuleSrcDirectory(MERGED_MODULES + "_2");
+        }
+        assertThat(bucketWithModule1Child2.resolve(module1Child2MainClass))
+                .as("Check module1_child2 is merged")
+                .exists();
+        assertThat(bucketWithModule1Child2.resolve(MODULE_3_CHILD_1_TEST_CLASS))
+                .as("Check modules, which depend on each other through not merged module2, are merged into the same bucket")
+                .exists();
+    }
+
+    @Test
+    void checkModulesListIsSplitIntoShards() throws IOException {
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE,
+                "--buckets=2", "--shards=2", "--shard-strategy=weight");
+
+        checkOutputFileHasModulesList(Set.of(MERGED_MODULES + "_1", MERGED_MODULES + "_2", MODULE_WITHOUT_ALLURE_PROPERTIES));
+        List<String> shardedModules = new ArrayList<>();
+        for (String shardFileName : List.of("modulesList_1.txt", "modulesList_2.txt")) {
+            String shard = Files.readString(pathToOutputFile.resolveSibling(shardFileName));
+            assertThat(shard)
+                    .as("Check shard %s is not empty", shardFileName)
+                    .isNotEmpty();
+            shardedModules.addAll(List.of(shard.split(",")));
+        }
+        assertThat(shardedModules)
+                .as("Check every module is in exactly one shard")
+                .containsExactlyInAnyOrder(MERGED_MODULES + "_1", MERGED_MODULES + "_2", MODULE_WITHOUT_ALLURE_PROPERTIES);
+    }
+
+    @Test
+    void checkMemoizedMergeIsSkippedForSeveralBuckets() throws IOException {
+        String[] arguments = {ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--buckets=2", "--memoize=true"};
+        mavenModulesMerger.merge(arguments);
+        List<Path> mergingMarkers = List.of(
+                pathToProjectRoot.resolve(MERGED_MODULES + "_1").resolve("merging_marker"),
+                pathToProjectRoot.resolve(MERGED_MODULES + "_2").resolve("merging_marker"));
+        for (Path mergingMarker : mergingMarkers) {
+            Files.createFile(mergingMarker);
+        }
+
+        mavenModulesMerger.merge(arguments);
+
+        assertThat(mergingMarkers)
+                .as("Check merging of every bucket was skipped")
+                .allMatch(Files::exists);
+        checkOutputFileHasModulesList(Set.of(MERGED_MODULES + "_1", MERGED_MODULES + "_2", MODULE_WITHOUT_ALLURE_PROPERTIES));
+    }
+
+    @Test
+    void checkMergePlanIsCreatedWithoutMerging() {
+        Path planFile = pathToProjectRoot.resolve("target").resolve(MERGE_PLAN_FILENAME);
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--plan=" + planFile);
+
+        checkMergingWasNotPerformed();
+        assertThat(planFile)
+                .as("Check merge plan was written")
+                .isRegularFile();
+        assertThat(pathToOutputFile)
+                .as("Check output file was not written")
+                .doesNotExist();
+    }
+
+    @Test
+    void checkMergingByMergePlan() {
+        Path planFile = pathToProjectRoot.resolve(MERGE_PLAN_FILENAME);
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--plan=" + planFile);
+        mavenModulesMerger.merge(ALL_MODULES, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE, "--apply-plan=" + planFile);
+
+        checkAllModulesWereMerged();
+    }
+
     @Test
     void checkOnlySrcDirectoryIsMergedForSourceMergeMode() throws IOException {
         mavenModulesMerger.merge(MODULE_3_CHILDREN, pathToProjectRoot.toString(), pathToOutputFile.toString(), SOURCE_MODE);
@@ -158,6 +409,22 @@ public class MavenModulesMergerTest {
         checkModule3WasMerged();
     }
 
+    private void checkAllModulesWereMerged() {
+        checkMergedDirectoryContainsOnlyContentOfOtherDirectories(
+                getModuleSrcDirectory(MERGED_MODULES),
+                List.of(
+                        getModuleSrcDirectory("module1/module1_child1"),
+                        getModuleSrcDirectory("module1/module1_child2"),
+                        getModuleSrcDirectory("module2"),
+                        getModuleSrcDirectory(MODULE_3_CHILD_1),
+                        getModuleSrcDirectory(MODULE_3_CHILD_2)
+                )
+        );
+        checkMergedModulesHasDependencies(ALL_DEPENDENCIES);
+        checkMergedModulesIsChildOfParentPom();
+        checkOutputFileHasModulesList(Set.of(MERGED_MODULES, MODULE_WITHOUT_ALLURE_PROPERTIES));
+    }
+
     private void checkModule3WasMerged() {
         checkMergedDirectoryContainsOnlyContentOfOtherDirectories(
                 getModuleSrcDirectory(MERGED_MODULES),
@@ -190,6 +457,17 @@ public class MavenModulesMergerTest {
         return pathToProjectRoot.resolve(moduleName).resolve(POM_FILENAME);
     }
 
+    private void addDependencyOnModule(String moduleName, String dependencyArtifactId) throws IOException {
+        Path pomFile = getModulePomFile(moduleName);
+        Files.writeString(pomFile, Files.readString(pomFile).replace("    </dependencies>",
+                "        <dependency>\n" +
+                        "            <groupId>org.company</groupId>\n" +
+                        "            <artifactId>" + dependencyArtifactId + "</artifactId>\n" +
+                        "            <version>1.0-SNAPSHOT</version>\n" +
+                        "        </dependency>\n" +
+                        "    </dependencies>"));
+    }
+
     private void checkMergedModulesHasDependencies(Set<Dependency> dependencies) {
         assertThat(new FilePomParser(getModulePomFile(MERGED_MODULES)).getAllDependencies())
                 .as("Check merged_modules pom file dependencies")
@@ -219,6 +497,12 @@ public class MavenModulesMergerTest {
                 .doesNotContain(MERGED_MODULES);
     }
 
+    private String getTestInventoryLine(String packageName, String module) throws IOException {
+        String className = "com.wrike.webtests." + packageName + ".TestClass2";
+        long size = Files.size(getModuleSrcDirectory(module).resolve("test/java").resolve(className.replace('.', '/') + ".java"));
+        return String.join("\t", MERGED_MODULES, className, module, Long.toString(size));
+    }
+
     private void checkOutputFileHasModulesList(Set<String> modulesList) {
         try {
             assertThat(Files.readString(pathToOutputFile).split(","))
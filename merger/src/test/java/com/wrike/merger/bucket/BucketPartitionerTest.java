@@ -0,0 +1,107 @@
+package com.wrike.merger.bucket;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class BucketPartitionerTest {
+
+    @Test
+    void checkModulesAreBalancedByWeight() {
+        Map<Path, Long> modulesWeights = Map.of(
+                Path.of("a"), 7L,
+                Path.of("b"), 5L,
+                Path.of("c"), 4L,
+                Path.of("d"), 3L,
+                Path.of("e"), 1L
+        );
+
+        List<Set<Path>> buckets = BucketPartitioner.partition(modulesWeights, 2);
+
+        assertThat(buckets)
+                .as("Check heaviest modules are spread between buckets")
+                .containsExactly(
+                        Set.of(Path.of("a"), Path.of("d")),
+                        Set.of(Path.of("b"), Path.of("c"), Path.of("e"))
+                );
+    }
+
+    @Test
+    void checkModulesWithoutWeightAreSpread() {
+        Map<Path, Long> modulesWeights = new HashMap<>();
+        for (int i = 0; i < 6; i++) {
+            modulesWeights.put(Path.of("module" + i), 0L);
+        }
+
+        List<Set<Path>> buckets = BucketPartitioner.partition(modulesWeights, 3);
+
+        assertThat(buckets)
+                .as("Check modules without weight are spread evenly")
+                .allSatisfy(bucket -> assertThat(bucket).hasSize(2));
+    }
+
+    @Test
+    void checkModulesDependingOnEachOtherAreInTheSameBucket() {
+        Map<Path, Long> modulesWeights = Map.of(Path.of("a"), 5L, Path.of("b"), 5L, Path.of("c"), 1L, Path.of("d"), 1L);
+        Map<Path, Set<Path>> reachableModules = Map.of(
+                Path.of("a"), Set.of(Path.of("a"), Path.of("b")),
+                Path.of("b"), Set.of(Path.of("a"), Path.of("b"))
+        );
+
+        assertThat(BucketPartitioner.partition(modulesWeights, 2, reachableModules))
+                .as("Check cluster of modules is not split")
+                .containsExactly(Set.of(Path.of("a"), Path.of("b")), Set.of(Path.of("c"), Path.of("d")));
+    }
+
+    @Test
+    void checkBucketsDependOnlyOnBucketsWithLowerIndexes() {
+        Map<Path, Long> modulesWeights = Map.of(Path.of("a"), 4L, Path.of("b"), 3L, Path.of("c"), 2L, Path.of("d"), 1L);
+        Map<Path, Set<Path>> reachableModules = Map.of(
+                Path.of("a"), Set.of(Path.of("c")),
+                Path.of("d"), Set.of(Path.of("b"))
+        );
+
+        assertThat(BucketPartitioner.partition(modulesWeights, 2, reachableModules))
+                .as("Check dependencies of modules are put into buckets with not higher indexes")
+                .containsExactly(Set.of(Path.of("a"), Path.of("c")), Set.of(Path.of("b"), Path.of("d")));
+    }
+
+    @Test
+    void checkCriticalPathOfDependentBuckets() {
+        List<Set<Path>> buckets = List.of(Set.of(Path.of("a")), Set.of(Path.of("b")), Set.of(Path.of("c")));
+        Map<Path, Long> modulesWeights = Map.of(Path.of("a"), 1L, Path.of("b"), 5L, Path.of("c"), 2L);
+        Map<Path, Set<Path>> reachableModules = Map.of(Path.of("c"), Set.of(Path.of("a")));
+
+        assertThat(BucketPartitioner.getCriticalPath(buckets, modulesWeights, reachableModules))
+                .as("Check the heaviest independent bucket is the critical path")
+                .containsExactly(1);
+        assertThat(BucketPartitioner.getCriticalPath(buckets, Map.of(Path.of("a"), 3L, Path.of("b"), 4L, Path.of("c"), 2L), reachableModules))
+                .as("Check the chain of buckets is the critical path")
+                .containsExactly(0, 2);
+    }
+
+    @Test
+    void checkPartitionDoesNotDependOnOrderOfModules() {
+        Map<Path, Long> modulesWeights = new HashMap<>();
+        Map<Path, Long> reversedModulesWeights = new TreeMap<>((first, second) -> second.compareTo(first));
+        for (int i = 0; i < 10; i++) {
+            modulesWeights.put(Path.of("module" + i), (long) i % 3);
+            reversedModulesWeights.put(Path.of("module" + i), (long) i % 3);
+        }
+
+        assertThat(BucketPartitioner.partition(modulesWeights, 3))
+                .as("Check partition is deterministic")
+                .isEqualTo(BucketPartitioner.partition(reversedModulesWeights, 3));
+    }
+
+}
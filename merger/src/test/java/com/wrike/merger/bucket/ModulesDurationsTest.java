@@ -0,0 +1,88 @@
+package com.wrike.merger.bucket;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class ModulesDurationsTest {
+
+    private Path pathToProjectRoot;
+    private Path durationsFile;
+
+    @BeforeEach
+    void prepare() throws IOException {
+        Path projectsDirectory = getTempTestPomPath().resolveSibling("durations_project");
+        Files.createDirectories(projectsDirectory);
+        pathToProjectRoot = Files.createTempDirectory(projectsDirectory, "project");
+        durationsFile = pathToProjectRoot.resolve("target").resolve("durations.cache");
+    }
+
+    @Test
+    void checkDurationIsSummedFromSurefireReports() throws IOException {
+        Path module = pathToProjectRoot.resolve("module");
+        writeReport(module, "TEST-com.company.FirstTest.xml", "1.5");
+        writeReport(module, "TEST-com.company.SecondTest.xml", "1,234.25");
+        Files.writeString(module.resolve("target").resolve("surefire-reports").resolve("com.company.FirstTest.txt"), "not a report");
+
+        assertThat(ModulesDurations.read(durationsFile, pathToProjectRoot).getDurationMillis(module))
+                .as("Check durations of test suites are summed")
+                .hasValue(1235750);
+    }
+
+    @Test
+    void checkDurationIsKeptAfterReportsAreRemoved() throws IOException {
+        Path module = pathToProjectRoot.resolve("module");
+        Path report = writeReport(module, "TEST-com.company.FirstTest.xml", "2");
+        ModulesDurations modulesDurations = ModulesDurations.read(durationsFile, pathToProjectRoot);
+        modulesDurations.getDurationMillis(module);
+        modulesDurations.write(durationsFile);
+        Files.delete(report);
+
+        ModulesDurations readModulesDurations = ModulesDurations.read(durationsFile, pathToProjectRoot);
+
+        assertThat(readModulesDurations.getDurationMillis(module))
+                .as("Check duration is read from file")
+                .hasValue(2000);
+        assertThat(readModulesDurations.getDurationMillis(pathToProjectRoot.resolve("other_module")))
+                .as("Check duration of module without reports is unknown")
+                .isEmpty();
+    }
+
+    @Test
+    void checkModulesWithoutDurationGetAverageDuration() throws IOException {
+        Path firstModule = pathToProjectRoot.resolve("first_module");
+        Path secondModule = pathToProjectRoot.resolve("second_module");
+        Path moduleWithoutReports = pathToProjectRoot.resolve("module_without_reports");
+        writeReport(firstModule, "TEST-com.company.FirstTest.xml", "1");
+        writeReport(secondModule, "TEST-com.company.SecondTest.xml", "3");
+
+        Map<Path, Long> modulesWeights = ModulesWeigher.weighByDuration(Set.of(firstModule, secondModule, moduleWithoutReports),
+                ModulesDurations.read(durationsFile, pathToProjectRoot));
+
+        assertThat(modulesWeights)
+                .as("Check weights of modules")
+                .containsExactlyInAnyOrderEntriesOf(Map.of(firstModule, 1000L, secondModule, 3000L, moduleWithoutReports, 2000L));
+    }
+
+    private static Path writeReport(Path module, String reportName, String time) throws IOException {
+        Path reportsDirectory = module.resolve("target").resolve("surefire-reports");
+        Files.createDirectories(reportsDirectory);
+        return Files.writeString(reportsDirectory.resolve(reportName), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                "<testsuite name=\"suite\" time=\"" + time + "\" tests=\"1\">\n" +
+                "  <properties><property name=\"java.version\" value=\"17\"/></properties>\n" +
+                "  <testcase name=\"test\" time=\"" + time + "\"/>\n" +
+                "</testsuite>\n");
+    }
+
+}
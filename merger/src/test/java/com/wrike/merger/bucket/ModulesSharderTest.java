@@ -0,0 +1,57 @@
+package com.wrike.merger.bucket;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class ModulesSharderTest {
+
+    @Test
+    void checkShardingByHashDoesNotDependOnOtherModules() {
+        List<String> modules = IntStream.range(0, 100)
+                .mapToObj(i -> "module" + i)
+                .collect(Collectors.toList());
+
+        List<Set<String>> shards = ModulesSharder.shardByHash(modules, 4);
+        List<Set<String>> shardsWithoutFirstModule = ModulesSharder.shardByHash(modules.subList(1, modules.size()), 4);
+
+        assertThat(shards.stream().flatMap(Set::stream))
+                .as("Check every module is in exactly one shard")
+                .containsExactlyInAnyOrderElementsOf(modules);
+        assertThat(shards)
+                .as("Check every shard has modules")
+                .allMatch(shard -> !shard.isEmpty());
+        for (int i = 0; i < shards.size(); i++) {
+            assertThat(shards.get(i))
+                    .as("Check modules stay in the same shard without other module")
+                    .containsAll(shardsWithoutFirstModule.get(i));
+        }
+    }
+
+    @Test
+    void checkShardingByWeightBalancesShards() {
+        Map<String, Long> modulesWeights = Map.of(
+                "merged_modules_1", 6L,
+                "merged_modules_2", 5L,
+                "a", 4L,
+                "b/c", 3L,
+                "d", 2L
+        );
+
+        List<Set<String>> shards = ModulesSharder.shardByWeight(modulesWeights, 2);
+
+        assertThat(shards)
+                .as("Check modules are balanced between shards")
+                .containsExactly(Set.of("merged_modules_1", "b/c", "d"), Set.of("merged_modules_2", "a"));
+    }
+
+}
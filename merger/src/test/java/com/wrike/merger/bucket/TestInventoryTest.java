@@ -0,0 +1,77 @@
+package com.wrike.merger.bucket;
+
+import com.wrike.merger.plan.PlannedFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class TestInventoryTest {
+
+    private static final Path PROJECT_ROOT = Path.of("project");
+    private static final Path MERGED_MODULES = PROJECT_ROOT.resolve("merged_modules");
+
+    @Test
+    void checkTestClassesAreCollectedFromMergedFiles() {
+        Path parent = PROJECT_ROOT.resolve("parent");
+        Path child = parent.resolve("child");
+        List<PlannedFile> files = List.of(
+                mergedFile(child, "target/test-classes/com/company/FirstTest.class", 10),
+                mergedFile(child, "target/test-classes/com/company/FirstTest$Inner.class", 20),
+                mergedFile(parent, "src/test/java/com/company/TestSecond.java", 30),
+                mergedFile(parent, "src/main/java/com/company/ThirdTest.java", 40),
+                mergedFile(parent, "src/test/resources/FourthTest.txt", 50)
+        );
+
+        TestInventory testInventory = TestInventory.collect(PROJECT_ROOT, MERGED_MODULES, Set.of(parent, child), files);
+
+        assertThat(testInventory.getEntries())
+                .as("Check only test classes are collected with the innermost modules")
+                .containsExactly(
+                        new InventoryEntry("merged_modules", "com.company.FirstTest", "parent/child", 10),
+                        new InventoryEntry("merged_modules", "com.company.TestSecond", "parent", 30)
+                );
+    }
+
+    @Test
+    void checkWrittenInventoryIsRead() throws IOException {
+        Path module = PROJECT_ROOT.resolve("module");
+        Path firstMergedModules = PROJECT_ROOT.resolve("merged_modules_2");
+        Path secondMergedModules = PROJECT_ROOT.resolve("merged_modules_1");
+        TestInventory firstInventory = TestInventory.collect(PROJECT_ROOT, firstMergedModules, Set.of(module),
+                List.of(mergedFile(module, firstMergedModules, "src/test/java/FirstTest.java", 1)));
+        TestInventory secondInventory = TestInventory.collect(PROJECT_ROOT, secondMergedModules, Set.of(module),
+                List.of(mergedFile(module, secondMergedModules, "src/test/kotlin/com/SecondTest.kt", 2)));
+        TestInventory testInventory = TestInventory.combine(List.of(firstInventory, secondInventory));
+        Path inventoryDirectory = getTempTestPomPath().resolveSibling("test_inventory");
+        Files.createDirectories(inventoryDirectory);
+        Path inventoryFile = Files.createTempFile(inventoryDirectory, "inventory", ".tsv");
+
+        testInventory.write(inventoryFile);
+
+        assertThat(TestInventory.read(inventoryFile).getEntries())
+                .as("Check inventory is sorted by merged modules and read back")
+                .containsExactly(
+                        new InventoryEntry("merged_modules_1", "com.SecondTest", "module", 2),
+                        new InventoryEntry("merged_modules_2", "FirstTest", "module", 1)
+                );
+    }
+
+    private static PlannedFile mergedFile(Path module, String path, long size) {
+        return mergedFile(module, MERGED_MODULES, path, size);
+    }
+
+    private static PlannedFile mergedFile(Path module, Path mergedModulesDirectory, String path, long size) {
+        return new PlannedFile(module.resolve(path), mergedModulesDirectory.resolve(path), size);
+    }
+
+}
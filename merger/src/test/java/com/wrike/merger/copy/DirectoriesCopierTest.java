@@ -0,0 +1,158 @@
+package com.wrike.merger.copy;
+
+import com.wrike.merger.FilesContentConflictException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import static com.wrike.merger.input.LinkStrategy.COPY;
+import static com.wrike.merger.utils.Constants.MODULE_3_CHILD_1;
+import static com.wrike.merger.utils.Constants.MODULE_3_CHILD_2;
+import static com.wrike.merger.utils.Constants.SRC;
+import static com.wrike.merger.utils.TestFileUtils.checkMergedDirectoryContainsOnlyContentOfOtherDirectories;
+import static com.wrike.merger.utils.TestFileUtils.createTempTestDirectory;
+import static com.wrike.merger.utils.TestProjectDirectory.TEST_PROJECT;
+import static com.wrike.merger.utils.TestProjectDirectory.TEST_PROJECT_WITH_CONFLICT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class DirectoriesCopierTest {
+
+    private static final String CONFLICTING_MODULE_1 = "module1/module1_child1";
+    private static final String CONFLICTING_MODULE_2 = "module1/module1_child2";
+    private static final Path CONFLICTING_FILE = Path.of("src/test/resources/allure.properties");
+
+    @Test
+    void checkDirectoriesAreCopiedInParallel() throws IOException, FilesContentConflictException {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT);
+        Path target = pathToProjectRoot.resolve("copy_target");
+
+        new DirectoriesCopier(4, COPY).copy(Map.of(
+                pathToProjectRoot.resolve(MODULE_3_CHILD_1).resolve(SRC), target,
+                pathToProjectRoot.resolve(MODULE_3_CHILD_2).resolve(SRC), target
+        ));
+
+        checkMergedDirectoryContainsOnlyContentOfOtherDirectories(target, List.of(
+                pathToProjectRoot.resolve(MODULE_3_CHILD_1).resolve(SRC),
+                pathToProjectRoot.resolve(MODULE_3_CHILD_2).resolve(SRC)
+        ));
+    }
+
+    @Test
+    void checkEmptyDirectoriesAreCopied() throws IOException, FilesContentConflictException {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT);
+        Path source = pathToProjectRoot.resolve(MODULE_3_CHILD_1).resolve(SRC);
+        Path emptyDirectory = Path.of("test/java/empty/nested");
+        Files.createDirectories(source.resolve(emptyDirectory));
+        Path target = pathToProjectRoot.resolve("copy_target");
+
+        new DirectoriesCopier(4, COPY).copy(Map.of(source, target));
+
+        assertThat(target.resolve(emptyDirectory))
+                .as("Check empty directory is copied")
+                .isEmptyDirectory();
+    }
+
+    @Test
+    void checkFailureOfDirectoryCopyingIsRethrown() throws IOException {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT);
+        Path source = pathToProjectRoot.resolve(MODULE_3_CHILD_1).resolve(SRC);
+        Path target = pathToProjectRoot.resolve("copy_target");
+        Path fileInsteadOfDirectory = target.resolve("test/java");
+        Files.createDirectories(fileInsteadOfDirectory.getParent());
+        Files.createFile(fileInsteadOfDirectory);
+
+        assertThatThrownBy(() -> new DirectoriesCopier(4, COPY).copy(Map.of(source, target)))
+                .as("Check failure of forked action is rethrown after all actions are finished")
+                .isInstanceOf(FileAlreadyExistsException.class);
+    }
+
+    @Test
+    void checkConflictDoesNotDependOnCopyingOrder() {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT_WITH_CONFLICT);
+        Path firstModule = pathToProjectRoot.resolve(CONFLICTING_MODULE_1);
+        Path secondModule = pathToProjectRoot.resolve(CONFLICTING_MODULE_2);
+        String expectedMessage = String.format("Unable to copy file. There is a conflict between `%s` and `%s` files",
+                firstModule.resolve(CONFLICTING_FILE), secondModule.resolve(CONFLICTING_FILE));
+
+        Map<Path, Path> directOrder = new LinkedHashMap<>();
+        directOrder.put(firstModule.resolve(SRC), pathToProjectRoot.resolve("direct_order").resolve(SRC));
+        directOrder.put(secondModule.resolve(SRC), pathToProjectRoot.resolve("direct_order").resolve(SRC));
+        Map<Path, Path> reverseOrder = new LinkedHashMap<>();
+        reverseOrder.put(secondModule.resolve(SRC), pathToProjectRoot.resolve("reverse_order").resolve(SRC));
+        reverseOrder.put(firstModule.resolve(SRC), pathToProjectRoot.resolve("reverse_order").resolve(SRC));
+
+        assertThatThrownBy(() -> new DirectoriesCopier(1, COPY).copy(directOrder))
+                .isInstanceOf(FilesContentConflictException.class)
+                .hasMessage(expectedMessage);
+        assertThatThrownBy(() -> new DirectoriesCopier(1, COPY).copy(reverseOrder))
+                .isInstanceOf(FilesContentConflictException.class)
+                .hasMessage(expectedMessage);
+    }
+
+    @Test
+    void checkConflictIsFoundForFilesWithTheSameChecksum() throws IOException {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT);
+        Path firstSource = pathToProjectRoot.resolve("first_source");
+        Path secondSource = pathToProjectRoot.resolve("second_source");
+        Path file = Path.of("collision.bin");
+        List<byte[]> collision = findChecksumCollision();
+        Files.createDirectories(firstSource);
+        Files.createDirectories(secondSource);
+        Files.write(firstSource.resolve(file), collision.get(0));
+        Files.write(secondSource.resolve(file), collision.get(1));
+        Map<Path, Path> sourcesToTargets = new LinkedHashMap<>();
+        sourcesToTargets.put(firstSource, pathToProjectRoot.resolve("copy_target"));
+        sourcesToTargets.put(secondSource, pathToProjectRoot.resolve("copy_target"));
+
+        assertThat(FileDigest.of(firstSource.resolve(file)))
+                .as("Check digests of files with the same CRC32C checksum are different")
+                .isNotEqualTo(FileDigest.of(secondSource.resolve(file)));
+        assertThatThrownBy(() -> new DirectoriesCopier(1, COPY).copy(sourcesToTargets))
+                .as("Check files with the same checksum, but different content are in conflict")
+                .isInstanceOf(FilesContentConflictException.class);
+    }
+
+    @Test
+    void checkConflictWithExistingTargetFile() throws IOException {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT_WITH_CONFLICT);
+        Path source = pathToProjectRoot.resolve(CONFLICTING_MODULE_1).resolve(SRC);
+        Path target = pathToProjectRoot.resolve(CONFLICTING_MODULE_2).resolve(SRC);
+        Files.writeString(target.resolve("test/resources/allure.properties"), "changed");
+
+        assertThatThrownBy(() -> new DirectoriesCopier(2, COPY).copy(Map.of(source, target)))
+                .isInstanceOf(FilesContentConflictException.class);
+    }
+
+    /**
+     * @return two different byte arrays of the same size with the same {@link CRC32C} checksum
+     */
+    private static List<byte[]> findChecksumCollision() {
+        Random random = new Random(42);
+        Map<Long, byte[]> checksums = new HashMap<>();
+        while (true) {
+            byte[] content = new byte[8];
+            random.nextBytes(content);
+            CRC32C crc32c = new CRC32C();
+            crc32c.update(content);
+            byte[] collision = checksums.putIfAbsent(crc32c.getValue(), content);
+            if (collision != null && !Arrays.equals(collision, content)) {
+                return List.of(collision, content);
+            }
+        }
+    }
+
+}
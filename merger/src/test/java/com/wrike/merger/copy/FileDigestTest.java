@@ -0,0 +1,45 @@
+package com.wrike.merger.copy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class FileDigestTest {
+
+    @Test
+    void checkDigestIsComputedWhileCopying() throws IOException {
+        Path file = getTempTestPomPath();
+        Path newFileLocation = file.resolveSibling(file.getFileName() + ".copy");
+
+        FileDigest digest = FileDigest.copy(file, newFileLocation);
+
+        assertThat(newFileLocation)
+                .as("Check file is copied")
+                .hasSameBinaryContentAs(file);
+        assertThat(digest)
+                .as("Check digest of copied file")
+                .isEqualTo(FileDigest.of(file))
+                .extracting(FileDigest::getSize)
+                .isEqualTo(Files.size(file));
+    }
+
+    @Test
+    void checkDigestsOfDifferentFilesAreDifferent() throws IOException {
+        Path file = getTempTestPomPath();
+        Path otherFile = getTempTestPomPath();
+        Files.writeString(otherFile, Files.readString(file).replace("test_pom", "pom_test"));
+
+        assertThat(FileDigest.of(file))
+                .as("Check digests of files with the same size, but different content")
+                .isNotEqualTo(FileDigest.of(otherFile));
+    }
+
+}
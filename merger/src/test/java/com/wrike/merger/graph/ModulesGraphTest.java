@@ -0,0 +1,141 @@
+package com.wrike.merger.graph;
+
+import com.wrike.merger.pom.ParallelPomReader;
+import com.wrike.merger.pom.bean.Dependency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.wrike.merger.pom.AbstractPomParser.POM_FILENAME;
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class ModulesGraphTest {
+
+    private Path pathToProjectRoot;
+
+    @BeforeEach
+    void prepare() throws IOException {
+        Path projectsDirectory = getTempTestPomPath().resolveSibling("graph_project");
+        Files.createDirectories(projectsDirectory);
+        pathToProjectRoot = Files.createTempDirectory(projectsDirectory, "project");
+    }
+
+    @Test
+    void checkDependenciesAreMatchedByEffectiveCoordinates() throws IOException {
+        Files.writeString(pathToProjectRoot.resolve(POM_FILENAME), "<project>\n" +
+                "<groupId>org.company</groupId><artifactId>parent</artifactId><version>1</version>\n" +
+                "</project>\n");
+        Path first = writeModule("first", "${project.groupId}:second", "org.other:library");
+        Path second = writeModule("second", "org.company:third");
+        Path third = writeModule("third");
+
+        ModulesGraph modulesGraph = readGraph(first, second, third);
+
+        assertThat(modulesGraph.getDependencies(first))
+                .as("Check dependencies on modules are found and other dependencies are ignored")
+                .containsExactly(second);
+        assertThat(modulesGraph.getStronglyConnectedComponents())
+                .as("Check components are ordered from dependent modules to their dependencies")
+                .containsExactly(Set.of(first), Set.of(second), Set.of(third));
+        assertThat(modulesGraph.getCycles())
+                .as("Check graph has no cycles")
+                .isEmpty();
+    }
+
+    @Test
+    void checkReachableModulesAreFoundThroughOtherModules() throws IOException {
+        Path first = writeModule("first", "org.company:middle");
+        Path middle = writeModule("middle", "org.company:second");
+        Path second = writeModule("second");
+
+        ModulesGraph modulesGraph = readGraph(first, middle, second);
+
+        assertThat(modulesGraph.getReachableModules(Set.of(first, second)))
+                .as("Check module is reachable through module, which is not a target")
+                .isEqualTo(Map.of(first, Set.of(second), second, Set.of()));
+        assertThat(modulesGraph.getModulesBetween(Set.of(first, second)))
+                .as("Check module between modules of group is found")
+                .containsExactly(middle);
+        assertThat(modulesGraph.getModulesBetween(Set.of(first, middle)))
+                .as("Check dependency of group is not between modules of group")
+                .isEmpty();
+    }
+
+    @Test
+    void checkCyclesAreFound() throws IOException {
+        Path first = writeModule("first", "org.company:second");
+        Path second = writeModule("second", "org.company:third");
+        Path third = writeModule("third", "org.company:first");
+        Path independent = writeModule("independent", "org.company:first");
+
+        ModulesGraph modulesGraph = readGraph(first, second, third, independent);
+
+        assertThat(modulesGraph.getCycles())
+                .as("Check cycle is found")
+                .containsExactly(Set.of(first, second, third));
+        assertThat(modulesGraph.getReachableModules(Set.of(first, independent)))
+                .as("Check modules of cycle reach themselves")
+                .isEqualTo(Map.of(first, Set.of(first), independent, Set.of(first)));
+    }
+
+    @Test
+    void checkLongChainIsProcessedWithoutRecursion() {
+        int chainLength = 20_000;
+        Map<Path, Dependency> modulesCoordinates = new HashMap<>();
+        Map<Path, Set<Dependency>> modulesDependencies = new HashMap<>();
+        for (int i = 0; i < chainLength; i++) {
+            modulesCoordinates.put(Path.of("module" + i), coordinates("module" + i));
+            modulesDependencies.put(Path.of("module" + i), i + 1 < chainLength ? Set.of(coordinates("module" + (i + 1))) : Set.of());
+        }
+        Path first = Path.of("module0");
+        Path last = Path.of("module" + (chainLength - 1));
+
+        ModulesGraph modulesGraph = ModulesGraph.of(modulesCoordinates, modulesDependencies);
+
+        assertThat(modulesGraph.getReachableModules(Set.of(first, last)))
+                .as("Check the end of long chain is reachable from its start")
+                .isEqualTo(Map.of(first, Set.of(last), last, Set.of()));
+    }
+
+    private Path writeModule(String artifactId, String... dependencies) throws IOException {
+        Path module = pathToProjectRoot.resolve(artifactId);
+        Files.createDirectories(module);
+        String dependenciesXml = Arrays.stream(dependencies)
+                .map(dependency -> dependency.split(":"))
+                .map(coordinates -> "<dependency><groupId>" + coordinates[0] + "</groupId><artifactId>" + coordinates[1] +
+                        "</artifactId><version>1</version></dependency>\n")
+                .collect(Collectors.joining());
+        Files.writeString(module.resolve(POM_FILENAME), "<project>\n" +
+                "<parent><groupId>org.company</groupId><artifactId>parent</artifactId><version>1</version></parent>\n" +
+                "<groupId>org.company</groupId><artifactId>" + artifactId + "</artifactId>\n" +
+                "<dependencies>\n" + dependenciesXml + "</dependencies>\n" +
+                "</project>\n");
+        return module;
+    }
+
+    private static Dependency coordinates(String artifactId) {
+        return Dependency.builder()
+                .groupId("org.company")
+                .artifactId(artifactId)
+                .build();
+    }
+
+    private static ModulesGraph readGraph(Path... modules) {
+        try (ParallelPomReader pomReader = new ParallelPomReader(2)) {
+            return ModulesGraph.read(Set.of(modules), pomReader);
+        }
+    }
+
+}
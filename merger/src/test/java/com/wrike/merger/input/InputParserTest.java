@@ -9,6 +9,7 @@ import java.util.Set;
 import static com.wrike.merger.input.MergeMode.SOURCES;
 import static com.wrike.merger.utils.Constants.MODULE_3_CHILD_1;
 import static com.wrike.merger.utils.Constants.SOURCE_MODE;
+import static com.wrike.merger.utils.Constants.TARGET_MODE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -40,12 +41,206 @@ public class InputParserTest {
                 );
     }
 
+    @Test
+    void checkDefaultMergeOptions() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE);
+        assertThat(inputParser.getMergeOptions())
+                .as("Check default merge options")
+                .extracting(
+                        MergeOptions::getParallelism,
+                        MergeOptions::getLinkStrategy,
+                        MergeOptions::isIncremental,
+                        MergeOptions::isMemoize
+                ).containsExactly(
+                        Runtime.getRuntime().availableProcessors(),
+                        LinkStrategy.COPY,
+                        false,
+                        false
+                );
+    }
+
+    @Test
+    void checkParallelismOption() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--parallelism=3");
+        assertThat(inputParser.getMergeOptions().getParallelism())
+                .as("Check parallelism")
+                .isEqualTo(3);
+    }
+
+    @Test
+    void checkPomParallelismOption() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--pom-parallelism=2");
+        assertThat(inputParser.getMergeOptions().getPomParallelism())
+                .as("Check pom parallelism")
+                .isEqualTo(2);
+    }
+
+    @Test
+    void checkPomCacheOption() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--pom-cache=true");
+        assertThat(inputParser.getMergeOptions().isPomCache())
+                .as("Check pom cache")
+                .isTrue();
+    }
+
+    @Test
+    void checkExceptionForIllegalParallelism() {
+        assertThatThrownBy(
+                () -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--parallelism=0")
+        ).isInstanceOf(MavenModulesMergerException.class)
+                .hasMessage("`parallelism` option should be a positive number, but you provided `0`");
+    }
+
+    @Test
+    void checkLinkStrategyOption() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--link-strategy=link");
+        assertThat(inputParser.getMergeOptions().getLinkStrategy())
+                .as("Check link strategy")
+                .isEqualTo(LinkStrategy.LINK);
+    }
+
+    @Test
+    void checkExceptionForLinkStrategyInTargetMode() {
+        assertThatThrownBy(
+                () -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, TARGET_MODE, "--link-strategy=link")
+        ).as("Check hard links are refused in target mode")
+                .isInstanceOf(MavenModulesMergerException.class)
+                .hasMessage("`link` link-strategy can't be used in `target` merge mode," +
+                        " because building of the merged module rewrites linked compiled files of modules");
+    }
+
+    @Test
+    void checkExceptionForNonExistentLinkStrategy() {
+        assertThatThrownBy(
+                () -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--link-strategy=symlink")
+        ).isInstanceOf(MavenModulesMergerException.class)
+                .hasMessageMatching("Only \\[(copy, link|link, copy)] link strategies are supported, but you provided `symlink`");
+    }
+
+    @Test
+    void checkIncrementalOption() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--incremental=true");
+        assertThat(inputParser.getMergeOptions().isIncremental())
+                .as("Check incremental option")
+                .isTrue();
+    }
+
+    @Test
+    void checkMemoizeOption() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--memoize=true");
+        assertThat(inputParser.getMergeOptions().isMemoize())
+                .as("Check memoize option")
+                .isTrue();
+    }
+
+    @Test
+    void checkPlanOptions() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--plan=merge.plan");
+        assertThat(inputParser.getMergeOptions())
+                .as("Check plan options")
+                .extracting(
+                        MergeOptions::getPlanFile,
+                        MergeOptions::getAppliedPlanFile
+                ).containsExactly(
+                        Path.of("merge.plan"),
+                        null
+                );
+    }
+
+    @Test
+    void checkExceptionForIncompatibleOptions() {
+        assertThatThrownBy(() -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE,
+                "--plan=merge.plan", "--apply-plan=merge.plan"))
+                .as("Check exception for incompatible options")
+                .isInstanceOf(MavenModulesMergerException.class)
+                .hasMessage("`plan` and `apply-plan` options can't be used together");
+    }
+
+    @Test
+    void checkBucketsOptions() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE,
+                "--buckets=4", "--bucket-weight=source-size");
+        assertThat(inputParser.getMergeOptions())
+                .as("Check buckets options")
+                .extracting(
+                        MergeOptions::getBuckets,
+                        MergeOptions::getBucketWeight
+                ).containsExactly(
+                        4,
+                        BucketWeight.SOURCE_SIZE
+                );
+    }
+
+    @Test
+    void checkExceptionForNonExistentBucketWeight() {
+        assertThatThrownBy(
+                () -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--bucket-weight=lines")
+        ).isInstanceOf(MavenModulesMergerException.class)
+                .hasMessageMatching("Only \\[.*] bucket weights are supported, but you provided `lines`");
+    }
+
+    @Test
+    void checkShardsOptions() {
+        InputParser inputParser = new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE,
+                "--shards=3", "--shard-strategy=weight");
+        assertThat(inputParser.getMergeOptions())
+                .as("Check shards options")
+                .extracting(
+                        MergeOptions::getShards,
+                        MergeOptions::getShardStrategy
+                ).containsExactly(
+                        3,
+                        ShardStrategy.WEIGHT
+                );
+    }
+
+    @Test
+    void checkExceptionForNonExistentShardStrategy() {
+        assertThatThrownBy(
+                () -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--shard-strategy=random")
+        ).isInstanceOf(MavenModulesMergerException.class)
+                .hasMessageMatching("Only \\[.*] shard strategies are supported, but you provided `random`");
+    }
+
+    @Test
+    void checkExceptionForBucketsWithPlan() {
+        assertThatThrownBy(() -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE,
+                "--plan=merge.plan", "--buckets=2"))
+                .as("Check exception for buckets with plan")
+                .isInstanceOf(MavenModulesMergerException.class)
+                .hasMessage("`buckets` option can't be used with `plan` and `apply-plan` options");
+    }
+
+    @Test
+    void checkExceptionForIllegalBooleanOption() {
+        assertThatThrownBy(
+                () -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--incremental=yes")
+        ).isInstanceOf(MavenModulesMergerException.class)
+                .hasMessage("`incremental` option should be true or false, but you provided `yes`");
+    }
+
+    @Test
+    void checkExceptionForUnknownOption() {
+        assertThatThrownBy(
+                () -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "--unknown=1")
+        ).isInstanceOf(MavenModulesMergerException.class)
+                .hasMessage("Unknown option `unknown`");
+    }
+
+    @Test
+    void checkExceptionForIllegalOptionFormat() {
+        assertThatThrownBy(
+                () -> new InputParser(MODULE_3_CHILD_1, CORRECT_PATH_STRING, CORRECT_PATH_STRING, SOURCE_MODE, "parallelism")
+        ).isInstanceOf(MavenModulesMergerException.class)
+                .hasMessage("Option `parallelism` should have the `--name=value` format");
+    }
+
     @Test
     void checkExceptionForIncorrectNumberOfArguments() {
         assertThatThrownBy(
                 InputParser::new
         ).isInstanceOf(MavenModulesMergerException.class)
-                .hasMessage("You should pass only four arguments" +
+                .hasMessage("You should pass at least four arguments" +
                         " - modulesList, pathToProjectRoot, pathToOutputFile and mergeMode");
     }
 
@@ -0,0 +1,66 @@
+package com.wrike.merger.plan;
+
+import com.wrike.merger.copy.FilesConflict;
+import com.wrike.merger.pom.bean.Dependency;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class ConflictsReportTest {
+
+    private static final Path PATH_TO_PROJECT_ROOT = Path.of("/project");
+
+    @Test
+    void checkReportIsWrittenAsJson() throws IOException {
+        Path reportFile = Files.createTempFile("conflicts_report", ".json");
+        ConflictsReport conflictsReport = new ConflictsReport(
+                List.of(FilesConflict.of(PATH_TO_PROJECT_ROOT.resolve("module1/a\"b.txt"), PATH_TO_PROJECT_ROOT.resolve("module2/a\"b.txt"))),
+                List.of(new DependencyConflict(
+                        List.of(dependency("1.0"), dependency(null)),
+                        List.of(PATH_TO_PROJECT_ROOT.resolve("module1"), PATH_TO_PROJECT_ROOT.resolve("module2"))
+                ))
+        );
+
+        conflictsReport.writeJson(reportFile, PATH_TO_PROJECT_ROOT);
+
+        assertThat(reportFile)
+                .as("Check JSON report")
+                .hasContent("{\n" +
+                        "  \"filesConflicts\": [\n" +
+                        "    {\"firstPath\": \"module1/a\\\"b.txt\", \"secondPath\": \"module2/a\\\"b.txt\"}\n" +
+                        "  ],\n" +
+                        "  \"dependencyConflicts\": [\n" +
+                        "    {\"groupId\": \"org.company\", \"artifactId\": \"artifact\", \"declarations\": " +
+                        "[{\"module\": \"module1\", \"version\": \"1.0\"}, {\"module\": \"module2\", \"version\": null}]}\n" +
+                        "  ]\n" +
+                        "}\n");
+    }
+
+    @Test
+    void checkEmptyReportIsWrittenAsJson() throws IOException {
+        Path reportFile = Files.createTempFile("conflicts_report", ".json");
+
+        new ConflictsReport(List.of(), List.of()).writeJson(reportFile, PATH_TO_PROJECT_ROOT);
+
+        assertThat(reportFile)
+                .as("Check empty JSON report")
+                .hasContent("{\n  \"filesConflicts\": [],\n  \"dependencyConflicts\": []\n}\n");
+    }
+
+    private static Dependency dependency(String version) {
+        return Dependency.builder()
+                .groupId("org.company")
+                .artifactId("artifact")
+                .version(version)
+                .build();
+    }
+
+}
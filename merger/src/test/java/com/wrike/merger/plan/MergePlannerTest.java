@@ -0,0 +1,82 @@
+package com.wrike.merger.plan;
+
+import com.wrike.merger.copy.FilesConflict;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.wrike.merger.utils.Constants.MERGED_MODULES;
+import static com.wrike.merger.utils.Constants.MODULE_3_CHILD_1;
+import static com.wrike.merger.utils.Constants.MODULE_3_CHILD_2;
+import static com.wrike.merger.utils.Constants.SRC;
+import static com.wrike.merger.utils.TestFileUtils.createTempTestDirectory;
+import static com.wrike.merger.utils.TestProjectDirectory.TEST_PROJECT;
+import static com.wrike.merger.utils.TestProjectDirectory.TEST_PROJECT_WITH_CONFLICT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class MergePlannerTest {
+
+    private static final List<String> CONFLICTING_MODULES = List.of("module1/module1_child1", "module1/module1_child2", "module1/module1_child3");
+    private static final Path CONFLICTING_FILE = Path.of("src/test/resources/allure.properties");
+
+    @Test
+    void checkAllConflictsAreFoundWithoutWriting() throws IOException {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT_WITH_CONFLICT);
+        Path mergedModulesDirectory = pathToProjectRoot.resolve(MERGED_MODULES);
+        Path firstModule = pathToProjectRoot.resolve(CONFLICTING_MODULES.get(0));
+        Path secondModule = pathToProjectRoot.resolve(CONFLICTING_MODULES.get(1));
+        Path thirdModule = pathToProjectRoot.resolve(CONFLICTING_MODULES.get(2));
+
+        MergePlan mergePlan = MergePlanner.createPlan(Set.of(firstModule, secondModule, thirdModule), Map.of(
+                firstModule.resolve(SRC), mergedModulesDirectory.resolve(SRC),
+                secondModule.resolve(SRC), mergedModulesDirectory.resolve(SRC),
+                thirdModule.resolve(SRC), mergedModulesDirectory.resolve(SRC)
+        ));
+
+        assertThat(mergePlan.getFilesConflicts())
+                .as("Check all files conflicts are found")
+                .containsExactly(
+                        FilesConflict.of(firstModule.resolve(CONFLICTING_FILE), secondModule.resolve(CONFLICTING_FILE)),
+                        FilesConflict.of(firstModule.resolve(CONFLICTING_FILE), thirdModule.resolve(CONFLICTING_FILE))
+                );
+        assertThat(mergePlan.getDependencyConflicts())
+                .as("Check dependency conflict is found")
+                .hasSize(1)
+                .first()
+                .extracting(DependencyConflict::getModules)
+                .isEqualTo(List.of(secondModule, thirdModule));
+        assertThat(mergedModulesDirectory)
+                .as("Check nothing was written")
+                .doesNotExist();
+    }
+
+    @Test
+    void checkPlanIsWrittenAndRead() throws IOException {
+        Path pathToProjectRoot = createTempTestDirectory(TEST_PROJECT);
+        Path mergedModulesDirectory = pathToProjectRoot.resolve(MERGED_MODULES);
+        Path firstModule = pathToProjectRoot.resolve(MODULE_3_CHILD_1);
+        Path secondModule = pathToProjectRoot.resolve(MODULE_3_CHILD_2);
+        Path planFile = pathToProjectRoot.resolve("merge.plan");
+        MergePlan mergePlan = MergePlanner.createPlan(Set.of(firstModule, secondModule), Map.of(
+                firstModule.resolve(SRC), mergedModulesDirectory.resolve(SRC),
+                secondModule.resolve(SRC), mergedModulesDirectory.resolve(SRC)
+        ));
+
+        mergePlan.write(planFile, pathToProjectRoot);
+
+        assertThat(MergePlan.read(planFile, pathToProjectRoot))
+                .as("Check read plan is equal to the written one")
+                .isEqualTo(mergePlan);
+        assertThat(mergePlan.hasConflicts())
+                .as("Check plan does not have conflicts")
+                .isFalse();
+    }
+
+}
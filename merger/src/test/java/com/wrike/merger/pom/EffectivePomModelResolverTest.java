@@ -0,0 +1,185 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.wrike.merger.pom.AbstractPomParser.POM_FILENAME;
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class EffectivePomModelResolverTest {
+
+    private static final String PARENT_POM = "<project>\n" +
+            "    <groupId>org.company</groupId>\n" +
+            "    <artifactId>parent</artifactId>\n" +
+            "    <version>1.2.3</version>\n" +
+            "    <properties>\n" +
+            "        <library.version>2.0</library.version>\n" +
+            "        <managed.version>${library.version}</managed.version>\n" +
+            "    </properties>\n" +
+            "    <dependencyManagement><dependencies>\n" +
+            "        <dependency>\n" +
+            "            <groupId>org.company</groupId><artifactId>managed</artifactId><version>${managed.version}</version>\n" +
+            "        </dependency>\n" +
+            "        <dependency>\n" +
+            "            <groupId>${project.groupId}</groupId><artifactId>sibling</artifactId><version>${project.version}</version>\n" +
+            "        </dependency>\n" +
+            "    </dependencies></dependencyManagement>\n" +
+            "</project>\n";
+
+    @Test
+    void checkVersionsAreResolvedFromPropertiesAndParent() throws IOException {
+        Path projectDirectory = createProjectDirectory();
+        Files.writeString(projectDirectory.resolve(POM_FILENAME), PARENT_POM);
+        Path childPom = writeChildPom(projectDirectory, "child", "",
+                "<dependency><groupId>org.company</groupId><artifactId>own</artifactId><version>${project.version}</version></dependency>\n" +
+                        "<dependency><groupId>org.company</groupId><artifactId>library</artifactId><version>${library.version}</version></dependency>\n" +
+                        "<dependency><groupId>org.company</groupId><artifactId>managed</artifactId></dependency>\n" +
+                        "<dependency><groupId>${project.groupId}</groupId><artifactId>sibling</artifactId></dependency>\n");
+
+        EffectivePomModel effectivePomModel = new EffectivePomModelResolver(EffectivePomModelResolverTest::readPomModel).resolve(childPom);
+
+        assertThat(effectivePomModel)
+                .as("Check coordinates are inherited from parent")
+                .extracting(EffectivePomModel::getGroupId, EffectivePomModel::getArtifactId, EffectivePomModel::getVersion)
+                .containsExactly("org.company", "child", "1.2.3");
+        assertThat(effectivePomModel.getDependencies())
+                .as("Check effective versions of dependencies")
+                .extracting(Dependency::getGroupId, Dependency::getArtifactId, Dependency::getVersion)
+                .containsExactlyInAnyOrder(
+                        tuple("org.company", "own", "1.2.3"),
+                        tuple("org.company", "library", "2.0"),
+                        tuple("org.company", "managed", "2.0"),
+                        tuple("org.company", "sibling", "1.2.3")
+                );
+    }
+
+    @Test
+    void checkPropertiesOfChildOverridePropertiesOfParent() throws IOException {
+        Path projectDirectory = createProjectDirectory();
+        Files.writeString(projectDirectory.resolve(POM_FILENAME), PARENT_POM);
+        Path childPom = writeChildPom(projectDirectory, "child",
+                "<properties><library.version>3.0</library.version></properties>\n",
+                "<dependency><groupId>org.company</groupId><artifactId>managed</artifactId></dependency>\n");
+
+        EffectivePomModel effectivePomModel = new EffectivePomModelResolver(EffectivePomModelResolverTest::readPomModel).resolve(childPom);
+
+        assertThat(effectivePomModel.getDependencies())
+                .as("Check managed version of parent is interpolated with property of child")
+                .extracting(Dependency::getVersion)
+                .containsExactly("3.0");
+    }
+
+    @Test
+    void checkParentIsResolvedOnceForAllChildren() throws IOException {
+        Path projectDirectory = createProjectDirectory();
+        Files.writeString(projectDirectory.resolve(POM_FILENAME), PARENT_POM);
+        Path firstChildPom = writeChildPom(projectDirectory, "first_child", "", "");
+        Path secondChildPom = writeChildPom(projectDirectory, "second_child", "", "");
+        List<Path> readPoms = new ArrayList<>();
+        EffectivePomModelResolver resolver = new EffectivePomModelResolver(pomFile -> {
+            readPoms.add(pomFile);
+            return readPomModel(pomFile);
+        });
+
+        EffectivePomModel firstChild = resolver.resolve(firstChildPom);
+        EffectivePomModel secondChild = resolver.resolve(secondChildPom, readPomModel(secondChildPom));
+
+        assertThat(readPoms)
+                .as("Check parent pom is read once")
+                .containsExactly(firstChildPom.toAbsolutePath().normalize(), projectDirectory.resolve(POM_FILENAME).toAbsolutePath().normalize());
+        assertThat(secondChild.getParent())
+                .as("Check children share the resolved parent")
+                .isSameAs(firstChild.getParent());
+    }
+
+    @Test
+    void checkUnresolvedExpressionsAreKept() throws IOException {
+        Path projectDirectory = createProjectDirectory();
+        Files.writeString(projectDirectory.resolve(POM_FILENAME), PARENT_POM.replace("<artifactId>parent</artifactId>", "<artifactId>other</artifactId>"));
+        Path childPom = writeChildPom(projectDirectory, "child", "",
+                "<dependency><groupId>org.company</groupId><artifactId>library</artifactId><version>${library.version}</version></dependency>\n" +
+                        "<dependency><groupId>org.company</groupId><artifactId>managed</artifactId></dependency>\n");
+
+        EffectivePomModel effectivePomModel = new EffectivePomModelResolver(EffectivePomModelResolverTest::readPomModel).resolve(childPom);
+
+        assertThat(effectivePomModel.getParent())
+                .as("Check pom with other coordinates is not used as parent")
+                .isNull();
+        assertThat(effectivePomModel.getDependencies())
+                .as("Check unresolved versions are kept")
+                .extracting(Dependency::getArtifactId, Dependency::getVersion)
+                .containsExactlyInAnyOrder(tuple("library", "${library.version}"), tuple("managed", null));
+    }
+
+    @Test
+    void checkRecursivePropertiesAreNotInterpolatedInfinitely() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Files.writeString(pomPath, "<project><artifactId>recursive</artifactId>\n" +
+                "<properties><first>${second}</first><second>${first}</second></properties>\n" +
+                "</project>\n");
+
+        EffectivePomModel effectivePomModel = new EffectivePomModelResolver(EffectivePomModelResolverTest::readPomModel).resolve(pomPath);
+
+        assertThat(effectivePomModel.getProperty("first"))
+                .as("Check recursive property is kept unresolved")
+                .contains("${");
+    }
+
+    @Test
+    void checkParentsReferringToEachOtherAreReported() throws IOException {
+        Path projectDirectory = createProjectDirectory();
+        Files.createDirectories(projectDirectory.resolve("first"));
+        Files.createDirectories(projectDirectory.resolve("second"));
+        Files.writeString(projectDirectory.resolve("first").resolve(POM_FILENAME), "<project>\n" +
+                "<parent><groupId>org.company</groupId><artifactId>second</artifactId><version>1</version>" +
+                "<relativePath>../second</relativePath></parent>\n" +
+                "<artifactId>first</artifactId>\n" +
+                "</project>\n");
+        Files.writeString(projectDirectory.resolve("second").resolve(POM_FILENAME), "<project>\n" +
+                "<parent><groupId>org.company</groupId><artifactId>first</artifactId><version>1</version>" +
+                "<relativePath>../first</relativePath></parent>\n" +
+                "<artifactId>second</artifactId>\n" +
+                "</project>\n");
+
+        EffectivePomModelResolver resolver = new EffectivePomModelResolver(EffectivePomModelResolverTest::readPomModel);
+        assertThatThrownBy(() -> resolver.resolve(projectDirectory.resolve("first").resolve(POM_FILENAME)))
+                .as("Check parents, which refer to each other, are reported")
+                .isInstanceOf(PomParserException.class)
+                .hasMessageContaining("refer to each other");
+    }
+
+    private static Path createProjectDirectory() throws IOException {
+        Path projectDirectory = getTempTestPomPath().resolveSibling("effective_model_project");
+        Files.createDirectories(projectDirectory);
+        return Files.createTempDirectory(projectDirectory, "project");
+    }
+
+    private static Path writeChildPom(Path projectDirectory, String artifactId, String properties, String dependencies) throws IOException {
+        Path childPom = projectDirectory.resolve(artifactId).resolve(POM_FILENAME);
+        Files.createDirectories(childPom.getParent());
+        Files.writeString(childPom, "<project>\n" +
+                "    <parent><groupId>org.company</groupId><artifactId>parent</artifactId><version>1.2.3</version></parent>\n" +
+                "    <artifactId>" + artifactId + "</artifactId>\n" +
+                properties +
+                "    <dependencies>\n" + dependencies + "    </dependencies>\n" +
+                "</project>\n");
+        return childPom;
+    }
+
+    private static PomModel readPomModel(Path pomFile) {
+        return PomModel.of(new StreamingPomParser(pomFile));
+    }
+
+}
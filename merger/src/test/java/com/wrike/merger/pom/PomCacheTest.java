@@ -0,0 +1,119 @@
+package com.wrike.merger.pom;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class PomCacheTest {
+
+    private static final String POM_CACHE = "pom.cache";
+    private static final FileTime OLD_MODIFICATION_TIME = FileTime.from(Instant.now().minus(1, ChronoUnit.HOURS));
+
+    @Test
+    void checkUnchangedPomIsNotParsedAgain() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Path pathToProjectRoot = pomPath.getParent();
+        Path cacheFile = pathToProjectRoot.resolve(pomPath.getFileName() + POM_CACHE);
+        Files.setLastModifiedTime(pomPath, OLD_MODIFICATION_TIME);
+        PomCache.read(cacheFile, pathToProjectRoot).getPomModel(pomPath);
+        PomCache.read(cacheFile, pathToProjectRoot).write(cacheFile);
+        PomCache pomCache = PomCache.read(cacheFile, pathToProjectRoot);
+        pomCache.getPomModel(pomPath);
+        pomCache.write(cacheFile);
+
+        replaceArtifactIdKeepingSizeAndModificationTime(pomPath);
+
+        assertThat(PomCache.read(cacheFile, pathToProjectRoot).getPomModel(pomPath).getArtifactId())
+                .as("Check artifactId is got from the cache")
+                .isEqualTo("test_pom");
+    }
+
+    @Test
+    void checkChangedPomIsParsedAgain() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Path pathToProjectRoot = pomPath.getParent();
+        Path cacheFile = pathToProjectRoot.resolve(pomPath.getFileName() + POM_CACHE);
+        Files.setLastModifiedTime(pomPath, OLD_MODIFICATION_TIME);
+        PomCache pomCache = PomCache.read(cacheFile, pathToProjectRoot);
+        PomModel cachedPomModel = pomCache.getPomModel(pomPath);
+        pomCache.write(cacheFile);
+
+        Files.writeString(pomPath, Files.readString(pomPath).replace("test_pom", "changed_test_pom"));
+
+        assertThat(PomCache.read(cacheFile, pathToProjectRoot).getPomModel(pomPath))
+                .as("Check changed pom is parsed again")
+                .extracting(PomModel::getArtifactId, PomModel::getDependencies)
+                .containsExactly("changed_test_pom", cachedPomModel.getDependencies());
+    }
+
+    @Test
+    void checkRacilyModifiedPomIsNotWritten() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Path pathToProjectRoot = pomPath.getParent();
+        Path cacheFile = pathToProjectRoot.resolve(pomPath.getFileName() + POM_CACHE);
+        PomCache pomCache = PomCache.read(cacheFile, pathToProjectRoot);
+        pomCache.getPomModel(pomPath);
+        pomCache.write(cacheFile);
+
+        replaceArtifactIdKeepingSizeAndModificationTime(pomPath);
+
+        assertThat(PomCache.read(cacheFile, pathToProjectRoot).getPomModel(pomPath).getArtifactId())
+                .as("Check just modified pom is parsed again")
+                .isEqualTo("best_pom");
+    }
+
+    @Test
+    void checkCorruptedCacheIsIgnored() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Path pathToProjectRoot = pomPath.getParent();
+        Path cacheFile = pathToProjectRoot.resolve(pomPath.getFileName() + POM_CACHE);
+        Files.setLastModifiedTime(pomPath, OLD_MODIFICATION_TIME);
+        PomCache pomCache = PomCache.read(cacheFile, pathToProjectRoot);
+        pomCache.getPomModel(pomPath);
+        pomCache.write(cacheFile);
+        byte[] cacheContent = Files.readAllBytes(cacheFile);
+        cacheContent[cacheContent.length - 1] ^= 1;
+        Files.write(cacheFile, cacheContent);
+
+        replaceArtifactIdKeepingSizeAndModificationTime(pomPath);
+
+        assertThat(PomCache.read(cacheFile, pathToProjectRoot).getPomModel(pomPath).getArtifactId())
+                .as("Check pom is parsed, when cache is corrupted")
+                .isEqualTo("best_pom");
+    }
+
+    @Test
+    void checkCacheIsWrittenForRelativeProjectRoot() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Path pathToProjectRoot = Path.of("").toAbsolutePath().relativize(pomPath.getParent());
+        Path cacheFile = pomPath.resolveSibling(pomPath.getFileName() + POM_CACHE);
+        Files.setLastModifiedTime(pomPath, OLD_MODIFICATION_TIME);
+        PomCache pomCache = PomCache.read(cacheFile, pathToProjectRoot);
+        pomCache.getPomModel(pomPath);
+        pomCache.write(cacheFile);
+
+        replaceArtifactIdKeepingSizeAndModificationTime(pomPath);
+
+        assertThat(PomCache.read(cacheFile, pathToProjectRoot).getPomModel(pathToProjectRoot.resolve(pomPath.getFileName())).getArtifactId())
+                .as("Check cache with relative project root is written and read")
+                .isEqualTo("test_pom");
+    }
+
+    private static void replaceArtifactIdKeepingSizeAndModificationTime(Path pomPath) throws IOException {
+        FileTime lastModifiedTime = Files.getLastModifiedTime(pomPath);
+        Files.writeString(pomPath, Files.readString(pomPath).replace("<artifactId>test_pom</artifactId>", "<artifactId>best_pom</artifactId>"));
+        Files.setLastModifiedTime(pomPath, lastModifiedTime);
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class PomModelTest {
+
+    @Test
+    void checkModelHasTheSameValuesAsParser() {
+        PomParser pomParser = new FilePomParser(getTempTestPomPath());
+        PomModel pomModel = PomModel.of(pomParser);
+        assertThat(pomModel)
+                .as("Check model has the same values as parser")
+                .extracting(
+                        PomModel::getArtifactId,
+                        PomModel::getGroupId,
+                        PomModel::getVersion,
+                        PomModel::getParentGroupId,
+                        PomModel::getEffectiveGroupId,
+                        PomModel::getParent,
+                        PomModel::getChildrenModules
+                ).containsExactly(
+                        pomParser.getArtifactId(),
+                        pomParser.getGroupId(),
+                        pomParser.getVersion(),
+                        pomParser.getParentGroupId(),
+                        pomParser.getEffectiveGroupId(),
+                        pomParser.getParent(),
+                        pomParser.getChildrenModules()
+                );
+        assertThat(pomModel.getDependencies())
+                .as("Check model has the same dependencies as parser")
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(pomParser.getAllDependencies());
+    }
+
+    @Test
+    void checkStringsOfModelsAreShared() {
+        PomModel pomModel = PomModel.of(new StreamingPomParser(getTempTestPomPath()));
+        PomModel otherPomModel = PomModel.of(new StreamingPomParser(getTempTestPomPath()));
+        assertThat(otherPomModel.getArtifactId())
+                .as("Check equal strings of different models are the same instance")
+                .isSameAs(pomModel.getArtifactId());
+        assertThat(otherPomModel.getParentGroupId())
+                .as("Check equal strings of different models are the same instance")
+                .isSameAs(pomModel.getParentGroupId());
+    }
+
+    @Test
+    void checkDependenciesOfModelCanNotBeChanged() {
+        PomModel pomModel = PomModel.of(new StreamingPomParser(getTempTestPomPath()));
+        Set<Dependency> dependencies = pomModel.getDependencies();
+        dependencies.forEach(dependency -> dependency.setVersion("changed"));
+        dependencies.clear();
+        assertThat(pomModel.getDependencies())
+                .as("Check changes of returned dependencies do not change model")
+                .isNotEmpty()
+                .extracting(Dependency::getVersion)
+                .doesNotContain("changed");
+    }
+
+    @Test
+    void checkModelWithoutParent() {
+        PomModel pomModel = PomModel.builder()
+                .groupId("org.company")
+                .artifactId("artifact")
+                .build();
+        assertThat(pomModel)
+                .as("Check model without parent has own groupId and empty collections")
+                .extracting(PomModel::getParent, PomModel::getEffectiveGroupId, PomModel::getDependencies, PomModel::getChildrenModules)
+                .containsExactly(null, "org.company", Set.of(), Set.of());
+    }
+
+}
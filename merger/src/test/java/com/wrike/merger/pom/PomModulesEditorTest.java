@@ -0,0 +1,106 @@
+package com.wrike.merger.pom;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static com.wrike.merger.utils.TestFileUtils.getTempTestChildrenModulesPomPath;
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class PomModulesEditorTest {
+
+    private static final String ADDED_MODULE = "added_module";
+
+    @Test
+    void checkOnlyModuleLineIsInserted() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Files.writeString(pomPath, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n" +
+                "<project   b=\"2\"  a=\"1\">\r\n" +
+                "  <!-- <modules><module>commented</module></modules> -->\r\n" +
+                "  <modules>\r\n" +
+                "    <module>first</module>\r\n" +
+                "    <module>second</module> <!-- comment -->\r\n" +
+                "  </modules>\r\n" +
+                "  <profiles><profile><modules><module>profile_module</module></modules></profile></profiles>\r\n" +
+                "</project>\r\n");
+
+        assertThat(PomModulesEditor.addChildModuleIfDoesNotExist(pomPath, ADDED_MODULE))
+                .as("Check pom was changed")
+                .isTrue();
+        assertThat(pomPath)
+                .as("Check only module line was inserted")
+                .hasContent("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\r\n" +
+                        "<project   b=\"2\"  a=\"1\">\r\n" +
+                        "  <!-- <modules><module>commented</module></modules> -->\r\n" +
+                        "  <modules>\r\n" +
+                        "    <module>first</module>\r\n" +
+                        "    <module>second</module>\r\n" +
+                        "    <module>added_module</module> <!-- comment -->\r\n" +
+                        "  </modules>\r\n" +
+                        "  <profiles><profile><modules><module>profile_module</module></modules></profile></profiles>\r\n" +
+                        "</project>\r\n");
+    }
+
+    @Test
+    void checkModulesAreAddedIfAbsent() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        String originalContent = Files.readString(pomPath);
+
+        PomModulesEditor.addChildModuleIfDoesNotExist(pomPath, ADDED_MODULE);
+
+        assertThat(new StreamingPomParser(pomPath).getChildrenModules())
+                .as("Check module was added")
+                .containsExactly(ADDED_MODULE);
+        assertThat(Files.readString(pomPath).replace("\n    <modules>\n        <module>added_module</module>\n    </modules>", ""))
+                .as("Check nothing else was changed")
+                .isEqualTo(originalContent);
+    }
+
+    @Test
+    void checkModuleIsAddedToEmptyModules() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Files.writeString(pomPath, "<project>\n    <modules/>\n</project>\n");
+
+        PomModulesEditor.addChildModuleIfDoesNotExist(pomPath, ADDED_MODULE);
+
+        assertThat(pomPath)
+                .as("Check module was added to empty modules")
+                .hasContent("<project>\n    <modules>\n        <module>added_module</module>\n    </modules>\n</project>\n");
+    }
+
+    @Test
+    void checkPomIsNotWrittenIfModuleExists() throws IOException {
+        Path pomPath = getTempTestChildrenModulesPomPath();
+        FileTime lastModifiedTime = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(pomPath, lastModifiedTime);
+
+        assertThat(PomModulesEditor.addChildModuleIfDoesNotExist(pomPath, "child_module"))
+                .as("Check pom was not changed")
+                .isFalse();
+        assertThat(Files.getLastModifiedTime(pomPath))
+                .as("Check pom was not written")
+                .isEqualTo(lastModifiedTime);
+    }
+
+    @Test
+    void checkNotUtf8PomIsRewritten() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Files.writeString(pomPath, "<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>\n<project><name>é</name></project>\n",
+                ISO_8859_1);
+
+        PomModulesEditor.addChildModuleIfDoesNotExist(pomPath, ADDED_MODULE);
+
+        assertThat(new StreamingPomParser(pomPath).getChildrenModules())
+                .as("Check module was added")
+                .containsExactly(ADDED_MODULE);
+    }
+
+}
@@ -8,6 +8,8 @@ import org.w3c.dom.Node;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.wrike.merger.pom.bean.DependencyScope.RUNTIME;
 import static com.wrike.merger.pom.bean.DependencyScope.TEST;
@@ -183,6 +185,26 @@ public class PomParserDependenciesTest {
                 .containsExactlyInAnyOrderElementsOf(DEPENDENCIES);
     }
 
+    @Test
+    void checkManyDependenciesCanBeSetAndRemoved() {
+        Set<Dependency> dependencies = IntStream.range(0, 1000)
+                .mapToObj(i -> Dependency.builder()
+                        .groupId(GROUP_ID)
+                        .artifactId("artifact" + i)
+                        .build())
+                .collect(Collectors.toSet());
+        pomParser.setDependencies(dependencies);
+        pomParser.addDependenciesIfDoesNotExist(dependencies);
+        dependencies.stream()
+                .filter(dependency -> !dependency.getArtifactId().endsWith("0"))
+                .forEach(pomParser::removeDependencyIfExists);
+        pomParser.writeToOriginFile();
+        Document actualDocument = readXml(pomParser.getOriginPath());
+        checkDependencyExists(actualDocument, Dependency.builder().groupId(GROUP_ID).artifactId("artifact990").build());
+        checkDependencyIsAbsent(actualDocument, Dependency.builder().groupId(GROUP_ID).artifactId("artifact999").build());
+        checkDependenciesSize(actualDocument, 100);
+    }
+
     private List<Node> getDependency(Document document, Dependency dependency) {
         return getNodesByXPath(document, String.format(
                 "/project/dependencies/dependency[groupId='%s'][artifactId='%s']",
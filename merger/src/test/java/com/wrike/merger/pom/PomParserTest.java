@@ -1,20 +1,26 @@
 package com.wrike.merger.pom;
 
 import com.wrike.merger.pom.bean.Parent;
+import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
 import org.w3c.dom.Document;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
+import static com.wrike.merger.pom.AbstractPomParser.POM_FILENAME;
 import static com.wrike.merger.pom.utils.XmlUtils.*;
 import static com.wrike.merger.utils.Constants.TEST_DIR;
 import static com.wrike.merger.utils.Constants.TEST_POM;
 import static com.wrike.merger.utils.TestFileUtils.*;
+import static com.wrike.merger.utils.TestProjectDirectory.TEST_PROJECT;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * @author daniil.shylko on 04.08.2022
@@ -34,6 +40,88 @@ public class PomParserTest {
                 );
     }
 
+    @Test
+    void checkAllPomsCanBeCollectedConcurrently() throws URISyntaxException {
+        Path testDirectory = Path.of(Objects.requireNonNull(getClass().getResource(TEST_DIR)).toURI());
+        List<FilePomParser> pomParsers = FilePomParser.collectAllPomFiles(testDirectory, 3);
+        assertThat(pomParsers)
+                .as("Check poms are collected in the walking order")
+                .extracting(FilePomParser::getOriginPath)
+                .containsExactlyElementsOf(FilePomParser.collectAllPomFiles(testDirectory).stream()
+                        .map(FilePomParser::getOriginPath)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    void checkReactorPomsAreCollectedFromModules() throws IOException {
+        Path projectDirectory = createTempTestDirectory(TEST_PROJECT);
+        Path ignoredPom = projectDirectory.resolve("module1/target/classes/pom.xml");
+        Files.createDirectories(ignoredPom.getParent());
+        Files.copy(projectDirectory.resolve(POM_FILENAME), ignoredPom);
+        List<FilePomParser> pomParsers = FilePomParser.collectAllPomFiles(projectDirectory, 3);
+        assertThat(pomParsers)
+                .as("Check only poms of declared modules are collected breadth-first")
+                .extracting(FilePomParser::getOriginPath)
+                .containsExactly(
+                        projectDirectory.resolve("pom.xml"),
+                        projectDirectory.resolve("module1/pom.xml"),
+                        projectDirectory.resolve("module2/pom.xml"),
+                        projectDirectory.resolve("module3/pom.xml"),
+                        projectDirectory.resolve("module_without_allure_properties/pom.xml"),
+                        projectDirectory.resolve("module1/module1_child1/pom.xml"),
+                        projectDirectory.resolve("module1/module1_child2/pom.xml"),
+                        projectDirectory.resolve("module3/module3_child1/pom.xml"),
+                        projectDirectory.resolve("module3/module3_child2/pom.xml")
+                );
+    }
+
+    @Test
+    void checkWalkingSkipsIgnoredDirectories() throws IOException {
+        Path testDirectory = createTempTestDirectory(TEST_PROJECT).resolve("module1");
+        Files.delete(testDirectory.resolve(POM_FILENAME));
+        for (String ignoredDirectory : List.of("target", ".git", "node_modules", "merged_modules")) {
+            Path ignoredPom = testDirectory.resolve(ignoredDirectory).resolve(POM_FILENAME);
+            Files.createDirectories(ignoredPom.getParent());
+            Files.copy(testDirectory.resolve("module1_child1/pom.xml"), ignoredPom);
+        }
+        assertThat(FilePomParser.collectAllPomFiles(testDirectory))
+                .as("Check poms in ignored directories are not collected")
+                .extracting(FilePomParser::getOriginPath)
+                .containsExactlyInAnyOrder(
+                        testDirectory.resolve("module1_child1/pom.xml"),
+                        testDirectory.resolve("module1_child2/pom.xml")
+                );
+        assertThatThrownBy(() -> FilePomParser.collectAllPomFiles(testDirectory, 1, false))
+                .as("Check walking can be disabled")
+                .isInstanceOf(PomParserException.class);
+    }
+
+    @Test
+    void checkMissingModuleIsSkipped() throws IOException {
+        Path projectDirectory = createTempTestDirectory(TEST_PROJECT);
+        FileUtils.deleteDirectory(projectDirectory.resolve("module2").toFile());
+        assertThat(FilePomParser.collectAllPomFiles(projectDirectory))
+                .as("Check missing module is skipped")
+                .extracting(FilePomParser::getOriginPath)
+                .contains(projectDirectory.resolve("module1/pom.xml"))
+                .doesNotContain(projectDirectory.resolve("module2/pom.xml"));
+    }
+
+    @Test
+    void checkProfilesModulesAreCollected() throws IOException {
+        Path projectDirectory = createTempTestDirectory(TEST_PROJECT);
+        Path rootPom = projectDirectory.resolve(POM_FILENAME);
+        Path profileModulePom = projectDirectory.resolve("profile_module").resolve(POM_FILENAME);
+        Files.createDirectories(profileModulePom.getParent());
+        Files.copy(projectDirectory.resolve("module2").resolve(POM_FILENAME), profileModulePom);
+        Files.writeString(rootPom, Files.readString(rootPom).replace("</project>",
+                "    <profiles><profile><id>profile</id><modules><module>profile_module</module></modules></profile></profiles>\n</project>"));
+        assertThat(FilePomParser.collectAllPomFiles(projectDirectory))
+                .as("Check modules of profiles are collected")
+                .extracting(FilePomParser::getOriginPath)
+                .contains(profileModulePom);
+    }
+
     @Test
     void checkAllProjectChildrenCanBeCollected() {
         PomParser pomParser = new FilePomParser(getTempTestPomPath());
@@ -55,6 +143,15 @@ public class PomParserTest {
                 .isEqualTo("test_pom");
     }
 
+    @Test
+    void checkArtifactIdCanBeSet() {
+        PomParser pomParser = new FilePomParser(getTempTestPomPath());
+        pomParser.setArtifactId("changed_artifact");
+        assertThat(pomParser.getArtifactId())
+                .as("Check artifactId was changed")
+                .isEqualTo("changed_artifact");
+    }
+
     @Test
     void checkGroupIdCanBeGot() {
         PomParser pomParser = new FilePomParser(getTempTestPomPath());
@@ -76,6 +173,18 @@ public class PomParserTest {
                 .isEqualTo("org.company");
     }
 
+    @Test
+    void checkParentCanBeGot() {
+        PomParser pomParser = new FilePomParser(getTempTestPomPath());
+        assertThat(pomParser.getParent())
+                .as("Check parent coordinates are read")
+                .isEqualTo(Parent.builder()
+                        .groupId("org.company")
+                        .artifactId("webtests")
+                        .version("1.0-SNAPSHOT")
+                        .build());
+    }
+
     @Test
     void checkEffectiveGroupIdIfGroupIdExist() {
         PomParser pomParser = new FilePomParser(getTempTestPomPath());
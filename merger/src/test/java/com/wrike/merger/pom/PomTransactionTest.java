@@ -0,0 +1,154 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import com.wrike.merger.pom.bean.Parent;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Node;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.wrike.merger.pom.bean.DependencyScope.TEST;
+import static com.wrike.merger.utils.Constants.GROUP_ID;
+import static com.wrike.merger.utils.Constants.TEST_DEPENDENCIES_NAMES;
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class PomTransactionTest {
+
+    private static final Dependency EXISTING_DEPENDENCY = Dependency.builder()
+            .groupId(GROUP_ID)
+            .artifactId(TEST_DEPENDENCIES_NAMES.get(0))
+            .build();
+    private static final Dependency NEW_DEPENDENCY = Dependency.builder()
+            .groupId(GROUP_ID)
+            .artifactId("new_artifact")
+            .version("1.0")
+            .scope(TEST)
+            .build();
+    private static final Parent PARENT = Parent.builder()
+            .groupId(GROUP_ID)
+            .artifactId("parent")
+            .version("2.0")
+            .build();
+
+    @Test
+    void checkTransactionGivesTheSameResultAsSeparateChanges() throws IOException {
+        checkTransactionGivesTheSameResultAsSeparateChanges(
+                pomParser -> {
+                    pomParser.removeDependencyIfExists(EXISTING_DEPENDENCY);
+                    pomParser.addDependencyIfDoesNotExist(NEW_DEPENDENCY);
+                    pomParser.setParent(PARENT);
+                    pomParser.setArtifactId("changed_artifact");
+                    pomParser.addChildModuleIfDoesNotExist("child");
+                    pomParser.addChildModuleIfDoesNotExist("child");
+                },
+                transaction -> transaction
+                        .removeDependencyIfExists(EXISTING_DEPENDENCY)
+                        .addDependencyIfDoesNotExist(NEW_DEPENDENCY)
+                        .setParent(PARENT)
+                        .setArtifactId("changed_artifact")
+                        .addChildModuleIfDoesNotExist("child")
+                        .addChildModuleIfDoesNotExist("child")
+        );
+    }
+
+    @Test
+    void checkTransactionSetsDependenciesLikeSeparateChanges() throws IOException {
+        checkTransactionGivesTheSameResultAsSeparateChanges(
+                pomParser -> {
+                    pomParser.setDependencies(Set.of(NEW_DEPENDENCY, EXISTING_DEPENDENCY));
+                    pomParser.setParent(PARENT);
+                },
+                transaction -> transaction
+                        .setDependencies(Set.of(NEW_DEPENDENCY, EXISTING_DEPENDENCY))
+                        .setParent(PARENT)
+        );
+    }
+
+    @Test
+    void checkTransactionRemovesAndAddsTheSameDependencyInOrder() throws IOException {
+        checkTransactionGivesTheSameResultAsSeparateChanges(
+                pomParser -> {
+                    pomParser.removeAllDependencies();
+                    pomParser.addDependencyIfDoesNotExist(EXISTING_DEPENDENCY);
+                    pomParser.removeDependencyIfExists(EXISTING_DEPENDENCY);
+                },
+                transaction -> transaction
+                        .removeAllDependencies()
+                        .addDependencyIfDoesNotExist(EXISTING_DEPENDENCY)
+                        .removeDependencyIfExists(EXISTING_DEPENDENCY)
+        );
+    }
+
+    @Test
+    void checkEmptiedDependenciesElementIsReusedForAddedDependencies() throws IOException {
+        Path pom = getTempTestPomPath();
+        Files.writeString(pom, Files.readString(pom).replace("</dependencies>", "</dependencies>\n    <packaging>jar</packaging>"));
+        FilePomParser pomParser = new FilePomParser(pom);
+        List<String> originalProjectChildren = getProjectChildrenNames(pomParser);
+        PomTransaction transaction = pomParser.beginTransaction()
+                .addDependencyIfDoesNotExist(NEW_DEPENDENCY);
+        TEST_DEPENDENCIES_NAMES.forEach(artifactId -> transaction.removeDependencyIfExists(Dependency.builder()
+                .groupId(GROUP_ID)
+                .artifactId(artifactId)
+                .build()));
+
+        transaction.apply();
+
+        assertThat(pomParser.getAllDependencies())
+                .as("Check only the added dependency is left")
+                .containsExactly(NEW_DEPENDENCY);
+        assertThat(getProjectChildrenNames(pomParser))
+                .as("Check dependencies element keeps its position")
+                .isEqualTo(originalProjectChildren);
+    }
+
+    @Test
+    void checkChangesAreNotAppliedBeforeApplying() {
+        PomParser pomParser = new FilePomParser(getTempTestPomPath());
+        PomTransaction transaction = pomParser.beginTransaction().removeAllDependencies();
+
+        assertThat(pomParser.getAllDependencies())
+                .as("Check dependencies were not removed before applying")
+                .hasSize(TEST_DEPENDENCIES_NAMES.size());
+
+        transaction.apply();
+
+        assertThat(pomParser.getAllDependencies())
+                .as("Check dependencies were removed after applying")
+                .isEmpty();
+    }
+
+    private List<String> getProjectChildrenNames(PomParser pomParser) {
+        return pomParser.getProjectChildren().stream()
+                .map(Node::getNodeName)
+                .collect(Collectors.toList());
+    }
+
+    private void checkTransactionGivesTheSameResultAsSeparateChanges(Consumer<PomParser> changes,
+                                                                   Consumer<PomTransaction> transactionChanges) throws IOException {
+        Path separatelyChangedPom = getTempTestPomPath();
+        Path transactionallyChangedPom = getTempTestPomPath();
+        FilePomParser pomParser = new FilePomParser(separatelyChangedPom);
+        changes.accept(pomParser);
+        pomParser.writeToOriginFile();
+
+        PomTransaction transaction = new FilePomParser(transactionallyChangedPom).beginTransaction();
+        transactionChanges.accept(transaction);
+        transaction.commit(transactionallyChangedPom);
+
+        assertThat(transactionallyChangedPom)
+                .as("Check transaction gives the same pom as separate changes")
+                .hasContent(Files.readString(separatelyChangedPom));
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.wrike.merger.pom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.wrike.merger.pom.utils.XmlUtils.readXml;
+import static com.wrike.merger.pom.utils.XmlUtils.writePrettifiedXml;
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares prettified XML with the output of the XSLT prettifier, which was used before.
+ *
+ * @author agent on 18.10.2026
+ */
+public class PrettyXmlWriterTest {
+
+    private static final String PRETTIER_FILENAME = "/prettier.xsl";
+    private static final String XML_WITH_ALL_NODES = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n" +
+            "<!-- before root -->\n" +
+            "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" b=\"2\" a=\"x &amp; &quot;y&quot; &lt; 'z' &#10;&#9;&#13;>\">\n" +
+            "    <!-- comment -->\n" +
+            "    <name>A &amp; B &lt;c&gt; \"q\" 'a' ü \u0085 😀 &#13;</name>\n" +
+            "    <empty/>\n" +
+            "    <emptyPair></emptyPair>\n" +
+            "    <whitespace>  <![CDATA[ ]]>  </whitespace>\n" +
+            "    <text>  text with spaces  </text>\n" +
+            "    <mixed>  before  <b>bold</b>after<!-- comment --></mixed>\n" +
+            "    <cdata>text<![CDATA[ <raw> & data]]></cdata>\n" +
+            "    <?instruction data?>\n" +
+            "    <deep><a><b><c>v</c></b></a></deep>\n" +
+            "    <multiline>\n        line1\n        line2\n    </multiline>\n" +
+            "</project>\n" +
+            "<!-- after root -->\n";
+
+    private Path outputDirectory;
+
+    @BeforeEach
+    void prepare() throws IOException {
+        Path outputDirectories = getTempTestPomPath().resolveSibling("pretty_xml");
+        Files.createDirectories(outputDirectories);
+        outputDirectory = Files.createTempDirectory(outputDirectories, "output");
+    }
+
+    @Test
+    void checkPrettifiedXmlIsTheSameAsTransformedForAllTestFiles() throws URISyntaxException, IOException, TransformerException {
+        Path testResources = Path.of(Objects.requireNonNull(getClass().getResource("/")).toURI());
+        List<Path> xmlFiles;
+        try (Stream<Path> files = Files.walk(testResources)) {
+            xmlFiles = files
+                    .filter(file -> file.getFileName().toString().endsWith(".xml"))
+                    .collect(Collectors.toList());
+        }
+        assertThat(xmlFiles)
+                .as("Check test files are found")
+                .isNotEmpty();
+        for (Path xmlFile : xmlFiles) {
+            checkPrettifiedXmlIsTheSameAsTransformed(xmlFile);
+        }
+    }
+
+    @Test
+    void checkPrettifiedXmlIsTheSameAsTransformedForAllNodeTypes() throws IOException, TransformerException {
+        Path xmlFile = outputDirectory.resolve("all_nodes.xml");
+        Files.writeString(xmlFile, XML_WITH_ALL_NODES);
+        checkPrettifiedXmlIsTheSameAsTransformed(xmlFile);
+    }
+
+    private void checkPrettifiedXmlIsTheSameAsTransformed(Path xmlFile) throws IOException, TransformerException {
+        Document document = readXml(xmlFile);
+        Path transformedXml = outputDirectory.resolve("transformed.xml");
+        Path prettifiedXml = outputDirectory.resolve("prettified.xml");
+        try (InputStream prettier = getClass().getResourceAsStream(PRETTIER_FILENAME);
+             OutputStream output = Files.newOutputStream(transformedXml)) {
+            TransformerFactory.newInstance()
+                    .newTransformer(new StreamSource(prettier))
+                    .transform(new DOMSource(document), new StreamResult(output));
+        }
+        writePrettifiedXml(document, prettifiedXml);
+        assertThat(prettifiedXml)
+                .as("Check prettified XML is the same as transformed for `%s`", xmlFile)
+                .hasBinaryContent(Files.readAllBytes(transformedXml));
+    }
+
+}
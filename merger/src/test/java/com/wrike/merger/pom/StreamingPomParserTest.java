@@ -0,0 +1,185 @@
+package com.wrike.merger.pom;
+
+import com.wrike.merger.pom.bean.Dependency;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static com.wrike.merger.utils.TestFileUtils.getTempBrokenTestPomPath;
+import static com.wrike.merger.utils.TestFileUtils.getTempTestChildrenModulesPomPath;
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class StreamingPomParserTest {
+
+    @Test
+    void checkStreamingParserReadsTheSameAsFileParser() {
+        Path pomPath = getTempTestPomPath();
+        checkStreamingParserReadsTheSameAsFileParser(pomPath);
+    }
+
+    @Test
+    void checkStreamingParserReadsChildrenModules() {
+        Path pomPath = getTempTestChildrenModulesPomPath();
+        checkStreamingParserReadsTheSameAsFileParser(pomPath);
+        assertThat(new StreamingPomParser(pomPath).getChildrenModules())
+                .as("Check children modules")
+                .containsExactly("child_module");
+    }
+
+    @Test
+    void checkStreamingParserSkipsNestedElements() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Files.writeString(pomPath, "<project>\n" +
+                "    <dependencyManagement><dependencies><dependency>\n" +
+                "        <groupId>managed</groupId><artifactId>managed</artifactId>\n" +
+                "    </dependency></dependencies></dependencyManagement>\n" +
+                "    <artifactId>nested</artifactId>\n" +
+                "    <dependencies>\n" +
+                "        <dependency>\n" +
+                "            <groupId>org.company</groupId>\n" +
+                "            <!-- comment -->\n" +
+                "            <artifactId>artifact1</artifactId>\n" +
+                "            <exclusions><exclusion><groupId>excluded</groupId></exclusion></exclusions>\n" +
+                "        </dependency>\n" +
+                "    </dependencies>\n" +
+                "    <build><plugins><plugin><groupId>plugin</groupId></plugin></plugins></build>\n" +
+                "</project>\n");
+
+        StreamingPomParser pomParser = new StreamingPomParser(pomPath);
+
+        assertThat(pomParser.getAllDependencies())
+                .as("Check only project dependencies are read")
+                .containsExactly(Dependency.builder().groupId("org.company").artifactId("artifact1").build());
+        assertThat(pomParser.getGroupId())
+                .as("Check groupId of plugin is not read")
+                .isNull();
+        checkStreamingParserReadsTheSameAsFileParser(pomPath);
+    }
+
+    @Test
+    void checkStreamingParserReadsPropertiesAndManagedDependencies() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Files.writeString(pomPath, "<project>\n" +
+                "    <parent>\n" +
+                "        <groupId>org.company</groupId><artifactId>parent</artifactId><version>1</version>\n" +
+                "        <relativePath>../parent</relativePath>\n" +
+                "    </parent>\n" +
+                "    <properties>\n" +
+                "        <!-- comment -->\n" +
+                "        <library.version>2.0</library.version>\n" +
+                "        <empty.property/>\n" +
+                "    </properties>\n" +
+                "    <dependencyManagement><dependencies>\n" +
+                "        <dependency>\n" +
+                "            <groupId>org.company</groupId><artifactId>library</artifactId><version>${library.version}</version>\n" +
+                "        </dependency>\n" +
+                "        <dependency>\n" +
+                "            <groupId>org.company</groupId><artifactId>bom</artifactId><version>3.0</version>\n" +
+                "            <type>pom</type><scope>import</scope>\n" +
+                "        </dependency>\n" +
+                "    </dependencies></dependencyManagement>\n" +
+                "</project>\n");
+
+        StreamingPomParser pomParser = new StreamingPomParser(pomPath);
+
+        assertThat(pomParser.getProperties())
+                .as("Check properties are read")
+                .containsExactlyInAnyOrderEntriesOf(Map.of("library.version", "2.0", "empty.property", ""));
+        assertThat(pomParser.getManagedDependencies())
+                .as("Check managed dependencies are read")
+                .extracting(Dependency::getArtifactId, Dependency::getVersion)
+                .containsExactlyInAnyOrder(tuple("library", "${library.version}"), tuple("bom", "3.0"));
+        assertThat(pomParser.getParentRelativePath())
+                .as("Check relative path of parent is read")
+                .isEqualTo("../parent");
+        checkStreamingParserReadsTheSameAsFileParser(pomPath);
+    }
+
+    @Test
+    void checkIllegalScopeException() {
+        Path brokenPomPath = getTempBrokenTestPomPath();
+        assertThatThrownBy(() -> new StreamingPomParser(brokenPomPath))
+                .as("Check exception for illegal scope")
+                .isInstanceOf(PomParserException.class)
+                .hasMessage("Illegal scope: I_am_the_broken_scope");
+    }
+
+    @Test
+    void checkExceptionForMalformedPom() throws IOException {
+        Path malformedPomPath = getTempTestPomPath();
+        Files.writeString(malformedPomPath, "<project><artifactId>malformed</project>");
+        assertThatThrownBy(() -> new StreamingPomParser(malformedPomPath))
+                .as("Check exception for malformed pom")
+                .isInstanceOf(PomParserException.class)
+                .hasMessage(String.format("Unable to read xml from `%s` file", malformedPomPath));
+    }
+
+    @Test
+    void checkStreamingParserStopsAfterRequiredSections() throws IOException {
+        Path pomPath = getTempTestPomPath();
+        Files.writeString(pomPath, "<project>\n" +
+                "    <parent><groupId>parent</groupId><artifactId>parent</artifactId><version>1.0</version></parent>\n" +
+                "    <groupId>group</groupId>\n" +
+                "    <artifactId>artifact</artifactId>\n" +
+                "    <version>2.0</version>\n" +
+                "    <build><plugins><plugin></build>\n");
+
+        StreamingPomParser pomParser = new StreamingPomParser(pomPath, Set.of(PomSection.COORDINATES, PomSection.PARENT));
+
+        assertThat(pomParser)
+                .as("Check required sections are read")
+                .extracting(PomReader::getGroupId, PomReader::getArtifactId, PomReader::getVersion, PomReader::getParentGroupId)
+                .containsExactly("group", "artifact", "2.0", "parent");
+        assertThatThrownBy(() -> new StreamingPomParser(pomPath))
+                .as("Check broken content after required sections is read, if all sections are required")
+                .isInstanceOf(PomParserException.class);
+    }
+
+    private static void checkStreamingParserReadsTheSameAsFileParser(Path pomPath) {
+        PomParser filePomParser = new FilePomParser(pomPath);
+        PomReader streamingPomParser = new StreamingPomParser(pomPath);
+        assertThat(streamingPomParser)
+                .as("Check streaming parser reads the same values as file parser")
+                .extracting(
+                        PomReader::getArtifactId,
+                        PomReader::getGroupId,
+                        PomReader::getVersion,
+                        PomReader::getParentGroupId,
+                        PomReader::getEffectiveGroupId,
+                        PomReader::getParent,
+                        PomReader::getParentRelativePath,
+                        PomReader::getProperties,
+                        PomReader::getChildrenModules
+                ).containsExactly(
+                        filePomParser.getArtifactId(),
+                        filePomParser.getGroupId(),
+                        filePomParser.getVersion(),
+                        filePomParser.getParentGroupId(),
+                        filePomParser.getEffectiveGroupId(),
+                        filePomParser.getParent(),
+                        filePomParser.getParentRelativePath(),
+                        filePomParser.getProperties(),
+                        filePomParser.getChildrenModules()
+                );
+        Set<Dependency> fileParserDependencies = filePomParser.getAllDependencies();
+        assertThat(streamingPomParser.getAllDependencies())
+                .as("Check streaming parser reads the same dependencies as file parser")
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(fileParserDependencies);
+        assertThat(streamingPomParser.getManagedDependencies())
+                .as("Check streaming parser reads the same managed dependencies as file parser")
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrderElementsOf(filePomParser.getManagedDependencies());
+    }
+
+}
@@ -22,6 +22,7 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static com.wrike.merger.pom.utils.XmlUtils.*;
+import static com.wrike.merger.utils.Constants.TEST_DEPENDENCIES_NAMES;
 import static com.wrike.merger.utils.TestFileUtils.checkFilesContentIsEqualIgnoringWhitespace;
 import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,7 +37,11 @@ public class XmlUtilConcurrentTest {
     private static final int NUMBER_OF_PARALLEL_EXECUTIONS = 100;
 
     private void executeConcurrently(Runnable runnable) {
-        ExecutorService executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+        executeConcurrently(runnable, NUMBER_OF_THREADS);
+    }
+
+    private void executeConcurrently(Runnable runnable, int numberOfThreads) {
+        ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
         Queue<Future<?>> tasks = new ConcurrentLinkedQueue<>();
         for (int i = 0; i < NUMBER_OF_PARALLEL_EXECUTIONS; i++) {
             tasks.add(executorService.submit(runnable));
@@ -164,4 +169,28 @@ public class XmlUtilConcurrentTest {
                 .containsOnly(expectedXPathResult);
     }
 
+    @Test
+    void checkCachedXPathExpressionsWorkConcurrentlyInSeveralThreads() {
+        Path tempFileForReading = getTempTestPomPath();
+        int numberOfThreads = 8;
+        int numberOfExpressions = 100;
+
+        Collection<String> xpathResults = new ConcurrentLinkedQueue<>();
+        executeConcurrently(() -> {
+            Document document = readXml(tempFileForReading);
+            for (int i = 0; i < numberOfExpressions; i++) {
+                Node artifactId = getNodeByXPath(document, String.format("/project/dependencies/dependency[artifactId='artifact%d']/artifactId", i));
+                xpathResults.add(artifactId == null ? "" : artifactId.getTextContent());
+            }
+        }, numberOfThreads);
+
+        assertThat(xpathResults)
+                .as("Check all expressions are evaluated")
+                .hasSize(NUMBER_OF_PARALLEL_EXECUTIONS * numberOfExpressions)
+                .as("Check every thread evaluates its own compiled expressions correctly")
+                .filteredOn(result -> !result.isEmpty())
+                .hasSize(NUMBER_OF_PARALLEL_EXECUTIONS * TEST_DEPENDENCIES_NAMES.size())
+                .containsOnlyElementsOf(TEST_DEPENDENCIES_NAMES);
+    }
+
 }
@@ -4,8 +4,13 @@ import org.junit.jupiter.api.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
@@ -226,6 +231,29 @@ public class XmlUtilTest {
                 );
     }
 
+    @Test
+    void checkExternalEntitiesAreNotLoadedByXmlStreamReader() throws IOException {
+        Path secretFile = getTempTestPomPath().resolveSibling("secret.txt");
+        Files.writeString(secretFile, "secret");
+        String xml = "<?xml version=\"1.0\"?>\n" +
+                "<!DOCTYPE project [<!ENTITY secret SYSTEM \"" + secretFile.toUri() + "\">]>\n" +
+                "<project><artifactId>&secret;</artifactId></project>";
+        StringBuilder readText = new StringBuilder();
+        assertThatThrownBy(() -> {
+            XMLStreamReader reader = createXmlStreamReader(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.CHARACTERS) {
+                    readText.append(reader.getText());
+                }
+            }
+        })
+                .as("Check undeclared entity can't be read, because DTD is not supported")
+                .isInstanceOf(XMLStreamException.class);
+        assertThat(readText.toString())
+                .as("Check content of external entity is not read")
+                .doesNotContain("secret");
+    }
+
     @Test
     void checkGetNodeChildrenForNodeWithoutChildrenIsEmpty() {
         Path tempTestPomPath = getTempTestPomPath();
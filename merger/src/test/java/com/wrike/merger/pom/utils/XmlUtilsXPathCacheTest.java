@@ -0,0 +1,42 @@
+package com.wrike.merger.pom.utils;
+
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.wrike.merger.pom.utils.XmlUtils.MAX_CACHED_XPATH_EXPRESSIONS;
+import static com.wrike.merger.pom.utils.XmlUtils.getCachedXPaths;
+import static com.wrike.merger.pom.utils.XmlUtils.getNodeByXPath;
+import static com.wrike.merger.pom.utils.XmlUtils.readXml;
+import static com.wrike.merger.utils.TestFileUtils.getTempTestPomPath;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author agent on 18.10.2026
+ */
+public class XmlUtilsXPathCacheTest {
+
+    @Test
+    void checkLeastRecentlyUsedXPathIsEvicted() {
+        Document document = readXml(getTempTestPomPath());
+        List<String> xPaths = IntStream.rangeClosed(0, MAX_CACHED_XPATH_EXPRESSIONS)
+                .mapToObj(i -> String.format("/project/dependencies/dependency[artifactId='artifact%d']", i))
+                .collect(Collectors.toList());
+        xPaths.subList(0, MAX_CACHED_XPATH_EXPRESSIONS).forEach(xPath -> getNodeByXPath(document, xPath));
+        getNodeByXPath(document, xPaths.get(0));
+
+        getNodeByXPath(document, xPaths.get(MAX_CACHED_XPATH_EXPRESSIONS));
+
+        assertThat(getCachedXPaths())
+                .as("Check cache size is limited")
+                .hasSize(MAX_CACHED_XPATH_EXPRESSIONS)
+                .as("Check recently used xPaths are kept")
+                .contains(xPaths.get(0), xPaths.get(MAX_CACHED_XPATH_EXPRESSIONS))
+                .as("Check the least recently used xPath is evicted")
+                .doesNotContain(xPaths.get(1));
+    }
+
+}